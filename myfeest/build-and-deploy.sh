@@ -73,6 +73,9 @@ check_docker() {
 
 # Limpar build anterior
 clean_build() {
+    log "Instalando o módulo compartilhado two-level-cache..."
+    mvn -q -f ../two-level-cache/pom.xml install -DskipTests
+    
     log "Limpando build anterior..."
     mvn clean
     log "Build anterior limpo com sucesso"
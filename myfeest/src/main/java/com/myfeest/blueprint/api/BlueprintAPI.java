@@ -1,14 +1,21 @@
 package com.myfeest.blueprint.api;
 
 import com.myfeest.blueprint.core.*;
-import com.myfeest.blueprint.nodes.*;
-import com.myfeest.blueprint.nodes.custom.*;
-import com.myfeest.blueprint.nodes.advanced.*;
+import com.myfeest.blueprint.nodes.NodeFactory;
 import com.myfeest.blueprint.engine.BlueprintEngine;
+import com.myfeest.blueprint.serializer.JsonReader;
+import com.myfeest.blueprint.serializer.JsonWriter;
 import com.myfeest.blueprint.serializer.SimpleJsonSerializer;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * API REST para integração com o editor web
@@ -19,25 +26,37 @@ public class BlueprintAPI {
     private BlueprintEngine engine;
     private SimpleJsonSerializer serializer;
     private Map<String, Blueprint> blueprints;
-    private int requestCounter;
+    private AtomicInteger requestCounter;
     
     public BlueprintAPI() {
-        this.engine = new BlueprintEngine();
-        this.serializer = new SimpleJsonSerializer();
+        this(new BlueprintEngine());
+    }
+    
+    public BlueprintAPI(BlueprintEngine engine) {
+        this.engine = engine;
+        this.serializer = new SimpleJsonSerializer(true);
         this.blueprints = new ConcurrentHashMap<>();
-        this.requestCounter = 0;
+        this.requestCounter = new AtomicInteger();
     }
     
     /**
      * Recebe blueprint do frontend e o executa
      */
     public String executeBlueprintFromFrontend(String jsonBlueprint) {
+        return executeBlueprintFromFrontend(new StringReader(jsonBlueprint));
+    }
+    
+    /**
+     * Recebe blueprint do frontend e o executa, lendo o JSON em fluxo
+     * (ex.: direto do corpo da requisição)
+     */
+    public String executeBlueprintFromFrontend(Reader jsonBlueprint) {
         try {
             // Deserializa o blueprint do JSON
-            Blueprint blueprint = deserializeBlueprint(jsonBlueprint);
+            Blueprint blueprint = readBlueprint(jsonBlueprint);
             
             // Armazena o blueprint
-            String blueprintId = "bp_" + (++requestCounter);
+            String blueprintId = "bp_" + requestCounter.incrementAndGet();
             blueprints.put(blueprintId, blueprint);
             
             // Executa o blueprint
@@ -55,15 +74,19 @@ public class BlueprintAPI {
      * Cria blueprint a partir dos dados do frontend
      */
     public String createBlueprintFromFrontend(String jsonData) {
+        return createBlueprintFromFrontend(new StringReader(jsonData));
+    }
+    
+    /**
+     * Cria blueprint a partir dos dados do frontend, lendo o JSON em fluxo
+     */
+    public String createBlueprintFromFrontend(Reader jsonData) {
         try {
-            // Parse dos dados do frontend
-            Map<String, Object> frontendData = parseFrontendData(jsonData);
-            
             // Cria blueprint
-            Blueprint blueprint = createBlueprintFromFrontendData(frontendData);
+            Blueprint blueprint = readBlueprint(jsonData);
             
             // Armazena
-            String blueprintId = "bp_" + (++requestCounter);
+            String blueprintId = "bp_" + requestCounter.incrementAndGet();
             blueprints.put(blueprintId, blueprint);
             
             // Serializa para retornar
@@ -71,7 +94,7 @@ public class BlueprintAPI {
             
             return createResponse(true, "Blueprint criado com sucesso", 
                 Map.of("blueprint_id", blueprintId, "blueprint", blueprintJson));
-            
+                
         } catch (Exception e) {
             return createResponse(false, "Erro ao criar blueprint: " + e.getMessage(), null);
         }
@@ -105,18 +128,32 @@ public class BlueprintAPI {
      * Obtém um blueprint específico
      */
     public String getBlueprint(String blueprintId) {
+        StringWriter out = new StringWriter();
         try {
-            Blueprint blueprint = blueprints.get(blueprintId);
-            if (blueprint == null) {
-                return createResponse(false, "Blueprint não encontrado", null);
-            }
-            
-            String blueprintJson = serializer.serialize(blueprint);
-            return createResponse(true, "Blueprint obtido com sucesso", blueprintJson);
-            
+            writeBlueprint(blueprintId, out);
         } catch (Exception e) {
             return createResponse(false, "Erro ao obter blueprint: " + e.getMessage(), null);
         }
+        return out.toString();
+    }
+    
+    /**
+     * Escreve a resposta de {@link #getBlueprint} direto no destino, com o
+     * blueprint embutido como objeto em "data"; o Writer não é fechado
+     */
+    public void writeBlueprint(String blueprintId, Writer out) throws IOException {
+        Blueprint blueprint = blueprints.get(blueprintId);
+        JsonWriter json = serializer.newWriter(out);
+        
+        if (blueprint == null) {
+            beginResponse(json, false, "Blueprint não encontrado");
+        } else {
+            beginResponse(json, true, "Blueprint obtido com sucesso");
+            json.name("data");
+            serializer.write(blueprint, json);
+        }
+        json.endObject();
+        json.flush();
     }
     
     /**
@@ -131,188 +168,171 @@ public class BlueprintAPI {
             
             return createResponse(true, "Blueprint deletado com sucesso", 
                 Map.of("deleted_id", blueprintId));
-            
+                
         } catch (Exception e) {
             return createResponse(false, "Erro ao deletar blueprint: " + e.getMessage(), null);
         }
     }
     
     /**
-     * Deserializa blueprint do JSON
+     * Lê um blueprint do JSON em uma única passada
+     *
+     * Nós e conexões são criados à medida que aparecem; aceitam tanto o
+     * formato de objeto indexado por ID (serializador) quanto o de array
+     * (editor web). Campos desconhecidos são descartados sem alocação.
      */
-    private Blueprint deserializeBlueprint(String json) throws Exception {
-        // Parse básico do JSON para extrair nós e conexões
-        Map<String, Object> data = parseJson(json);
+    private Blueprint readBlueprint(Reader json) throws IOException {
+        JsonReader reader = new JsonReader(json);
+        Blueprint blueprint = new Blueprint("Blueprint");
+        blueprint.setDescription("");
+        // Conexões são ligadas depois dos nós: o JSON não garante a ordem
+        List<Connection> connections = new ArrayList<>();
         
-        String name = (String) data.getOrDefault("name", "Blueprint");
-        String description = (String) data.getOrDefault("description", "");
-        
-        Blueprint blueprint = new Blueprint(name);
-        blueprint.setDescription(description);
-        
-        // Processa nós
-        Map<String, Object> nodesData = (Map<String, Object>) data.get("nodes");
-        if (nodesData != null) {
-            for (Map.Entry<String, Object> entry : nodesData.entrySet()) {
-                Map<String, Object> nodeData = (Map<String, Object>) entry.getValue();
-                Node node = createNodeFromData(nodeData);
-                if (node != null) {
-                    blueprint.addNode(node);
-                }
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "name":
+                    String name = nextOptionalString(reader);
+                    if (name != null) {
+                        blueprint.setName(name);
+                    }
+                    break;
+                case "description":
+                    String description = nextOptionalString(reader);
+                    blueprint.setDescription(description != null ? description : "");
+                    break;
+                case "nodes":
+                    readEntries(reader, () -> {
+                        Node node = readNode(reader);
+                        if (node != null) {
+                            blueprint.addNode(node);
+                        }
+                    });
+                    break;
+                case "connections":
+                    readEntries(reader, () -> {
+                        Connection connection = readConnection(reader);
+                        if (connection != null) {
+                            connections.add(connection);
+                        }
+                    });
+                    break;
+                default:
+                    reader.skipValue();
             }
         }
+        reader.endObject();
+        reader.endDocument();
         
-        // Processa conexões
-        Map<String, Object> connectionsData = (Map<String, Object>) data.get("connections");
-        if (connectionsData != null) {
-            for (Map.Entry<String, Object> entry : connectionsData.entrySet()) {
-                Map<String, Object> connData = (Map<String, Object>) entry.getValue();
-                Connection connection = createConnectionFromData(connData);
-                if (connection != null) {
-                    blueprint.addConnection(connection);
-                }
-            }
+        for (Connection connection : connections) {
+            blueprint.addConnection(connection);
         }
-        
         return blueprint;
     }
     
+    @FunctionalInterface
+    private interface EntryReader {
+        void read() throws IOException;
+    }
+    
     /**
-     * Cria nó a partir dos dados do frontend
+     * Percorre uma coleção que pode vir como array ou como objeto indexado
      */
-    private Node createNodeFromData(Map<String, Object> nodeData) {
-        String id = (String) nodeData.get("id");
-        String name = (String) nodeData.get("name");
-        String type = (String) nodeData.get("type");
-        
-        if (id == null || name == null || type == null) {
-            return null;
-        }
-        
-        Node node = null;
-        
-        switch (type.toLowerCase()) {
-            case "input":
-                node = new InputNode(id, name);
-                break;
-            case "output":
-                node = new OutputNode(id, name);
-                break;
-            case "transform":
-                node = new TransformNode(id, name);
-                break;
-            case "filter":
-                node = new FilterNode(id, name);
-                break;
-            case "ai":
-                node = new AINode(id, name);
-                break;
-            case "database":
-                node = new DatabaseNode(id, name);
-                break;
-            case "api":
-                node = new APINode(id, name);
-                break;
-            case "advanced_transform":
-                node = new AdvancedTransformNode(id, name);
-                break;
-            case "advanced_filter":
-                node = new AdvancedFilterNode(id, name);
-                break;
-            case "text_input":
-                node = new TextInputNode(id, name);
+    private void readEntries(JsonReader reader, EntryReader entryReader) throws IOException {
+        switch (reader.peek()) {
+            case BEGIN_ARRAY:
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    entryReader.read();
+                }
+                reader.endArray();
                 break;
-            case "text_output":
-                node = new TextOutputNode(id, name);
+            case BEGIN_OBJECT:
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    reader.nextName();
+                    entryReader.read();
+                }
+                reader.endObject();
                 break;
             default:
-                System.err.println("Tipo de nó não reconhecido: " + type);
-                return null;
+                reader.skipValue();
         }
-        
-        // Configura propriedades do nó
-        Map<String, Object> properties = (Map<String, Object>) nodeData.get("properties");
-        if (properties != null) {
-            configureNodeProperties(node, properties);
-        }
-        
-        return node;
     }
     
-    /**
-     * Configura propriedades de um nó
-     */
-    private void configureNodeProperties(Node node, Map<String, Object> properties) {
-        for (Map.Entry<String, Object> entry : properties.entrySet()) {
-            String key = entry.getKey();
-            Object value = entry.getValue();
-            
-            switch (node.getType()) {
-                case "TransformNode":
-                    TransformNode transformNode = (TransformNode) node;
-                    if ("operation".equals(key)) {
-                        transformNode.setOperation((String) value);
-                    }
+    private Node readNode(JsonReader reader) throws IOException {
+        String id = null;
+        String name = null;
+        String type = null;
+        Map<String, Object> properties = null;
+        Map<String, Object> nodeFields = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            switch (field) {
+                case "id":
+                    id = nextOptionalString(reader);
                     break;
-                case "FilterNode":
-                    FilterNode filterNode = (FilterNode) node;
-                    if ("condition".equals(key)) {
-                        filterNode.setCondition((String) value);
-                    }
+                case "name":
+                    name = nextOptionalString(reader);
                     break;
-                case "AINode":
-                    AINode aiNode = (AINode) node;
-                    if ("model".equals(key)) {
-                        aiNode.setModel((String) value);
-                    } else if ("task".equals(key)) {
-                        aiNode.setTask((String) value);
-                    }
+                case "type":
+                    type = nextOptionalString(reader);
                     break;
-                case "DatabaseNode":
-                    DatabaseNode dbNode = (DatabaseNode) node;
-                    if ("operation".equals(key)) {
-                        dbNode.setOperation((String) value);
-                    } else if ("table".equals(key)) {
-                        dbNode.setTable((String) value);
+                case "properties":
+                    Object value = reader.readValue();
+                    if (value instanceof Map) {
+                        properties = (Map<String, Object>) value;
                     }
                     break;
-                case "APINode":
-                    APINode apiNode = (APINode) node;
-                    if ("method".equals(key)) {
-                        apiNode.setMethod((String) value);
-                    } else if ("url".equals(key)) {
-                        apiNode.setUrl((String) value);
+                case "value":
+                case "operation":
+                case "condition":
+                    // Configuração gravada no próprio nó pelo SimpleJsonSerializer
+                    if (nodeFields == null) {
+                        nodeFields = new HashMap<>();
                     }
+                    nodeFields.put(field, reader.readValue());
                     break;
-                case "AdvancedTransformNode":
-                    AdvancedTransformNode advTransformNode = (AdvancedTransformNode) node;
-                    if ("operation".equals(key)) {
-                        advTransformNode.setOperation((String) value);
-                    }
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        // Se vierem nos dois lugares, "properties" (editor web) prevalece
+        if (nodeFields != null) {
+            if (properties != null) {
+                nodeFields.putAll(properties);
+            }
+            properties = nodeFields;
+        }
+        return createNode(id, name, type, properties);
+    }
+    
+    private Connection readConnection(JsonReader reader) throws IOException {
+        String id = null;
+        String fromNodeId = null;
+        String toNodeId = null;
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = nextOptionalString(reader);
                     break;
-                case "AdvancedFilterNode":
-                    AdvancedFilterNode advFilterNode = (AdvancedFilterNode) node;
-                    if ("condition".equals(key)) {
-                        advFilterNode.setCondition((String) value);
-                    }
+                case "fromNodeId":
+                    fromNodeId = nextOptionalString(reader);
                     break;
-                case "InputNode":
-                    InputNode inputNode = (InputNode) node;
-                    if ("value".equals(key)) {
-                        inputNode.setValue(value);
-                    }
+                case "toNodeId":
+                    toNodeId = nextOptionalString(reader);
                     break;
+                default:
+                    reader.skipValue();
             }
         }
-    }
-    
-    /**
-     * Cria conexão a partir dos dados do frontend
-     */
-    private Connection createConnectionFromData(Map<String, Object> connData) {
-        String id = (String) connData.get("id");
-        String fromNodeId = (String) connData.get("fromNodeId");
-        String toNodeId = (String) connData.get("toNodeId");
+        reader.endObject();
         
         if (id == null || fromNodeId == null || toNodeId == null) {
             return null;
@@ -321,125 +341,64 @@ public class BlueprintAPI {
         return new Connection(id, fromNodeId, toNodeId);
     }
     
-    /**
-     * Cria blueprint a partir dos dados do frontend
-     */
-    private Blueprint createBlueprintFromFrontendData(Map<String, Object> frontendData) {
-        String name = (String) frontendData.getOrDefault("name", "Blueprint");
-        String description = (String) frontendData.getOrDefault("description", "");
-        
-        Blueprint blueprint = new Blueprint(name);
-        blueprint.setDescription(description);
-        
-        // Processa nós
-        List<Map<String, Object>> nodesList = (List<Map<String, Object>>) frontendData.get("nodes");
-        if (nodesList != null) {
-            for (Map<String, Object> nodeData : nodesList) {
-                Node node = createNodeFromData(nodeData);
-                if (node != null) {
-                    blueprint.addNode(node);
-                }
-            }
-        }
-        
-        // Processa conexões
-        List<Map<String, Object>> connectionsList = (List<Map<String, Object>>) frontendData.get("connections");
-        if (connectionsList != null) {
-            for (Map<String, Object> connData : connectionsList) {
-                Connection connection = createConnectionFromData(connData);
-                if (connection != null) {
-                    blueprint.addConnection(connection);
-                }
-            }
+    private static String nextOptionalString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonReader.Token.NULL) {
+            reader.nextNull();
+            return null;
         }
-        
-        return blueprint;
+        return reader.nextString();
     }
     
     /**
-     * Parse básico de JSON (simplificado)
+     * Cria nó a partir dos dados do frontend
      */
-    private Map<String, Object> parseJson(String json) {
-        // Implementação simplificada - em produção usar Jackson ou Gson
-        Map<String, Object> result = new HashMap<>();
+    private Node createNode(String id, String name, String type, Map<String, Object> properties) {
+        if (id == null || name == null || type == null) {
+            return null;
+        }
         
-        // Remove espaços e quebras
-        json = json.replaceAll("\\s+", "");
+        Node node = NodeFactory.create(type, id, name);
+        if (node == null) {
+            System.err.println("Tipo de nó não reconhecido: " + type);
+            return null;
+        }
         
-        // Parse básico de objetos
-        if (json.startsWith("{") && json.endsWith("}")) {
-            json = json.substring(1, json.length() - 1);
-            
-            String[] pairs = json.split(",");
-            for (String pair : pairs) {
-                if (pair.contains(":")) {
-                    String[] keyValue = pair.split(":", 2);
-                    String key = keyValue[0].replaceAll("\"", "");
-                    String value = keyValue[1].replaceAll("\"", "");
-                    result.put(key, value);
-                }
-            }
+        // Configura propriedades do nó
+        if (properties != null) {
+            NodeFactory.configure(node, properties);
         }
         
-        return result;
+        return node;
     }
     
     /**
-     * Parse dos dados do frontend
+     * Cria resposta JSON padronizada
      */
-    private Map<String, Object> parseFrontendData(String jsonData) {
-        // Parse simplificado - em produção usar biblioteca JSON
-        Map<String, Object> result = new HashMap<>();
-        
-        // Remove espaços e quebras
-        jsonData = jsonData.replaceAll("\\s+", "");
-        
-        // Parse básico
-        if (jsonData.startsWith("{") && jsonData.endsWith("}")) {
-            jsonData = jsonData.substring(1, jsonData.length() - 1);
-            
-            String[] pairs = jsonData.split(",");
-            for (String pair : pairs) {
-                if (pair.contains(":")) {
-                    String[] keyValue = pair.split(":", 2);
-                    String key = keyValue[0].replaceAll("\"", "");
-                    String value = keyValue[1].replaceAll("\"", "");
-                    result.put(key, value);
-                }
+    private String createResponse(boolean success, String message, Object data) {
+        StringWriter out = new StringWriter();
+        try {
+            JsonWriter json = serializer.newWriter(out);
+            beginResponse(json, success, message);
+            if (data != null) {
+                json.name("data").value(data);
             }
+            json.endObject();
+        } catch (IOException e) {
+            // StringWriter não lança IOException
+            throw new UncheckedIOException(e);
         }
-        
-        return result;
+        return out.toString();
     }
     
     /**
-     * Cria resposta JSON padronizada
+     * Abre o objeto de resposta e escreve os campos comuns; quem chama
+     * completa com "data" e fecha o objeto
      */
-    private String createResponse(boolean success, String message, Object data) {
-        Map<String, Object> response = new HashMap<>();
-        response.put("success", success);
-        response.put("message", message);
-        response.put("data", data);
-        response.put("timestamp", new Date().toString());
-        
-        // Serialização simples para JSON
-        StringBuilder json = new StringBuilder();
-        json.append("{");
-        json.append("\"success\":").append(success).append(",");
-        json.append("\"message\":\"").append(message).append("\",");
-        json.append("\"timestamp\":\"").append(new Date().toString()).append("\"");
-        
-        if (data != null) {
-            json.append(",\"data\":");
-            if (data instanceof String) {
-                json.append("\"").append(data.toString().replace("\"", "\\\"")).append("\"");
-            } else {
-                json.append(data.toString());
-            }
-        }
-        
-        json.append("}");
-        return json.toString();
+    private void beginResponse(JsonWriter json, boolean success, String message) throws IOException {
+        json.beginObject();
+        json.name("success").value(success);
+        json.name("message").value(message);
+        json.name("timestamp").value(new Date().toString());
     }
     
     /**
@@ -448,7 +407,7 @@ public class BlueprintAPI {
     public String getStats() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("total_blueprints", blueprints.size());
-        stats.put("total_requests", requestCounter);
+        stats.put("total_requests", requestCounter.get());
         stats.put("engine_status", "running");
         stats.put("uptime", System.currentTimeMillis());
         
@@ -1,34 +1,106 @@
 package com.myfeest.blueprint.api;
 
+import com.myfeest.blueprint.engine.BlueprintEngine;
+import com.myfeest.blueprint.engine.ConcurrencyLimiter;
+import com.myfeest.blueprint.engine.EngineExecutors;
+import com.myfeest.blueprint.serializer.JsonWriter;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
 import java.io.*;
 import java.net.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 /**
  * Servidor HTTP simples para expor a API REST do Blueprint
+ *
+ * Usa o {@link HttpServer} do JDK: o seletor aceita as conexões e as mantém
+ * abertas entre requisições (HTTP/1.1 keep-alive; requisições enviadas em
+ * sequência na mesma conexão são respondidas em ordem). Respostas de tamanho
+ * conhecido levam Content-Length; respostas em fluxo usam
+ * Transfer-Encoding: chunked.
+ *
+ * Arquivos estáticos vêm do {@link StaticFileCache}: ficam em memória (com
+ * versão gzip pré-comprimida), levam ETag/Last-Modified para que o navegador
+ * revalide com 304, e arquivos grandes são enviados do disco via
+ * {@link FileChannel#transferTo}.
+ *
+ * Por padrão cada requisição é atendida por uma virtual thread, então o número
+ * de requisições simultâneas não fica preso ao tamanho de um pool; o teto de
+ * requisições processadas ao mesmo tempo (qualquer rota) é dado pelo
+ * limitador de concorrência, e as excedentes aguardam. Em JVMs sem virtual
+ * threads o executor padrão é um pool fixo do mesmo tamanho do limite, e as
+ * excedentes aguardam na fila do pool sem ocupar uma thread.
  */
 public class BlueprintServer {
     
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 1000;
+    
+    private static final DateTimeFormatter HTTP_DATE =
+        DateTimeFormatter.RFC_1123_DATE_TIME.withZone(ZoneOffset.UTC);
+        
+    // Conexões pendentes na fila de aceitação do socket
+    private static final int BACKLOG = 1024;
+    
     private BlueprintAPI api;
-    private ServerSocket serverSocket;
+    private HttpServer httpServer;
     private ExecutorService executor;
-    private boolean running;
+    private ConcurrencyLimiter requestLimiter;
+    private StaticFileCache staticFiles;
+    private volatile boolean running;
     private int port;
     
     public BlueprintServer(int port) {
+        this(port, new BlueprintAPI(), requestExecutor(DEFAULT_MAX_CONCURRENT_REQUESTS),
+             DEFAULT_MAX_CONCURRENT_REQUESTS);
+    }
+    
+    /**
+     * @param executor Executor das requisições (uma tarefa por requisição)
+     * @param maxConcurrentRequests Requisições processadas ao mesmo tempo
+     *                              (0 = sem limite)
+     */
+    public BlueprintServer(int port, BlueprintAPI api, ExecutorService executor, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 0) {
+            throw new IllegalArgumentException("Limite de requisições não pode ser negativo");
+        }
         this.port = port;
-        this.api = new BlueprintAPI();
-        this.executor = Executors.newFixedThreadPool(10);
+        this.api = api;
+        this.executor = executor;
+        this.requestLimiter = maxConcurrentRequests > 0 ? new ConcurrencyLimiter(maxConcurrentRequests) : null;
+        this.staticFiles = new StaticFileCache(Paths.get("web"), StaticFileCache.DEFAULT_MAX_CACHED_FILE_SIZE);
         this.running = false;
     }
     
+    /**
+     * Inicia o servidor e retorna; as requisições são atendidas em segundo plano
+     * até {@link #stop()}
+     */
     public void start() {
         try {
-            serverSocket = new ServerSocket(port);
+            httpServer = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+            httpServer.setExecutor(executor);
+            httpServer.createContext("/", this::handleExchange);
+            httpServer.start();
             running = true;
             
-            System.out.println("🚀 Blueprint API Server iniciado na porta " + port);
+            System.out.println("🚀 Blueprint API Server iniciado na porta " + getPort());
             System.out.println("📡 Endpoints disponíveis:");
             System.out.println("   POST /api/execute - Executar blueprint");
             System.out.println("   POST /api/create - Criar blueprint");
@@ -36,12 +108,7 @@ public class BlueprintServer {
             System.out.println("   GET  /api/stats - Estatísticas");
             System.out.println("   GET  /api/blueprint/{id} - Obter blueprint");
             System.out.println("   DELETE /api/blueprint/{id} - Deletar blueprint");
-            System.out.println("🌐 Acesse: http://localhost:" + port);
-            
-            while (running) {
-                Socket clientSocket = serverSocket.accept();
-                executor.submit(() -> handleClient(clientSocket));
-            }
+            System.out.println("🌐 Acesse: http://localhost:" + getPort());
             
         } catch (IOException e) {
             System.err.println("Erro ao iniciar servidor: " + e.getMessage());
@@ -50,105 +117,127 @@ public class BlueprintServer {
     
     public void stop() {
         running = false;
-        try {
-            if (serverSocket != null) {
-                serverSocket.close();
-            }
-            executor.shutdown();
-            System.out.println("👋 Servidor parado");
-        } catch (IOException e) {
-            System.err.println("Erro ao parar servidor: " + e.getMessage());
+        if (httpServer != null) {
+            // Aguarda até 1s as requisições em andamento
+            httpServer.stop(1);
         }
+        executor.shutdown();
+        System.out.println("👋 Servidor parado");
     }
     
-    private void handleClient(Socket clientSocket) {
-        try (BufferedReader in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
-             PrintWriter out = new PrintWriter(clientSocket.getOutputStream(), true)) {
-            
-            // Lê a primeira linha da requisição
-            String requestLine = in.readLine();
-            if (requestLine == null) return;
-            
-            // Parse da requisição HTTP
-            String[] parts = requestLine.split(" ");
-            if (parts.length < 2) return;
-            
-            String method = parts[0];
-            String path = parts[1];
-            
-            // Lê headers
-            String line;
-            int contentLength = 0;
-            while ((line = in.readLine()) != null && !line.isEmpty()) {
-                if (line.toLowerCase().startsWith("content-length:")) {
-                    contentLength = Integer.parseInt(line.split(":")[1].trim());
-                }
-            }
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Porta efetiva (útil quando o servidor foi criado com a porta 0)
+     */
+    public int getPort() {
+        return httpServer != null ? httpServer.getAddress().getPort() : port;
+    }
+    
+    private void handleExchange(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
             
-            // Lê body se houver
-            String body = "";
-            if (contentLength > 0) {
-                char[] buffer = new char[contentLength];
-                in.read(buffer, 0, contentLength);
-                body = new String(buffer);
-            }
+            // O corpo é lido em fluxo pelos endpoints que o usam; o restante é
+            // descartado pelo HttpServer ao fechar a troca
+            InputStream body = exchange.getRequestBody();
             
             // Processa a requisição
-            String response = processRequest(method, path, body);
-            
-            // Envia resposta
-            out.print(response);
-            out.flush();
+            Response response = processLimited(method, path, body, exchange.getRequestHeaders());
+                
+            sendResponse(exchange, response);
             
         } catch (IOException e) {
             System.err.println("Erro ao processar cliente: " + e.getMessage());
         } finally {
-            try {
-                clientSocket.close();
-            } catch (IOException e) {
-                // Ignora erro ao fechar socket
+            exchange.close();
+        }
+    }
+    
+    /**
+     * Envia a resposta com Content-Length quando o tamanho é conhecido, ou em
+     * chunks quando o corpo é produzido em fluxo
+     */
+    private void sendResponse(HttpExchange exchange, Response response) throws IOException {
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Access-Control-Allow-Origin", "*");
+        if ("OPTIONS".equals(exchange.getRequestMethod())) {
+            headers.set("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
+            headers.set("Access-Control-Allow-Headers", "Content-Type");
+        }
+        if (response.contentType != null) {
+            headers.set("Content-Type", response.contentType);
+        }
+        response.headers.forEach(headers::set);
+        
+        if (response.writer != null) {
+            // Tamanho 0 = Transfer-Encoding: chunked
+            exchange.sendResponseHeaders(response.status, response.length >= 0 ? response.length : 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                response.writer.writeTo(out);
+            }
+            return;
+        }
+        
+        byte[] body = response.body;
+        // -1 = sem corpo (Content-Length: 0)
+        exchange.sendResponseHeaders(response.status, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
             }
         }
     }
     
-    private String processRequest(String method, String path, String body) {
+    /**
+     * Processa uma requisição dentro do limite de concorrência
+     */
+    private Response processLimited(String method, String path, InputStream body, Headers requestHeaders) {
+        if (requestLimiter == null) {
+            return processRequest(method, path, body, requestHeaders);
+        }
+        try {
+            requestLimiter.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return createErrorResponse(503, "Servidor encerrando");
+        }
+        try {
+            return processRequest(method, path, body, requestHeaders);
+        } finally {
+            requestLimiter.release();
+        }
+    }
+    
+    private Response processRequest(String method, String path, InputStream body, Headers requestHeaders) {
         try {
-            // Parse do path
-            String[] pathParts = path.split("/");
-            
-            // CORS headers
-            String corsHeaders = "Access-Control-Allow-Origin: *\n" +
-                                "Access-Control-Allow-Methods: GET, POST, PUT, DELETE, OPTIONS\n" +
-                                "Access-Control-Allow-Headers: Content-Type\n";
-            
             // OPTIONS request (CORS preflight)
             if ("OPTIONS".equals(method)) {
-                return "HTTP/1.1 200 OK\n" + corsHeaders + "\n";
+                return Response.empty(204);
             }
             
             // Roteamento
             if (path.startsWith("/api/")) {
                 return handleAPIRequest(method, path, body);
             } else if (path.equals("/") || path.equals("/index.html")) {
-                return serveFile("web/index.html", "text/html");
+                return serveFile("index.html", requestHeaders);
             } else if (path.equals("/editor") || path.equals("/unreal-editor.html")) {
-                return serveFile("web/unreal-editor.html", "text/html");
+                return serveFile("unreal-editor.html", requestHeaders);
             } else if (path.startsWith("/web/")) {
-                return serveFile(path.substring(1), getContentType(path));
+                return serveFile(path.substring("/web/".length()), requestHeaders);
             } else {
-                return "HTTP/1.1 404 Not Found\n" + corsHeaders + 
-                       "Content-Type: text/plain\n\nEndpoint não encontrado: " + path;
+                return Response.text(404, "Endpoint não encontrado: " + path);
             }
             
         } catch (Exception e) {
-            return "HTTP/1.1 500 Internal Server Error\n" +
-                   "Access-Control-Allow-Origin: *\n" +
-                   "Content-Type: application/json\n\n" +
-                   "{\"error\":\"" + e.getMessage() + "\"}";
+            return createErrorResponse(500, e.getMessage());
         }
     }
     
-    private String handleAPIRequest(String method, String path, String body) {
+    private Response handleAPIRequest(String method, String path, InputStream body) {
         String[] pathParts = path.split("/");
         
         if (pathParts.length < 3) {
@@ -160,13 +249,13 @@ public class BlueprintServer {
         switch (endpoint) {
             case "execute":
                 if ("POST".equals(method)) {
-                    return createJSONResponse(api.executeBlueprintFromFrontend(body));
+                    return createJSONResponse(api.executeBlueprintFromFrontend(bodyReader(body)));
                 }
                 break;
                 
             case "create":
                 if ("POST".equals(method)) {
-                    return createJSONResponse(api.createBlueprintFromFrontend(body));
+                    return createJSONResponse(api.createBlueprintFromFrontend(bodyReader(body)));
                 }
                 break;
                 
@@ -187,7 +276,12 @@ public class BlueprintServer {
                     String blueprintId = pathParts[3];
                     
                     if ("GET".equals(method)) {
-                        return createJSONResponse(api.getBlueprint(blueprintId));
+                        // Blueprint escrito direto na conexão, sem montar o texto
+                        return Response.stream(200, "application/json; charset=utf-8", out -> {
+                            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                            api.writeBlueprint(blueprintId, writer);
+                            writer.flush();
+                        });
                     } else if ("DELETE".equals(method)) {
                         return createJSONResponse(api.deleteBlueprint(blueprintId));
                     }
@@ -198,57 +292,175 @@ public class BlueprintServer {
         return createErrorResponse("Método não suportado para este endpoint");
     }
     
-    private String createJSONResponse(String jsonData) {
-        return "HTTP/1.1 200 OK\n" +
-               "Access-Control-Allow-Origin: *\n" +
-               "Content-Type: application/json\n\n" +
-               jsonData;
+    private static Reader bodyReader(InputStream body) {
+        return new InputStreamReader(body, StandardCharsets.UTF_8);
     }
     
-    private String createErrorResponse(String error) {
-        return "HTTP/1.1 400 Bad Request\n" +
-               "Access-Control-Allow-Origin: *\n" +
-               "Content-Type: application/json\n\n" +
-               "{\"error\":\"" + error + "\"}";
+    private Response createJSONResponse(String jsonData) {
+        return Response.json(200, jsonData);
     }
     
-    private String serveFile(String filePath, String contentType) {
+    private Response createErrorResponse(String error) {
+        return createErrorResponse(400, error);
+    }
+    
+    /**
+     * Resposta {"error": mensagem}, com a mensagem escapada pelo JsonWriter
+     */
+    static Response createErrorResponse(int status, String error) {
+        StringWriter out = new StringWriter();
         try {
-            File file = new File(filePath);
-            if (!file.exists()) {
-                return "HTTP/1.1 404 Not Found\n" +
-                       "Access-Control-Allow-Origin: *\n" +
-                       "Content-Type: text/plain\n\nArquivo não encontrado: " + filePath;
+            JsonWriter json = new JsonWriter(out);
+            json.beginObject();
+            json.name("error").value(error);
+            json.endObject();
+        } catch (IOException e) {
+            // StringWriter não lança IOException
+            throw new UncheckedIOException(e);
+        }
+        return Response.json(status, out.toString());
+    }
+    
+    /**
+     * Serve um arquivo de web/ a partir do cache, respondendo 304 quando a
+     * cópia do navegador ainda é válida
+     */
+    private Response serveFile(String relativePath, Headers requestHeaders) throws IOException {
+        StaticFileCache.Entry entry = staticFiles.lookup(relativePath);
+        if (entry == null) {
+            return Response.text(404, "Arquivo não encontrado: " + relativePath);
+        }
+        
+        Response response;
+        if (isNotModified(entry, requestHeaders)) {
+            response = Response.empty(304);
+        } else if (!entry.isCached()) {
+            response = Response.file(200, entry.contentType, entry.path, entry.size);
+        } else if (entry.gzip != null && acceptsGzip(requestHeaders)) {
+            response = Response.bytes(200, entry.contentType, entry.gzip)
+                .header("Content-Encoding", "gzip");
+        } else {
+            response = Response.bytes(200, entry.contentType, entry.content);
+        }
+        
+        if (entry.gzip != null) {
+            response.header("Vary", "Accept-Encoding");
+        }
+        return response
+            .header("ETag", entry.etag)
+            .header("Last-Modified", HTTP_DATE.format(Instant.ofEpochMilli(entry.lastModified)))
+            .header("Cache-Control", "no-cache");
+    }
+    
+    private static boolean isNotModified(StaticFileCache.Entry entry, Headers requestHeaders) {
+        if (requestHeaders == null) {
+            return false;
+        }
+        String ifNoneMatch = requestHeaders.getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-None-Match tem precedência sobre If-Modified-Since
+            return ifNoneMatch.contains(entry.etag) || ifNoneMatch.trim().equals("*");
+        }
+        String ifModifiedSince = requestHeaders.getFirst("If-Modified-Since");
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince, HTTP_DATE).toInstant().getEpochSecond();
+                return entry.lastModified / 1000 <= since;
+            } catch (DateTimeParseException e) {
+                return false;
             }
-            
-            StringBuilder content = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    content.append(line).append("\n");
+        }
+        return false;
+    }
+    
+    private static boolean acceptsGzip(Headers requestHeaders) {
+        if (requestHeaders == null) {
+            return false;
+        }
+        String acceptEncoding = requestHeaders.getFirst("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+    
+    /**
+     * Resposta HTTP: corpo em memória (enviado com Content-Length) ou
+     * produzido em fluxo (com Content-Length se o tamanho for conhecido,
+     * senão em chunks)
+     */
+    static final class Response {
+        final int status;
+        final String contentType;
+        final byte[] body;
+        final BodyWriter writer;
+        final long length;
+        final Map<String, String> headers;
+        
+        private Response(int status, String contentType, byte[] body, BodyWriter writer, long length) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.writer = writer;
+            this.length = length;
+            this.headers = new LinkedHashMap<>();
+        }
+        
+        static Response json(int status, String json) {
+            return bytes(status, "application/json; charset=utf-8", json.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static Response text(int status, String text) {
+            return bytes(status, "text/plain; charset=utf-8", text.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        static Response bytes(int status, String contentType, byte[] body) {
+            return new Response(status, contentType, body, null, body.length);
+        }
+        
+        static Response stream(int status, String contentType, BodyWriter writer) {
+            return new Response(status, contentType, null, writer, -1);
+        }
+        
+        /**
+         * Arquivo enviado do disco com {@link FileChannel#transferTo}, sem
+         * passar pelo cache
+         */
+        static Response file(int status, String contentType, Path path, long size) {
+            return new Response(status, contentType, null, out -> {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    WritableByteChannel target = Channels.newChannel(out);
+                    long position = 0;
+                    while (position < size) {
+                        long sent = channel.transferTo(position, size - position, target);
+                        if (sent <= 0) {
+                            break;
+                        }
+                        position += sent;
+                    }
                 }
-            }
-            
-            return "HTTP/1.1 200 OK\n" +
-                   "Access-Control-Allow-Origin: *\n" +
-                   "Content-Type: " + contentType + "\n\n" +
-                   content.toString();
-                   
-        } catch (IOException e) {
-            return "HTTP/1.1 500 Internal Server Error\n" +
-                   "Access-Control-Allow-Origin: *\n" +
-                   "Content-Type: text/plain\n\nErro ao ler arquivo: " + e.getMessage();
+            }, size);
         }
+        
+        static Response empty(int status) {
+            return new Response(status, null, new byte[0], null, 0);
+        }
+        
+        Response header(String name, String value) {
+            headers.put(name, value);
+            return this;
+        }
+    }
+    
+    @FunctionalInterface
+    interface BodyWriter {
+        void writeTo(OutputStream out) throws IOException;
     }
     
-    private String getContentType(String path) {
-        if (path.endsWith(".html")) return "text/html";
-        if (path.endsWith(".css")) return "text/css";
-        if (path.endsWith(".js")) return "application/javascript";
-        if (path.endsWith(".json")) return "application/json";
-        if (path.endsWith(".png")) return "image/png";
-        if (path.endsWith(".jpg") || path.endsWith(".jpeg")) return "image/jpeg";
-        return "text/plain";
+    /**
+     * Executor padrão das requisições; sem limite configurado (0), o pool de
+     * fallback usa {@link #DEFAULT_MAX_CONCURRENT_REQUESTS} threads
+     */
+    private static ExecutorService requestExecutor(int maxConcurrentRequests) {
+        return EngineExecutors.requestExecutor(
+            maxConcurrentRequests > 0 ? maxConcurrentRequests : DEFAULT_MAX_CONCURRENT_REQUESTS, "blueprint-http-");
     }
     
     public static void main(String[] args) {
@@ -262,8 +474,22 @@ public class BlueprintServer {
             }
         }
         
-        BlueprintServer server = new BlueprintServer(port);
+        // Configuração via propriedades de sistema, ex.: -Dblueprint.server.executor=fixed
+        int maxConcurrentRequests = Integer.getInteger("blueprint.server.max-concurrency",
+                                                       DEFAULT_MAX_CONCURRENT_REQUESTS);
+        ExecutorService executor = "fixed".equalsIgnoreCase(System.getProperty("blueprint.server.executor"))
+            ? Executors.newFixedThreadPool(Integer.getInteger("blueprint.server.threads", 10))
+            : requestExecutor(maxConcurrentRequests);
+        int ioConcurrency = Integer.getInteger("blueprint.engine.io-concurrency", 0);
+        
+        BlueprintEngine engine = new BlueprintEngine();
+        if (ioConcurrency > 0) {
+            engine.setIoLimiter(new ConcurrencyLimiter(ioConcurrency));
+        }
         
+        BlueprintServer server = new BlueprintServer(port, new BlueprintAPI(engine), executor,
+                                                     maxConcurrentRequests);
+                                                     
         // Adiciona shutdown hook
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             System.out.println("\n🛑 Recebido sinal de shutdown...");
@@ -272,4 +498,4 @@ public class BlueprintServer {
         
         server.start();
     }
-} 
\ No newline at end of file
+}
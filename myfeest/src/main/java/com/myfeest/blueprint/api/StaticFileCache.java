@@ -0,0 +1,148 @@
+package com.myfeest.blueprint.api;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache em memória dos arquivos estáticos servidos pelo {@link BlueprintServer}
+ *
+ * Cada arquivo é lido do disco uma única vez e guardado junto com a versão
+ * gzip (para tipos de texto) e o ETag; a cada acesso apenas os atributos do
+ * arquivo são consultados, e o conteúdo só é relido se o arquivo mudou.
+ * Arquivos maiores que o limite não ficam em memória: o servidor os envia
+ * direto do disco.
+ */
+final class StaticFileCache {
+    
+    static final long DEFAULT_MAX_CACHED_FILE_SIZE = 1024 * 1024;
+    
+    // Abaixo disso o gzip não compensa o cabeçalho e o custo de descompressão
+    private static final int MIN_GZIP_SIZE = 256;
+    
+    private final Path root;
+    private final long maxCachedFileSize;
+    private final Map<Path, Entry> entries;
+    
+    StaticFileCache(Path root, long maxCachedFileSize) {
+        this.root = root.toAbsolutePath().normalize();
+        this.maxCachedFileSize = maxCachedFileSize;
+        this.entries = new ConcurrentHashMap<>();
+    }
+    
+    /**
+     * Busca um arquivo pelo caminho relativo à raiz
+     * @return null se o arquivo não existe ou está fora da raiz
+     */
+    Entry lookup(String relativePath) throws IOException {
+        Path path = root.resolve(relativePath).normalize();
+        if (!path.startsWith(root) || !Files.isRegularFile(path)) {
+            return null;
+        }
+        
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        
+        Entry entry = entries.get(path);
+        if (entry != null && entry.lastModified == lastModified && entry.size == size) {
+            return entry;
+        }
+        
+        entry = load(path, lastModified, size);
+        entries.put(path, entry);
+        return entry;
+    }
+    
+    private Entry load(Path path, long lastModified, long size) throws IOException {
+        String contentType = contentTypeOf(path.getFileName().toString());
+        String etag = "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(size) + "\"";
+        
+        if (size > maxCachedFileSize) {
+            return new Entry(path, contentType, size, lastModified, etag, null, null);
+        }
+        
+        byte[] content = Files.readAllBytes(path);
+        byte[] gzip = null;
+        if (content.length >= MIN_GZIP_SIZE && isCompressible(contentType)) {
+            byte[] compressed = gzip(content);
+            if (compressed.length < content.length) {
+                gzip = compressed;
+            }
+        }
+        return new Entry(path, contentType, content.length, lastModified, etag, content, gzip);
+    }
+    
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(content.length / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(content);
+        }
+        return buffer.toByteArray();
+    }
+    
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/")
+            || contentType.startsWith("application/javascript")
+            || contentType.startsWith("application/json")
+            || contentType.startsWith("image/svg+xml");
+    }
+    
+    static String contentTypeOf(String fileName) {
+        String name = fileName.toLowerCase();
+        if (name.endsWith(".html")) return "text/html; charset=utf-8";
+        if (name.endsWith(".css")) return "text/css; charset=utf-8";
+        if (name.endsWith(".js")) return "application/javascript; charset=utf-8";
+        if (name.endsWith(".json")) return "application/json; charset=utf-8";
+        if (name.endsWith(".svg")) return "image/svg+xml";
+        if (name.endsWith(".png")) return "image/png";
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) return "image/jpeg";
+        if (name.endsWith(".gif")) return "image/gif";
+        if (name.endsWith(".ico")) return "image/x-icon";
+        if (name.endsWith(".woff2")) return "font/woff2";
+        if (name.endsWith(".txt")) return "text/plain; charset=utf-8";
+        return "application/octet-stream";
+    }
+    
+    void clear() {
+        entries.clear();
+    }
+    
+    int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Versão de um arquivo estático; content é null quando o arquivo é
+     * grande demais para ficar em memória
+     */
+    static final class Entry {
+        final Path path;
+        final String contentType;
+        final long size;
+        final long lastModified;
+        final String etag;
+        final byte[] content;
+        final byte[] gzip;
+        
+        Entry(Path path, String contentType, long size, long lastModified, String etag,
+              byte[] content, byte[] gzip) {
+            this.path = path;
+            this.contentType = contentType;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.etag = etag;
+            this.content = content;
+            this.gzip = gzip;
+        }
+        
+        boolean isCached() {
+            return content != null;
+        }
+    }
+}
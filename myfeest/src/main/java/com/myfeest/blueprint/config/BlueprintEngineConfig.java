@@ -0,0 +1,79 @@
+package com.myfeest.blueprint.config;
+
+import com.myfeest.blueprint.engine.BlueprintEngine;
+import com.myfeest.blueprint.engine.ConcurrencyLimiter;
+import com.myfeest.blueprint.engine.EngineExecutors;
+import com.myfeest.blueprint.engine.NodeResultCache;
+import com.myfeest.blueprint.metrics.MicrometerExecutionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Configuração do engine de execução de blueprints
+ */
+@Configuration
+public class BlueprintEngineConfig {
+    
+    /**
+     * Executor usado pelo modo de execução paralela
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService blueprintEngineExecutor(
+            @Value("${blueprint.engine.executor:fork-join}") String executorType,
+            @Value("${blueprint.engine.parallelism:0}") int parallelism) {
+        return EngineExecutors.create(executorType, parallelism);
+    }
+    
+    /**
+     * Executor das execuções assíncronas (workers e fila limitados)
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService blueprintJobExecutor(
+            @Value("${blueprint.jobs.workers:4}") int workers,
+            @Value("${blueprint.jobs.queue-capacity:100}") int queueCapacity) {
+        return EngineExecutors.bounded(workers, queueCapacity, "blueprint-job-");
+    }
+    
+    /**
+     * Engine compartilhado pelos serviços
+     */
+    @Bean
+    public BlueprintEngine blueprintEngine(
+            ExecutorService blueprintEngineExecutor,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${blueprint.engine.timeout:30000}") long timeout,
+            @Value("${blueprint.engine.node-timeout:0}") long nodeTimeout,
+            @Value("${blueprint.engine.enable-logging:true}") boolean enableLogging,
+            @Value("${blueprint.engine.trace-sample-rate:0.0}") double traceSampleRate,
+            @Value("${blueprint.engine.parallel:false}") boolean parallel,
+            @Value("${blueprint.engine.result-cache.enabled:false}") boolean cacheEnabled,
+            @Value("${blueprint.engine.result-cache.max-entries:10000}") int cacheMaxEntries,
+            @Value("${blueprint.engine.result-cache.ttl:300000}") long cacheTtl,
+            @Value("${blueprint.engine.metrics.enabled:true}") boolean metricsEnabled,
+            @Value("${blueprint.engine.metrics.node-id-tag:false}") boolean metricsNodeIdTag,
+            @Value("${blueprint.engine.metrics.max-node-ids:100}") int metricsMaxNodeIds,
+            @Value("${blueprint.engine.io-concurrency:0}") int ioConcurrency) {
+        BlueprintEngine engine = new BlueprintEngine(timeout);
+        engine.setNodeTimeout(nodeTimeout);
+        engine.setEnableLogging(enableLogging);
+        engine.setTraceSampleRate(traceSampleRate);
+        engine.setParallelExecution(parallel);
+        engine.setExecutor(blueprintEngineExecutor);
+        if (ioConcurrency > 0) {
+            engine.setIoLimiter(new ConcurrencyLimiter(ioConcurrency));
+        }
+        if (cacheEnabled) {
+            engine.setResultCache(new NodeResultCache(cacheMaxEntries, cacheTtl));
+        }
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (metricsEnabled && registry != null) {
+            engine.setExecutionListener(new MicrometerExecutionListener(registry, metricsNodeIdTag, metricsMaxNodeIds));
+        }
+        return engine;
+    }
+}
@@ -0,0 +1,57 @@
+package com.myfeest.blueprint.config;
+
+import com.myfeest.blueprint.entity.BlueprintDataFormat;
+import com.myfeest.blueprint.entity.BlueprintEntity;
+import com.myfeest.cache.CompactRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Codec de BlueprintEntity para o {@link CompactRedisSerializer}
+ *
+ * Os campos são gravados na ordem abaixo, sem nomes; ao incluir, remover
+ * ou reordenar campos, incremente {@link #SCHEMA_VERSION} para que os
+ * valores antigos no Redis sejam tratados como ausentes.
+ */
+public class BlueprintEntityCacheCodec implements CompactRedisSerializer.RecordCodec<BlueprintEntity> {
+    
+    public static final int TYPE_ID = 100;
+    public static final int SCHEMA_VERSION = 1;
+    
+    @Override
+    public void write(BlueprintEntity entity, CompactRedisSerializer.Output out) {
+        out.writeString(entity.getId());
+        out.writeString(entity.getName());
+        out.writeString(entity.getDescription());
+        out.writeString(entity.getBlueprintData());
+        out.writeValue(entity.getBlueprintBinary());
+        out.writeString(entity.getDataFormat() != null ? entity.getDataFormat().name() : null);
+        out.writeValue(entity.getVersion());
+        out.writeValue(entity.getIsActive());
+        out.writeString(entity.getCreatedBy());
+        out.writeValue(entity.getCreatedAt());
+        out.writeValue(entity.getUpdatedAt());
+        out.writeValue(entity.getMetadata());
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public BlueprintEntity read(CompactRedisSerializer.Input in) {
+        BlueprintEntity entity = new BlueprintEntity();
+        entity.setId(in.readString());
+        entity.setName(in.readString());
+        entity.setDescription(in.readString());
+        entity.setBlueprintData(in.readString());
+        entity.setBlueprintBinary((byte[]) in.readValue());
+        String dataFormat = in.readString();
+        entity.setDataFormat(dataFormat != null ? BlueprintDataFormat.valueOf(dataFormat) : null);
+        entity.setVersion((Integer) in.readValue());
+        entity.setIsActive((Boolean) in.readValue());
+        entity.setCreatedBy(in.readString());
+        entity.setCreatedAt((LocalDateTime) in.readValue());
+        entity.setUpdatedAt((LocalDateTime) in.readValue());
+        entity.setMetadata((Map<String, String>) in.readValue());
+        return entity;
+    }
+}
@@ -1,5 +1,10 @@
 package com.myfeest.blueprint.config;
 
+import com.myfeest.blueprint.entity.BlueprintEntity;
+import com.myfeest.cache.CompactRedisSerializer;
+import com.myfeest.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -9,7 +14,9 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
@@ -37,22 +44,62 @@ public class CacheConfig {
     }
     
     /**
-     * Cache manager para produção (Redis)
+     * Cache manager para produção: L1 local (Caffeine) na frente do Redis
      */
     @Bean
     @Profile("prod")
-    public CacheManager prodCacheManager(RedisConnectionFactory redisConnectionFactory) {
+    public TwoLevelCacheManager prodCacheManager(RedisConnectionFactory redisConnectionFactory,
+                                                 StringRedisTemplate redisTemplate,
+                                                 MeterRegistry meterRegistry,
+                                                 @Value("${cache.local.max-size:10000}") long localMaxSize,
+                                                 @Value("${cache.local.ttl:60}") long localTtlSeconds,
+                                                 @Value("${cache.redis.compression-threshold:1024}") int compressionThreshold) {
+        Duration defaultTtl = Duration.ofMinutes(30);
+        Map<String, Duration> ttls = Map.of(
+            "blueprints", Duration.ofMinutes(15),
+            "statistics", Duration.ofMinutes(5)
+        );
+        
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-            .entryTtl(Duration.ofMinutes(30))
+            .entryTtl(defaultTtl)
             .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+            .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer(compressionThreshold)));
         
-        return RedisCacheManager.builder(redisConnectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
             .cacheDefaults(config)
             .withCacheConfiguration("blueprints", 
-                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(15)))
+                config.entryTtl(ttls.get("blueprints")))
             .withCacheConfiguration("statistics", 
-                RedisCacheConfiguration.defaultCacheConfig().entryTtl(Duration.ofMinutes(5)))
+                config.entryTtl(ttls.get("statistics")))
             .build();
+        redisCacheManager.afterPropertiesSet();
+        
+        return new TwoLevelCacheManager(redisCacheManager, name -> ttls.getOrDefault(name, defaultTtl),
+                                        redisTemplate, meterRegistry,
+                                        localMaxSize, Duration.ofSeconds(localTtlSeconds));
+    }
+    
+    /**
+     * Serializador binário dos valores em cache, com os codecs das
+     * entidades cacheadas; valores a partir de compressionThreshold bytes
+     * são comprimidos
+     */
+    public static CompactRedisSerializer cacheValueSerializer(int compressionThreshold) {
+        return new CompactRedisSerializer(compressionThreshold)
+            .register(BlueprintEntityCacheCodec.TYPE_ID, BlueprintEntityCacheCodec.SCHEMA_VERSION,
+                      BlueprintEntity.class, new BlueprintEntityCacheCodec());
+    }
+    
+    /**
+     * Assina o canal de invalidação para manter o L1 coerente entre instâncias
+     */
+    @Bean
+    @Profile("prod")
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory redisConnectionFactory,
+                                                                   TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 } 
\ No newline at end of file
@@ -3,13 +3,16 @@ package com.myfeest.blueprint.controller;
 import com.myfeest.blueprint.core.Blueprint;
 import com.myfeest.blueprint.entity.BlueprintEntity;
 import com.myfeest.blueprint.service.BlueprintService;
+import com.myfeest.blueprint.service.ExecutionJob;
 import com.myfeest.blueprint.dto.BlueprintCreateRequest;
 import com.myfeest.blueprint.dto.BlueprintUpdateRequest;
 import com.myfeest.blueprint.dto.BlueprintResponse;
+import com.myfeest.blueprint.dto.ExecutionJobResponse;
 import com.myfeest.blueprint.dto.StandardApiResponse;
 import com.myfeest.blueprint.exception.BlueprintNotFoundException;
 import com.myfeest.blueprint.exception.BlueprintValidationException;
 import com.myfeest.blueprint.exception.DuplicateBlueprintException;
+import com.myfeest.blueprint.exception.ExecutionJobNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -30,6 +33,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 /**
@@ -292,6 +296,171 @@ public class BlueprintController {
         }
     }
     
+    /**
+     * Inicia a execução assíncrona de um blueprint
+     */
+    @PostMapping("/{id}/execute-async")
+    @Operation(summary = "Executar blueprint de forma assíncrona",
+               description = "Agenda a execução e retorna o ID do job para consulta posterior")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Execução agendada",
+                    content = @Content(schema = @Schema(implementation = ExecutionJobResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Blueprint não encontrado"),
+        @ApiResponse(responseCode = "503", description = "Fila de execuções cheia"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<StandardApiResponse<ExecutionJobResponse>> executeBlueprintAsync(
+            @Parameter(description = "ID do blueprint") @PathVariable String id) {
+        
+        logger.info("Agendando execução do blueprint: {}", id);
+        
+        try {
+            ExecutionJob job = blueprintService.executeAsync(id);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(StandardApiResponse.success("Execução agendada", ExecutionJobResponse.fromJob(job)));
+            
+        } catch (BlueprintNotFoundException e) {
+            logger.warn("Blueprint não encontrado para execução: {}", id);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(StandardApiResponse.error("Blueprint não encontrado", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Fila de execuções cheia, blueprint {} recusado", id);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(StandardApiResponse.error("Fila de execuções cheia", "Tente novamente mais tarde"));
+        } catch (Exception e) {
+            logger.error("Erro ao agendar blueprint {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(StandardApiResponse.error("Erro interno", "Erro ao agendar execução"));
+        }
+    }
+    
+    /**
+     * Inicia a execução assíncrona de um blueprint sem salvá-lo
+     */
+    @PostMapping("/execute-async")
+    @Operation(summary = "Executar blueprint diretamente de forma assíncrona",
+               description = "Agenda a execução de um blueprint sem salvá-lo e retorna o ID do job")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Execução agendada",
+                    content = @Content(schema = @Schema(implementation = ExecutionJobResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Blueprint inválido"),
+        @ApiResponse(responseCode = "503", description = "Fila de execuções cheia"),
+        @ApiResponse(responseCode = "500", description = "Erro interno do servidor")
+    })
+    public ResponseEntity<StandardApiResponse<ExecutionJobResponse>> executeBlueprintDirectlyAsync(
+            @Valid @RequestBody Blueprint blueprint) {
+        
+        logger.info("Agendando execução direta do blueprint: {}", blueprint.getName());
+        
+        try {
+            ExecutionJob job = blueprintService.executeDirectlyAsync(blueprint);
+            
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(StandardApiResponse.success("Execução agendada", ExecutionJobResponse.fromJob(job)));
+            
+        } catch (BlueprintValidationException e) {
+            logger.warn("Blueprint inválido para execução: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                .body(StandardApiResponse.error("Blueprint inválido", e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Fila de execuções cheia, blueprint {} recusado", blueprint.getName());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(StandardApiResponse.error("Fila de execuções cheia", "Tente novamente mais tarde"));
+        } catch (Exception e) {
+            logger.error("Erro ao agendar blueprint diretamente: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(StandardApiResponse.error("Erro interno", "Erro ao agendar execução"));
+        }
+    }
+    
+    /**
+     * Consulta o status de uma execução assíncrona
+     */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Status da execução", description = "Retorna o status de uma execução assíncrona")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Execução encontrada",
+                    content = @Content(schema = @Schema(implementation = ExecutionJobResponse.class))),
+        @ApiResponse(responseCode = "404", description = "Execução não encontrada")
+    })
+    public ResponseEntity<StandardApiResponse<ExecutionJobResponse>> getExecutionJob(
+            @Parameter(description = "ID da execução") @PathVariable String jobId) {
+        
+        logger.debug("Consultando execução: {}", jobId);
+        
+        try {
+            ExecutionJob job = blueprintService.getJob(jobId);
+            
+            return ResponseEntity.ok(StandardApiResponse.success("Execução encontrada", ExecutionJobResponse.fromJob(job)));
+            
+        } catch (ExecutionJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(StandardApiResponse.error("Execução não encontrada", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Retorna os resultados de uma execução assíncrona
+     * Responde 202 enquanto a execução não termina.
+     */
+    @GetMapping("/jobs/{jobId}/result")
+    @Operation(summary = "Resultado da execução", description = "Retorna os resultados de uma execução assíncrona concluída")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Execução concluída com sucesso"),
+        @ApiResponse(responseCode = "202", description = "Execução em andamento"),
+        @ApiResponse(responseCode = "404", description = "Execução não encontrada"),
+        @ApiResponse(responseCode = "500", description = "Execução falhou, expirou ou foi cancelada")
+    })
+    public ResponseEntity<StandardApiResponse<Map<String, Object>>> getExecutionJobResult(
+            @Parameter(description = "ID da execução") @PathVariable String jobId) {
+        
+        try {
+            ExecutionJob job = blueprintService.getJob(jobId);
+            
+            if (!job.isDone()) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(StandardApiResponse.success("Execução em andamento: " + job.getStatus()));
+            }
+            
+            if (job.getError() != null) {
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(StandardApiResponse.error("Execução terminou com " + job.getStatus(), job.getError()));
+            }
+            
+            return ResponseEntity.ok(StandardApiResponse.success("Blueprint executado com sucesso", job.getResult()));
+            
+        } catch (ExecutionJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(StandardApiResponse.error("Execução não encontrada", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Cancela uma execução assíncrona
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    @Operation(summary = "Cancelar execução", description = "Cancela uma execução assíncrona em andamento")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cancelamento solicitado"),
+        @ApiResponse(responseCode = "404", description = "Execução não encontrada")
+    })
+    public ResponseEntity<StandardApiResponse<ExecutionJobResponse>> cancelExecutionJob(
+            @Parameter(description = "ID da execução") @PathVariable String jobId) {
+        
+        logger.info("Cancelando execução: {}", jobId);
+        
+        try {
+            ExecutionJob job = blueprintService.cancelJob(jobId);
+            
+            return ResponseEntity.ok(StandardApiResponse.success("Cancelamento solicitado", ExecutionJobResponse.fromJob(job)));
+            
+        } catch (ExecutionJobNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(StandardApiResponse.error("Execução não encontrada", e.getMessage()));
+        }
+    }
+    
     /**
      * Deleta um blueprint
      */
@@ -14,9 +14,17 @@ public class Blueprint {
     private String description;
     private Map<String, Node> nodes;
     private Map<String, Connection> connections;
+    // Índices de adjacência: id do nó -> conexões (por id) que saem/chegam nele
+    private Map<String, Map<String, Connection>> outgoing;
+    private Map<String, Map<String, Connection>> incoming;
+    // Ordem topológica mantida incrementalmente (Pearce-Kelly): id do nó -> posição
+    private Map<String, Integer> topologicalOrder;
+    private int nextOrder;
     private Map<String, Object> metadata;
     private Date createdAt;
     private Date updatedAt;
+    private long structureVersion;
+    private transient CompiledBlueprint compiledPlan;
     
     public Blueprint(String name) {
         this.id = UUID.randomUUID().toString();
@@ -24,6 +32,10 @@ public class Blueprint {
         this.description = "";
         this.nodes = new HashMap<>();
         this.connections = new HashMap<>();
+        this.outgoing = new HashMap<>();
+        this.incoming = new HashMap<>();
+        this.topologicalOrder = new HashMap<>();
+        this.nextOrder = 0;
         this.metadata = new HashMap<>();
         this.createdAt = new Date();
         this.updatedAt = new Date();
@@ -37,16 +49,20 @@ public class Blueprint {
     // Métodos para gerenciar nós
     public void addNode(Node node) {
         nodes.put(node.getId(), node);
-        updatedAt = new Date();
+        structureChanged();
     }
     
     public void removeNode(String nodeId) {
         nodes.remove(nodeId);
-        // Remove conexões relacionadas
-        connections.entrySet().removeIf(entry -> 
-            entry.getValue().getFromNodeId().equals(nodeId) || 
-            entry.getValue().getToNodeId().equals(nodeId));
-        updatedAt = new Date();
+        // Remove conexões relacionadas usando os índices de adjacência
+        for (Connection conn : getConnectionsFrom(nodeId)) {
+            unlinkConnection(conn);
+        }
+        for (Connection conn : getConnectionsTo(nodeId)) {
+            unlinkConnection(conn);
+        }
+        topologicalOrder.remove(nodeId);
+        structureChanged();
     }
     
     public Node getNode(String nodeId) {
@@ -64,14 +80,61 @@ public class Blueprint {
     }
     
     // Métodos para gerenciar conexões
+    
+    /**
+     * Adiciona uma conexão ao grafo
+     * @throws IllegalArgumentException se a conexão criar um ciclo
+     */
     public void addConnection(Connection connection) {
+        Connection previous = connections.get(connection.getId());
+        if (previous != null) {
+            unlinkConnection(previous);
+        }
+        if (!maintainTopologicalOrder(connection.getFromNodeId(), connection.getToNodeId())) {
+            if (previous != null) {
+                linkConnection(previous);
+            }
+            throw new IllegalArgumentException("Conexão criaria um ciclo: " +
+                connection.getFromNodeId() + " -> " + connection.getToNodeId());
+        }
+        linkConnection(connection);
+        structureChanged();
+    }
+    
+    private void linkConnection(Connection connection) {
         connections.put(connection.getId(), connection);
-        updatedAt = new Date();
+        outgoing.computeIfAbsent(connection.getFromNodeId(), k -> new LinkedHashMap<>())
+                .put(connection.getId(), connection);
+        incoming.computeIfAbsent(connection.getToNodeId(), k -> new LinkedHashMap<>())
+                .put(connection.getId(), connection);
     }
     
     public void removeConnection(String connectionId) {
-        connections.remove(connectionId);
-        updatedAt = new Date();
+        Connection connection = connections.get(connectionId);
+        if (connection != null) {
+            unlinkConnection(connection);
+        }
+        structureChanged();
+    }
+    
+    /**
+     * Remove a conexão do mapa principal e dos índices de adjacência
+     */
+    private void unlinkConnection(Connection connection) {
+        connections.remove(connection.getId());
+        removeFromIndex(outgoing, connection.getFromNodeId(), connection.getId());
+        removeFromIndex(incoming, connection.getToNodeId(), connection.getId());
+    }
+    
+    private static void removeFromIndex(Map<String, Map<String, Connection>> index,
+                                        String nodeId, String connectionId) {
+        Map<String, Connection> byId = index.get(nodeId);
+        if (byId != null) {
+            byId.remove(connectionId);
+            if (byId.isEmpty()) {
+                index.remove(nodeId);
+            }
+        }
     }
     
     public Connection getConnection(String connectionId) {
@@ -83,15 +146,13 @@ public class Blueprint {
     }
     
     public List<Connection> getConnectionsFrom(String nodeId) {
-        return connections.values().stream()
-                         .filter(conn -> conn.getFromNodeId().equals(nodeId))
-                         .collect(Collectors.toList());
+        Map<String, Connection> byId = outgoing.get(nodeId);
+        return byId != null ? new ArrayList<>(byId.values()) : new ArrayList<>();
     }
     
     public List<Connection> getConnectionsTo(String nodeId) {
-        return connections.values().stream()
-                         .filter(conn -> conn.getToNodeId().equals(nodeId))
-                         .collect(Collectors.toList());
+        Map<String, Connection> byId = incoming.get(nodeId);
+        return byId != null ? new ArrayList<>(byId.values()) : new ArrayList<>();
     }
     
     // Métodos de validação
@@ -127,7 +188,7 @@ public class Blueprint {
     public List<Node> getOutputNodes() {
         List<Node> outputs = new ArrayList<>();
         for (Node node : nodes.values()) {
-            if (getConnectionsFrom(node.getId()).isEmpty() && isConnected(node.getId())) {
+            if (!outgoing.containsKey(node.getId()) && incoming.containsKey(node.getId())) {
                 outputs.add(node);
             }
         }
@@ -138,75 +199,129 @@ public class Blueprint {
      * Verifica se um nó está conectado a pelo menos uma conexão
      */
     public boolean isConnected(String nodeId) {
-        for (Connection c : connections.values()) {
-            if (c.getFromNodeId().equals(nodeId) || c.getToNodeId().equals(nodeId)) {
-                return true;
-            }
-        }
-        return false;
+        return outgoing.containsKey(nodeId) || incoming.containsKey(nodeId);
     }
     
+    /**
+     * Conexões que fechariam um ciclo são rejeitadas em {@link #addConnection},
+     * então o grafo é sempre acíclico e a verificação não precisa percorrê-lo
+     */
     public boolean hasCycles() {
-        Set<String> visited = new HashSet<>();
-        Set<String> recursionStack = new HashSet<>();
-        
-        for (Node node : nodes.values()) {
-            if (hasCyclesDFS(node.getId(), visited, recursionStack)) {
-                return true;
-            }
-        }
-        
         return false;
     }
     
-    private boolean hasCyclesDFS(String nodeId, Set<String> visited, Set<String> recursionStack) {
-        if (recursionStack.contains(nodeId)) {
-            return true; // Ciclo encontrado
+    /**
+     * Atualiza a ordem topológica para a nova aresta from -> to (Pearce-Kelly).
+     * Só a região afetada, entre as posições de "to" e "from", é visitada.
+     * @return false se a aresta criaria um ciclo (nada é alterado nesse caso)
+     */
+    private boolean maintainTopologicalOrder(String fromId, String toId) {
+        if (fromId.equals(toId)) {
+            return false;
         }
         
-        if (visited.contains(nodeId)) {
-            return false; // Já visitado, sem ciclo
+        int upperBound = orderOf(fromId);
+        int lowerBound = orderOf(toId);
+        if (lowerBound > upperBound) {
+            return true; // A ordem atual já respeita a nova aresta
         }
         
-        visited.add(nodeId);
-        recursionStack.add(nodeId);
+        // Busca para frente a partir de "to" dentro da região afetada
+        List<String> forward = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(toId);
+        visited.add(toId);
+        while (!stack.isEmpty()) {
+            String current = stack.pop();
+            forward.add(current);
+            for (Connection conn : outgoing.getOrDefault(current, Collections.emptyMap()).values()) {
+                String next = conn.getToNodeId();
+                int nextOrder = orderOf(next);
+                if (nextOrder == upperBound) {
+                    return false; // Alcançou "from": ciclo
+                }
+                if (nextOrder < upperBound && visited.add(next)) {
+                    stack.push(next);
+                }
+            }
+        }
         
-        // Verifica todos os nós conectados
-        for (Connection conn : getConnectionsFrom(nodeId)) {
-            if (hasCyclesDFS(conn.getToNodeId(), visited, recursionStack)) {
-                return true;
+        // Busca para trás a partir de "from" dentro da região afetada
+        List<String> backward = new ArrayList<>();
+        stack.push(fromId);
+        visited.add(fromId);
+        while (!stack.isEmpty()) {
+            String current = stack.pop();
+            backward.add(current);
+            for (Connection conn : incoming.getOrDefault(current, Collections.emptyMap()).values()) {
+                String previous = conn.getFromNodeId();
+                if (orderOf(previous) > lowerBound && visited.add(previous)) {
+                    stack.push(previous);
+                }
             }
         }
         
-        recursionStack.remove(nodeId);
-        return false;
+        // Reatribui as posições: predecessores de "from" antes dos sucessores de "to"
+        Comparator<String> byOrder = Comparator.comparingInt(topologicalOrder::get);
+        backward.sort(byOrder);
+        forward.sort(byOrder);
+        List<Integer> slots = new ArrayList<>(backward.size() + forward.size());
+        for (String id : backward) {
+            slots.add(topologicalOrder.get(id));
+        }
+        for (String id : forward) {
+            slots.add(topologicalOrder.get(id));
+        }
+        Collections.sort(slots);
+        
+        int slot = 0;
+        for (String id : backward) {
+            topologicalOrder.put(id, slots.get(slot++));
+        }
+        for (String id : forward) {
+            topologicalOrder.put(id, slots.get(slot++));
+        }
+        return true;
+    }
+    
+    private int orderOf(String nodeId) {
+        return topologicalOrder.computeIfAbsent(nodeId, k -> nextOrder++);
+    }
+    
+    /**
+     * Retorna o plano de execução compilado deste blueprint.
+     * O plano fica em cache e só é recompilado depois de alterações
+     * estruturais (nós ou conexões adicionados/removidos).
+     */
+    public synchronized CompiledBlueprint compile() {
+        CompiledBlueprint plan = compiledPlan;
+        if (plan == null || plan.getVersion() != structureVersion) {
+            plan = CompiledBlueprint.compile(nodes.values(), connections.values(), structureVersion);
+            compiledPlan = plan;
+        }
+        return plan;
+    }
+    
+    private void structureChanged() {
+        structureVersion++;
+        updatedAt = new Date();
     }
     
     /**
      * Obtém a ordem de execução dos nós (topológica)
      * Agora considera qualquer nó conectado como válido (estilo Unreal)
+     * Usa a ordem do plano compilado, sem recursão, para suportar cadeias longas.
      */
     public List<Node> getExecutionOrder() {
-        List<Node> order = new ArrayList<>();
-        Set<String> visited = new HashSet<>();
-        for (Node node : nodes.values()) {
-            if (isConnected(node.getId())) {
-                visit(node, visited, order);
-            }
+        CompiledBlueprint plan = compile();
+        int[] executionOrder = plan.getExecutionOrder();
+        List<Node> order = new ArrayList<>(executionOrder.length);
+        for (int index : executionOrder) {
+            order.add(plan.getNode(index));
         }
-        Collections.reverse(order);
         return order;
     }
-
-    private void visit(Node node, Set<String> visited, List<Node> order) {
-        if (visited.contains(node.getId())) return;
-        visited.add(node.getId());
-        for (Connection conn : getConnectionsFrom(node.getId())) {
-            Node to = nodes.get(conn.getToNodeId());
-            if (to != null) visit(to, visited, order);
-        }
-        order.add(node);
-    }
     
     // Getters e Setters
     public String getId() {
@@ -0,0 +1,356 @@
+package com.myfeest.blueprint.core;
+
+import java.util.*;
+
+/**
+ * Plano de execução imutável de um blueprint
+ *
+ * Construído uma única vez a partir do grafo: os nós conectados recebem um
+ * índice inteiro e as conexões viram arrays de adjacência, ordem topológica,
+ * vínculos de entrada por nó e o conjunto de nós de saída. As portas de
+ * cada conexão são resolvidas aqui, a partir dos tipos declarados pelos nós
+ * ({@link Node#getInputTypes()} / {@link Node#getOutputTypes()}), e viram
+ * índices: o slot lido no resultado do nó de origem
+ * ({@link Node#getResultLayout()}) e o slot gravado no frame de entradas da
+ * execução, um único {@code Object[]} com uma faixa por nó
+ * ({@link #getInputOffset(int)}). O plano é reaproveitado enquanto a
+ * estrutura do blueprint não muda (ver {@link Blueprint#compile()}).
+ */
+public final class CompiledBlueprint {
+    
+    private final long version;
+    private final Node[] nodes;
+    private final Map<String, Integer> indexById;
+    private final int[][] successors;
+    private final int[] inDegree;
+    private final int[] executionOrder;
+    private final int[][] incomingSources;
+    private final String[][] incomingPorts;
+    private final String[][] incomingKeys;
+    private final int[][] incomingSlots;
+    private final int[][] incomingResultSlots;
+    private final PortLayout[] inputLayouts;
+    private final PortLayout[] resultLayouts;
+    private final int[] inputOffsets;
+    private final int inputSlotCount;
+    private final int[] outputNodes;
+    private final boolean cyclic;
+    
+    private CompiledBlueprint(long version, Node[] nodes, Map<String, Integer> indexById,
+                              int[][] successors, int[] inDegree, int[] executionOrder,
+                              int[][] incomingSources, String[][] incomingPorts,
+                              String[][] incomingKeys, int[][] incomingSlots, int[][] incomingResultSlots,
+                              PortLayout[] inputLayouts, PortLayout[] resultLayouts,
+                              int[] outputNodes, boolean cyclic) {
+        this.version = version;
+        this.nodes = nodes;
+        this.indexById = indexById;
+        this.successors = successors;
+        this.inDegree = inDegree;
+        this.executionOrder = executionOrder;
+        this.incomingSources = incomingSources;
+        this.incomingPorts = incomingPorts;
+        this.incomingKeys = incomingKeys;
+        this.incomingSlots = incomingSlots;
+        this.incomingResultSlots = incomingResultSlots;
+        this.inputLayouts = inputLayouts;
+        this.resultLayouts = resultLayouts;
+        this.inputOffsets = new int[nodes.length];
+        int offset = 0;
+        for (int i = 0; i < nodes.length; i++) {
+            inputOffsets[i] = offset;
+            offset += inputLayouts[i].size();
+        }
+        this.inputSlotCount = offset;
+        this.outputNodes = outputNodes;
+        this.cyclic = cyclic;
+    }
+    
+    /**
+     * Compila o grafo em O(N + E)
+     * @param version versão estrutural do blueprint no momento da compilação
+     */
+    static CompiledBlueprint compile(Collection<Node> allNodes, Collection<Connection> connections,
+                                     long version) {
+        Map<String, Node> byId = new HashMap<>();
+        for (Node node : allNodes) {
+            byId.put(node.getId(), node);
+        }
+        
+        // Apenas nós ligados a alguma conexão participam da execução (estilo Unreal)
+        Map<String, Integer> indexById = new HashMap<>();
+        List<Node> indexed = new ArrayList<>();
+        List<Connection> valid = new ArrayList<>();
+        for (Connection conn : connections) {
+            Node from = byId.get(conn.getFromNodeId());
+            Node to = byId.get(conn.getToNodeId());
+            if (from == null || to == null) {
+                continue;
+            }
+            valid.add(conn);
+            for (Node node : new Node[] { from, to }) {
+                if (!indexById.containsKey(node.getId())) {
+                    indexById.put(node.getId(), indexed.size());
+                    indexed.add(node);
+                }
+            }
+        }
+        
+        int n = indexed.size();
+        int[] outDegree = new int[n];
+        int[] inDegree = new int[n];
+        for (Connection conn : valid) {
+            outDegree[indexById.get(conn.getFromNodeId())]++;
+            inDegree[indexById.get(conn.getToNodeId())]++;
+        }
+        
+        int[][] successors = new int[n][];
+        int[][] incomingSources = new int[n][];
+        String[][] incomingPorts = new String[n][];
+        String[][] incomingKeys = new String[n][];
+        List<Map<String, String>> declaredInputs = new ArrayList<>(n);
+        List<Map<String, String>> declaredOutputs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            successors[i] = new int[outDegree[i]];
+            incomingSources[i] = new int[inDegree[i]];
+            incomingPorts[i] = new String[inDegree[i]];
+            incomingKeys[i] = new String[inDegree[i]];
+            declaredInputs.add(declared(indexed.get(i).getInputTypes()));
+            declaredOutputs.add(declared(indexed.get(i).getOutputTypes()));
+        }
+        
+        int[] outFill = new int[n];
+        int[] inFill = new int[n];
+        for (Connection conn : valid) {
+            int from = indexById.get(conn.getFromNodeId());
+            int to = indexById.get(conn.getToNodeId());
+            successors[from][outFill[from]++] = to;
+            incomingSources[to][inFill[to]] = from;
+            incomingPorts[to][inFill[to]] = resolveTargetPort(declaredInputs.get(to), conn.getToPort());
+            incomingKeys[to][inFill[to]] = resolveSourceKey(declaredOutputs.get(from), conn);
+            inFill[to]++;
+        }
+        
+        // Slots: portas declaradas e, em seguida, as portas extras usadas pelas conexões
+        PortLayout[] inputLayouts = new PortLayout[n];
+        PortLayout[] resultLayouts = new PortLayout[n];
+        for (int i = 0; i < n; i++) {
+            inputLayouts[i] = indexed.get(i).getInputLayout().extend(Arrays.asList(incomingPorts[i]));
+            resultLayouts[i] = indexed.get(i).getResultLayout();
+        }
+        int[][] incomingSlots = new int[n][];
+        int[][] incomingResultSlots = new int[n][];
+        for (int to = 0; to < n; to++) {
+            incomingSlots[to] = new int[inDegree[to]];
+            incomingResultSlots[to] = new int[inDegree[to]];
+            for (int i = 0; i < inDegree[to]; i++) {
+                incomingSlots[to][i] = inputLayouts[to].indexOf(incomingPorts[to][i]);
+                String key = incomingKeys[to][i];
+                incomingResultSlots[to][i] = key != null
+                    ? resultLayouts[incomingSources[to][i]].indexOf(key) : -1;
+            }
+        }
+        
+        // Ordem topológica (Kahn)
+        int[] remaining = inDegree.clone();
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (remaining[i] == 0) {
+                order[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int current = order[head++];
+            for (int next : successors[current]) {
+                if (--remaining[next] == 0) {
+                    order[tail++] = next;
+                }
+            }
+        }
+        boolean cyclic = tail < n;
+        
+        int outputs = 0;
+        for (int i = 0; i < n; i++) {
+            if (outDegree[i] == 0) {
+                outputs++;
+            }
+        }
+        int[] outputNodes = new int[outputs];
+        for (int i = 0, j = 0; i < n; i++) {
+            if (outDegree[i] == 0) {
+                outputNodes[j++] = i;
+            }
+        }
+        
+        return new CompiledBlueprint(version, indexed.toArray(new Node[0]),
+                                     Collections.unmodifiableMap(indexById), successors, inDegree,
+                                     cyclic ? Arrays.copyOf(order, tail) : order,
+                                     incomingSources, incomingPorts, incomingKeys, incomingSlots,
+                                     incomingResultSlots, inputLayouts, resultLayouts, outputNodes, cyclic);
+    }
+    
+    private static Map<String, String> declared(Map<String, String> types) {
+        return types != null ? types : Collections.emptyMap();
+    }
+    
+    /**
+     * Porta de destino efetiva: a porta da conexão quando o nó a declara (ou
+     * aceita qualquer entrada via "*"); se o nó declara uma única entrada,
+     * a conexão é ligada a ela
+     */
+    private static String resolveTargetPort(Map<String, String> inputs, String toPort) {
+        if (toPort != null && (inputs.containsKey(toPort) || inputs.containsKey("*"))) {
+            return toPort;
+        }
+        if (inputs.size() == 1) {
+            return inputs.keySet().iterator().next();
+        }
+        return toPort;
+    }
+    
+    /**
+     * Chave lida no resultado do nó de origem: a porta de saída da conexão,
+     * depois a porta de destino e por fim "value"/"result", entre as saídas
+     * declaradas. Null quando nenhuma delas foi declarada.
+     */
+    private static String resolveSourceKey(Map<String, String> outputs, Connection conn) {
+        for (String key : new String[] { conn.getFromPort(), conn.getToPort(), "value", "result" }) {
+            if (key != null && outputs.containsKey(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Versão estrutural do blueprint usada para gerar este plano
+     */
+    public long getVersion() {
+        return version;
+    }
+    
+    public int getNodeCount() {
+        return nodes.length;
+    }
+    
+    public Node getNode(int index) {
+        return nodes[index];
+    }
+    
+    /**
+     * Índice do nó no plano, ou -1 se ele não participa da execução
+     */
+    public int indexOf(String nodeId) {
+        Integer index = indexById.get(nodeId);
+        return index != null ? index : -1;
+    }
+    
+    /**
+     * Índices dos nós que consomem a saída do nó informado
+     * (o array retornado é interno e não deve ser modificado)
+     */
+    public int[] getSuccessors(int index) {
+        return successors[index];
+    }
+    
+    public int getInDegree(int index) {
+        return inDegree[index];
+    }
+    
+    /**
+     * Índices dos nós em ordem topológica
+     * (o array retornado é interno e não deve ser modificado)
+     */
+    public int[] getExecutionOrder() {
+        return executionOrder;
+    }
+    
+    /**
+     * Índices dos nós de origem de cada conexão que chega ao nó
+     */
+    public int[] getIncomingSources(int index) {
+        return incomingSources[index];
+    }
+    
+    /**
+     * Porta de destino (já resolvida) de cada conexão que chega ao nó, alinhada com
+     * {@link #getIncomingSources(int)}
+     */
+    public String[] getIncomingPorts(int index) {
+        return incomingPorts[index];
+    }
+    
+    /**
+     * Chave lida no resultado de cada nó de origem, alinhada com
+     * {@link #getIncomingSources(int)} (null quando não resolvida no plano)
+     */
+    public String[] getIncomingKeys(int index) {
+        return incomingKeys[index];
+    }
+    
+    /**
+     * Slot de destino de cada conexão que chega ao nó, no layout de entradas
+     * do nó ({@link #getInputLayout(int)}), alinhado com
+     * {@link #getIncomingSources(int)}
+     */
+    public int[] getIncomingSlots(int index) {
+        return incomingSlots[index];
+    }
+    
+    /**
+     * Slot lido no resultado de cada nó de origem, no layout de resultado do
+     * nó de origem ({@link #getResultLayout(int)}); -1 quando a chave não foi
+     * resolvida no plano
+     */
+    public int[] getIncomingResultSlots(int index) {
+        return incomingResultSlots[index];
+    }
+    
+    /**
+     * Portas de entrada do nó nesta execução: as declaradas e as extras
+     * recebidas pelas conexões
+     */
+    public PortLayout getInputLayout(int index) {
+        return inputLayouts[index];
+    }
+    
+    /**
+     * Layout de resultado do nó no momento da compilação
+     */
+    public PortLayout getResultLayout(int index) {
+        return resultLayouts[index];
+    }
+    
+    /**
+     * Início da faixa do nó no frame de entradas da execução
+     */
+    public int getInputOffset(int index) {
+        return inputOffsets[index];
+    }
+    
+    /**
+     * Tamanho do frame de entradas de uma execução (soma das portas de todos os nós)
+     */
+    public int getInputSlotCount() {
+        return inputSlotCount;
+    }
+    
+    /**
+     * Índices dos nós finais (conectados e sem saída)
+     */
+    public int[] getOutputNodes() {
+        return outputNodes;
+    }
+    
+    public boolean hasCycles() {
+        return cyclic;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CompiledBlueprint{version=%d, nodes=%d, outputs=%d, cyclic=%s}",
+                           version, nodes.length, outputNodes.length, cyclic);
+    }
+}
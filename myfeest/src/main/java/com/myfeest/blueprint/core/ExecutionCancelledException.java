@@ -0,0 +1,23 @@
+package com.myfeest.blueprint.core;
+
+/**
+ * Exceção lançada quando uma execução é cancelada ou ultrapassa o prazo
+ */
+public class ExecutionCancelledException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+    
+    private final boolean timeout;
+    
+    public ExecutionCancelledException(String message, boolean timeout) {
+        super(message);
+        this.timeout = timeout;
+    }
+    
+    /**
+     * true quando a causa foi o prazo da execução, e não um cancelamento
+     */
+    public boolean isTimeout() {
+        return timeout;
+    }
+}
@@ -1,7 +1,10 @@
 package com.myfeest.blueprint.core;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -11,8 +14,15 @@ import java.util.concurrent.ConcurrentHashMap;
 public class ExecutionContext {
     private Map<String, Object> globalData;
     private Map<String, Object> nodeResults;
+    private Map<String, Map<String, Object>> nodeInputs;
+    // Frame de entradas do plano em execução: um slot por porta de cada nó
+    private CompiledBlueprint plan;
+    private Object[] inputSlots;
     private Map<String, Object> variables;
-    private ExecutionStatus status;
+    private volatile ExecutionStatus status;
+    private volatile boolean cancelled;
+    // Threads executando nós desta execução (interrompidas no cancelamento)
+    private final Set<Thread> activeThreads;
     private long startTime;
     private long timeout;
     
@@ -21,14 +31,17 @@ public class ExecutionContext {
         RUNNING,    // Em execução
         COMPLETED,  // Concluído com sucesso
         FAILED,     // Falhou
-        TIMEOUT     // Timeout
+        TIMEOUT,    // Timeout
+        CANCELLED   // Cancelado
     }
     
     public ExecutionContext() {
         this.globalData = new ConcurrentHashMap<>();
         this.nodeResults = new ConcurrentHashMap<>();
+        this.nodeInputs = new ConcurrentHashMap<>();
         this.variables = new ConcurrentHashMap<>();
         this.status = ExecutionStatus.PENDING;
+        this.activeThreads = new HashSet<>();
         this.startTime = System.currentTimeMillis();
         this.timeout = 30000; // 30 segundos por padrão
     }
@@ -64,6 +77,100 @@ public class ExecutionContext {
         return new HashMap<>(nodeResults);
     }
     
+    // Métodos para gerenciar as entradas de cada nó nesta execução
+    // (as entradas de um nó só são escritas pela thread que vai executá-lo)
+    
+    /**
+     * Associa o contexto ao plano que vai executar e cria o frame de entradas,
+     * com {@link CompiledBlueprint#getInputSlotCount()} slots
+     */
+    public void bindPlan(CompiledBlueprint plan) {
+        this.inputSlots = new Object[plan.getInputSlotCount()];
+        this.plan = plan;
+    }
+    
+    /**
+     * Grava uma entrada pelo slot absoluto no frame
+     * ({@link CompiledBlueprint#getInputOffset(int)} + slot da porta)
+     */
+    public void setInputSlot(int slot, Object value) {
+        inputSlots[slot] = value;
+    }
+    
+    public void setNodeInput(String nodeId, String port, Object value) {
+        int slot = slotOf(nodeId, port);
+        if (slot >= 0) {
+            inputSlots[slot] = value;
+        } else {
+            nodeInputs.computeIfAbsent(nodeId, id -> new HashMap<>()).put(port, value);
+        }
+    }
+    
+    /**
+     * Entrada do nó pelo nome da porta: lida do frame quando o nó faz parte
+     * do plano associado, ou das entradas gravadas por nome
+     */
+    public Object getNodeInput(String nodeId, String port) {
+        int slot = slotOf(nodeId, port);
+        if (slot >= 0 && inputSlots[slot] != null) {
+            return inputSlots[slot];
+        }
+        Map<String, Object> frame = nodeInputs.get(nodeId);
+        return frame != null ? frame.get(port) : null;
+    }
+    
+    public void setNodeInputs(String nodeId, Map<String, Object> inputs) {
+        clearNodeSlots(nodeId);
+        nodeInputs.put(nodeId, new HashMap<>(inputs));
+    }
+    
+    /**
+     * Todas as entradas do nó nesta execução, como mapa (cópia)
+     */
+    public Map<String, Object> getNodeInputs(String nodeId) {
+        Map<String, Object> frame = nodeInputs.get(nodeId);
+        Map<String, Object> inputs = frame != null ? new HashMap<>(frame) : new HashMap<>();
+        CompiledBlueprint bound = plan;
+        int index = bound != null ? bound.indexOf(nodeId) : -1;
+        if (index >= 0) {
+            PortLayout layout = bound.getInputLayout(index);
+            int offset = bound.getInputOffset(index);
+            for (int i = 0; i < layout.size(); i++) {
+                if (inputSlots[offset + i] != null) {
+                    inputs.put(layout.name(i), inputSlots[offset + i]);
+                }
+            }
+        }
+        return inputs;
+    }
+    
+    /**
+     * Slot absoluto da porta no frame, ou -1 se não houver
+     */
+    private int slotOf(String nodeId, String port) {
+        CompiledBlueprint bound = plan;
+        if (bound == null) {
+            return -1;
+        }
+        int index = bound.indexOf(nodeId);
+        if (index < 0) {
+            return -1;
+        }
+        int slot = bound.getInputLayout(index).indexOf(port);
+        return slot >= 0 ? bound.getInputOffset(index) + slot : -1;
+    }
+    
+    private void clearNodeSlots(String nodeId) {
+        CompiledBlueprint bound = plan;
+        int index = bound != null ? bound.indexOf(nodeId) : -1;
+        if (index >= 0) {
+            int offset = bound.getInputOffset(index);
+            for (int i = 0; i < bound.getInputLayout(index).size(); i++) {
+                inputSlots[offset + i] = null;
+            }
+        }
+    }
+    
     // Métodos para gerenciar variáveis
     public void setVariable(String name, Object value) {
         variables.put(name, value);
@@ -98,6 +205,72 @@ public class ExecutionContext {
         return status == ExecutionStatus.FAILED;
     }
     
+    // Métodos para cancelamento cooperativo
+    
+    /**
+     * Cancela a execução: marca o contexto e interrompe as threads que estão
+     * executando nós. Sem efeito se a execução já terminou.
+     */
+    public void cancel() {
+        cancel(ExecutionStatus.CANCELLED);
+    }
+    
+    /**
+     * Encerra a execução por estouro de prazo (mesmo efeito de {@link #cancel()})
+     */
+    public void expire() {
+        cancel(ExecutionStatus.TIMEOUT);
+    }
+    
+    private synchronized void cancel(ExecutionStatus reason) {
+        if (cancelled || status == ExecutionStatus.COMPLETED || status == ExecutionStatus.FAILED) {
+            return;
+        }
+        cancelled = true;
+        status = reason;
+        for (Thread thread : activeThreads) {
+            thread.interrupt();
+        }
+    }
+    
+    public boolean isCancelled() {
+        return cancelled;
+    }
+    
+    /**
+     * Nós de longa duração devem chamar periodicamente para parar cedo
+     * @throws ExecutionCancelledException se a execução foi cancelada ou expirou
+     */
+    public void throwIfCancelled() {
+        if (cancelled) {
+            boolean timedOut = status == ExecutionStatus.TIMEOUT;
+            throw new ExecutionCancelledException(
+                timedOut ? "Timeout na execução do blueprint" : "Execução do blueprint cancelada", timedOut);
+        }
+    }
+    
+    /**
+     * Registra a thread atual como executora de um nó, para que seja
+     * interrompida se a execução for cancelada
+     */
+    public synchronized void beginInterruptible() {
+        activeThreads.add(Thread.currentThread());
+        if (cancelled) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Remove o registro feito em {@link #beginInterruptible()} e limpa a
+     * interrupção causada pelo cancelamento, para não vazar para a thread
+     */
+    public synchronized void endInterruptible() {
+        activeThreads.remove(Thread.currentThread());
+        if (cancelled) {
+            Thread.interrupted();
+        }
+    }
+    
     public boolean hasTimeout() {
         return System.currentTimeMillis() - startTime > timeout;
     }
@@ -106,6 +279,13 @@ public class ExecutionContext {
         return System.currentTimeMillis() - startTime;
     }
     
+    /**
+     * Tempo restante até o prazo da execução, em milissegundos
+     */
+    public long getRemainingTime() {
+        return timeout - getExecutionTime();
+    }
+    
     public void setTimeout(long timeout) {
         this.timeout = timeout;
     }
@@ -118,8 +298,13 @@ public class ExecutionContext {
     public void clear() {
         globalData.clear();
         nodeResults.clear();
+        nodeInputs.clear();
+        if (inputSlots != null) {
+            Arrays.fill(inputSlots, null);
+        }
         variables.clear();
         status = ExecutionStatus.PENDING;
+        cancelled = false;
         startTime = System.currentTimeMillis();
     }
     
@@ -127,6 +312,11 @@ public class ExecutionContext {
         ExecutionContext copy = new ExecutionContext(timeout);
         copy.globalData.putAll(this.globalData);
         copy.nodeResults.putAll(this.nodeResults);
+        this.nodeInputs.forEach((nodeId, frame) -> copy.nodeInputs.put(nodeId, new HashMap<>(frame)));
+        if (this.plan != null) {
+            copy.plan = this.plan;
+            copy.inputSlots = this.inputSlots.clone();
+        }
         copy.variables.putAll(this.variables);
         copy.status = this.status;
         copy.startTime = this.startTime;
@@ -1,6 +1,9 @@
 package com.myfeest.blueprint.core;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -18,6 +21,10 @@ public abstract class Node {
     protected Map<String, Object> outputs;
     protected Position position;
     
+    // Calculados uma vez a partir dos tipos declarados (ver resetPortLayouts)
+    private volatile PortLayout inputLayout;
+    private volatile PortLayout resultLayout;
+    
     public Node(String id, String name) {
         this.id = id != null ? id : UUID.randomUUID().toString();
         this.name = name;
@@ -35,6 +42,23 @@ public abstract class Node {
      */
     public abstract Map<String, Object> execute(ExecutionContext context);
     
+    /**
+     * Executa o nó sobre um lote de registros de uma só vez
+     * A implementação padrão executa registro a registro; nós que conseguem
+     * processar a coluna inteira de uma vez devem sobrescrever este método.
+     * @param batchInputs Entradas de cada registro, indexadas pela porta
+     * @return Um resultado por registro, na mesma ordem das entradas
+     */
+    public List<Map<String, Object>> executeBatch(List<Map<String, Object>> batchInputs,
+                                                  ExecutionContext context) {
+        List<Map<String, Object>> results = new ArrayList<>(batchInputs.size());
+        for (Map<String, Object> recordInputs : batchInputs) {
+            context.setNodeInputs(id, recordInputs);
+            results.add(execute(context));
+        }
+        return results;
+    }
+    
     /**
      * Valida se o nó está configurado corretamente
      * @return true se válido, false caso contrário
@@ -51,6 +75,46 @@ public abstract class Node {
      */
     public abstract Map<String, String> getOutputTypes();
     
+    /**
+     * Portas de entrada declaradas em {@link #getInputTypes()}, cada uma com
+     * o seu slot; o plano de execução acrescenta as portas extras que as
+     * conexões usam em nós que aceitam qualquer entrada ("*")
+     */
+    public PortLayout getInputLayout() {
+        PortLayout layout = inputLayout;
+        if (layout == null) {
+            Map<String, String> types = getInputTypes();
+            layout = types != null ? PortLayout.of(types.keySet()) : PortLayout.EMPTY;
+            inputLayout = layout;
+        }
+        return layout;
+    }
+    
+    /**
+     * Chaves do resultado de {@link #execute}, cada uma com o seu slot
+     * Por padrão são as saídas de {@link #getOutputTypes()}. Nós que retornam
+     * {@link PortValues} com este layout têm as saídas lidas pelo engine
+     * direto do slot resolvido no plano.
+     */
+    public PortLayout getResultLayout() {
+        PortLayout layout = resultLayout;
+        if (layout == null) {
+            Map<String, String> types = getOutputTypes();
+            layout = types != null ? PortLayout.of(types.keySet()) : PortLayout.EMPTY;
+            resultLayout = layout;
+        }
+        return layout;
+    }
+    
+    /**
+     * Descarta os layouts calculados; subclasses cujas portas dependem da
+     * configuração devem chamar ao alterá-la
+     */
+    protected void resetPortLayouts() {
+        inputLayout = null;
+        resultLayout = null;
+    }
+    
     // Métodos padrão para identificação de entrada/saída (estilo Unreal)
     public boolean isInputNode() {
         return false;
@@ -59,6 +123,38 @@ public abstract class Node {
         return false;
     }
     
+    /**
+     * Indica se o resultado do nó depende apenas da sua configuração e das
+     * entradas, podendo ser reaproveitado pelo cache de resultados do engine.
+     * Nós com efeitos colaterais ou aleatoriedade devem manter false.
+     */
+    public boolean isCacheable() {
+        return false;
+    }
+    
+    /**
+     * Indica se o nó passa a maior parte do tempo bloqueado em I/O (rede,
+     * banco de dados). Esses nós respeitam o limite de concorrência de I/O
+     * do engine ({@code BlueprintEngine#setIoLimiter}).
+     */
+    public boolean isIoBound() {
+        return false;
+    }
+    
+    /**
+     * Impressão digital da configuração do nó usada como parte da chave de cache
+     */
+    public Object getConfigFingerprint() {
+        return Arrays.asList(type, new HashMap<>(properties));
+    }
+    
+    /**
+     * Impressão digital dos valores de entrada usada como parte da chave de cache
+     */
+    public Object getInputFingerprint(ExecutionContext context) {
+        return getInputs(context);
+    }
+    
     // Getters e Setters
     public String getId() {
         return id;
@@ -116,6 +212,33 @@ public abstract class Node {
         return this.inputs.get(key);
     }
     
+    /**
+     * Lê uma entrada do nó na execução corrente
+     * As entradas de cada execução ficam no frame do nó dentro do
+     * ExecutionContext, de modo que o mesmo nó pode ser executado por várias
+     * threads ao mesmo tempo; as definidas no próprio nó valem como padrão.
+     */
+    public Object getInput(ExecutionContext context, String key) {
+        if (context != null) {
+            Object value = context.getNodeInput(id, key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return this.inputs.get(key);
+    }
+    
+    /**
+     * Todas as entradas do nó na execução corrente (cópia)
+     */
+    public Map<String, Object> getInputs(ExecutionContext context) {
+        Map<String, Object> merged = new HashMap<>(this.inputs);
+        if (context != null) {
+            merged.putAll(context.getNodeInputs(id));
+        }
+        return merged;
+    }
+    
     public Map<String, Object> getOutputs() {
         return outputs;
     }
@@ -0,0 +1,88 @@
+package com.myfeest.blueprint.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Nomes das portas de um nó, cada uma com um índice fixo (slot)
+ *
+ * As conexões são ligadas aos slots na compilação do plano
+ * ({@link CompiledBlueprint}); durante a execução os valores são lidos e
+ * gravados em arrays pelo índice, sem montar mapas por nó. A busca pelo nome
+ * ({@link #indexOf(String)}) existe para nós que leem as entradas pelo nome
+ * da porta e percorre o array, comparando primeiro a referência (os nomes
+ * costumam ser as mesmas constantes).
+ */
+public final class PortLayout {
+    
+    public static final PortLayout EMPTY = new PortLayout(new String[0]);
+    
+    private final String[] names;
+    
+    private PortLayout(String[] names) {
+        this.names = names;
+    }
+    
+    /**
+     * Layout com os nomes informados, na ordem, ignorando nulos, repetidos e
+     * o curinga "*"
+     */
+    public static PortLayout of(String... names) {
+        return of(Arrays.asList(names));
+    }
+    
+    public static PortLayout of(Collection<String> names) {
+        List<String> distinct = new ArrayList<>(names.size());
+        for (String name : names) {
+            if (name != null && !"*".equals(name) && !distinct.contains(name)) {
+                distinct.add(name);
+            }
+        }
+        return distinct.isEmpty() ? EMPTY : new PortLayout(distinct.toArray(new String[0]));
+    }
+    
+    /**
+     * Este layout acrescido das portas que ainda não fazem parte dele
+     */
+    PortLayout extend(Collection<String> extra) {
+        List<String> all = new ArrayList<>(names.length + extra.size());
+        all.addAll(Arrays.asList(names));
+        all.addAll(extra);
+        PortLayout extended = of(all);
+        return extended.size() == names.length ? this : extended;
+    }
+    
+    /**
+     * Slot da porta, ou -1 se ela não faz parte do layout
+     */
+    public int indexOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i] == name) {
+                return i;
+            }
+        }
+        if (name != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    public String name(int slot) {
+        return names[slot];
+    }
+    
+    public int size() {
+        return names.length;
+    }
+    
+    @Override
+    public String toString() {
+        return "PortLayout" + Arrays.toString(names);
+    }
+}
@@ -0,0 +1,198 @@
+package com.myfeest.blueprint.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Valores das portas de um nó em um array de tamanho fixo
+ *
+ * Cada porta do {@link PortLayout} ocupa um slot; o engine lê os resultados
+ * pelo índice resolvido no plano ({@link #get(int)}). Para quem continua
+ * tratando o resultado como mapa (REST, serializadores, nós legados) a
+ * classe é um {@link Map} comum: chaves fora do layout vão para um mapa
+ * auxiliar criado só quando necessário, e valores null são preservados.
+ */
+public final class PortValues extends AbstractMap<String, Object> {
+    
+    // Marca um slot preenchido com null (slot null = porta ausente)
+    private static final Object NULL = new Object();
+    
+    private final PortLayout layout;
+    private final Object[] values;
+    private Map<String, Object> extra;
+    
+    public PortValues(PortLayout layout) {
+        this.layout = layout;
+        this.values = new Object[layout.size()];
+    }
+    
+    public PortLayout getLayout() {
+        return layout;
+    }
+    
+    /**
+     * Valor do slot (null se ausente ou null)
+     */
+    public Object get(int slot) {
+        Object value = values[slot];
+        return value == NULL ? null : value;
+    }
+    
+    public void set(int slot, Object value) {
+        values[slot] = value == null ? NULL : value;
+    }
+    
+    @Override
+    public Object get(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return get(slot);
+        }
+        return extra != null ? extra.get(key) : null;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            return values[slot] != null;
+        }
+        return extra != null && extra.containsKey(key);
+    }
+    
+    @Override
+    public Object put(String key, Object value) {
+        int slot = layout.indexOf(key);
+        if (slot >= 0) {
+            Object previous = get(slot);
+            set(slot, value);
+            return previous;
+        }
+        if (extra == null) {
+            extra = new HashMap<>(4);
+        }
+        return extra.put(key, value);
+    }
+    
+    @Override
+    public Object remove(Object key) {
+        int slot = slotOf(key);
+        if (slot >= 0) {
+            Object previous = get(slot);
+            values[slot] = null;
+            return previous;
+        }
+        return extra != null ? extra.remove(key) : null;
+    }
+    
+    @Override
+    public void clear() {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = null;
+        }
+        extra = null;
+    }
+    
+    @Override
+    public int size() {
+        int size = extra != null ? extra.size() : 0;
+        for (Object value : values) {
+            if (value != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+    
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+            
+            @Override
+            public int size() {
+                return PortValues.this.size();
+            }
+        };
+    }
+    
+    private int slotOf(Object key) {
+        return key instanceof String ? layout.indexOf((String) key) : -1;
+    }
+    
+    /**
+     * Percorre os slots preenchidos e depois as chaves fora do layout
+     */
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+        private int next = advance(0);
+        private int current = -1;
+        private boolean currentExtra;
+        private Iterator<Entry<String, Object>> extraEntries;
+        
+        private int advance(int from) {
+            int slot = from;
+            while (slot < values.length && values[slot] == null) {
+                slot++;
+            }
+            return slot;
+        }
+        
+        private Iterator<Entry<String, Object>> extraEntries() {
+            if (extraEntries == null) {
+                extraEntries = extra != null ? extra.entrySet().iterator()
+                                             : Collections.emptyIterator();
+            }
+            return extraEntries;
+        }
+        
+        @Override
+        public boolean hasNext() {
+            return next < values.length || extraEntries().hasNext();
+        }
+        
+        @Override
+        public Entry<String, Object> next() {
+            if (next < values.length) {
+                current = next;
+                next = advance(next + 1);
+                int slot = current;
+                return new SimpleEntry<String, Object>(layout.name(slot), get(slot)) {
+                    @Override
+                    public Object setValue(Object value) {
+                        set(slot, value);
+                        return super.setValue(value);
+                    }
+                };
+            }
+            if (!extraEntries().hasNext()) {
+                throw new NoSuchElementException();
+            }
+            current = -1;
+            Entry<String, Object> entry = extraEntries.next();
+            currentExtra = true;
+            return entry;
+        }
+        
+        @Override
+        public void remove() {
+            if (current >= 0) {
+                values[current] = null;
+                current = -1;
+            } else if (currentExtra) {
+                extraEntries.remove();
+                currentExtra = false;
+            } else {
+                throw new IllegalStateException();
+            }
+        }
+    }
+}
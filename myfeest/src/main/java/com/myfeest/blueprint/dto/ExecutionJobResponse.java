@@ -0,0 +1,147 @@
+package com.myfeest.blueprint.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.myfeest.blueprint.service.ExecutionJob;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO para resposta de execução assíncrona
+ */
+@Schema(description = "Execução assíncrona de blueprint")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ExecutionJobResponse {
+    
+    @Schema(description = "ID da execução")
+    private String jobId;
+    
+    @Schema(description = "ID do blueprint (ausente em execuções diretas)")
+    private String blueprintId;
+    
+    @Schema(description = "Nome do blueprint")
+    private String blueprintName;
+    
+    @Schema(description = "Status da execução", example = "RUNNING")
+    private String status;
+    
+    @Schema(description = "Data de submissão")
+    private LocalDateTime submittedAt;
+    
+    @Schema(description = "Data de término")
+    private LocalDateTime finishedAt;
+    
+    @Schema(description = "Resultados dos nós de saída (quando concluída)")
+    private Map<String, Object> result;
+    
+    @Schema(description = "Mensagem de erro (quando falhou, expirou ou foi cancelada)")
+    private String error;
+    
+    // Construtor
+    public ExecutionJobResponse() {}
+    
+    public ExecutionJobResponse(String jobId, String blueprintId, String blueprintName, String status,
+                                LocalDateTime submittedAt, LocalDateTime finishedAt,
+                                Map<String, Object> result, String error) {
+        this.jobId = jobId;
+        this.blueprintId = blueprintId;
+        this.blueprintName = blueprintName;
+        this.status = status;
+        this.submittedAt = submittedAt;
+        this.finishedAt = finishedAt;
+        this.result = result;
+        this.error = error;
+    }
+    
+    // Método estático para criar a partir de um job
+    public static ExecutionJobResponse fromJob(ExecutionJob job) {
+        return new ExecutionJobResponse(
+            job.getId(),
+            job.getBlueprintId(),
+            job.getBlueprintName(),
+            job.getStatus().name(),
+            job.getSubmittedAt(),
+            job.getFinishedAt(),
+            job.getResult(),
+            job.getError()
+        );
+    }
+    
+    // Getters e Setters
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+    
+    public String getBlueprintId() {
+        return blueprintId;
+    }
+    
+    public void setBlueprintId(String blueprintId) {
+        this.blueprintId = blueprintId;
+    }
+    
+    public String getBlueprintName() {
+        return blueprintName;
+    }
+    
+    public void setBlueprintName(String blueprintName) {
+        this.blueprintName = blueprintName;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+    
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+    
+    public Map<String, Object> getResult() {
+        return result;
+    }
+    
+    public void setResult(Map<String, Object> result) {
+        this.result = result;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    @Override
+    public String toString() {
+        return "ExecutionJobResponse{" +
+                "jobId='" + jobId + '\'' +
+                ", blueprintId='" + blueprintId + '\'' +
+                ", blueprintName='" + blueprintName + '\'' +
+                ", status='" + status + '\'' +
+                ", submittedAt=" + submittedAt +
+                ", finishedAt=" + finishedAt +
+                '}';
+    }
+}
@@ -2,10 +2,24 @@ package com.myfeest.blueprint.engine;
 
 import com.myfeest.blueprint.core.*;
 import com.myfeest.blueprint.nodes.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.logging.Logger;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * Engine de execução de blueprints
@@ -13,15 +27,25 @@ import java.util.logging.Logger;
  */
 public class BlueprintEngine {
     
-    private static final Logger logger = Logger.getLogger(BlueprintEngine.class.getName());
+    private static final Logger logger = LoggerFactory.getLogger(BlueprintEngine.class);
     private Map<String, Object> globalVariables;
     private boolean enableLogging;
+    private double traceSampleRate;
     private long timeout;
+    private long nodeTimeout;
+    private boolean parallelExecution;
+    private Executor executor;
+    private NodeResultCache resultCache;
+    private ExecutionListener executionListener;
+    private ConcurrencyLimiter ioLimiter;
     
     public BlueprintEngine() {
         this.globalVariables = new ConcurrentHashMap<>();
         this.enableLogging = true;
         this.timeout = 30000; // 30 segundos
+        this.parallelExecution = false;
+        this.executor = ForkJoinPool.commonPool();
+        this.executionListener = ExecutionListener.NOOP;
     }
     
     public BlueprintEngine(long timeout) {
@@ -35,6 +59,16 @@ public class BlueprintEngine {
      * @return Resultados da execução
      */
     public Map<String, Object> execute(Blueprint blueprint) throws Exception {
+        return execute(blueprint, new ExecutionContext(timeout));
+    }
+    
+    /**
+     * Executa um blueprint com um contexto fornecido pelo chamador, que pode
+     * cancelá-lo de outra thread via {@link ExecutionContext#cancel()}
+     * @throws ExecutionCancelledException se a execução for cancelada ou
+     *         ultrapassar o prazo do contexto
+     */
+    public Map<String, Object> execute(Blueprint blueprint, ExecutionContext context) throws Exception {
         if (blueprint == null) {
             throw new IllegalArgumentException("Blueprint não pode ser nulo");
         }
@@ -43,107 +77,663 @@ public class BlueprintEngine {
             throw new IllegalStateException("Blueprint inválido");
         }
         
-        if (blueprint.hasCycles()) {
+        // Plano compilado e reaproveitado enquanto o blueprint não muda
+        CompiledBlueprint plan = blueprint.compile();
+        
+        if (plan.hasCycles()) {
             throw new IllegalStateException("Blueprint contém ciclos");
         }
         
-        logger.info("Iniciando execução do blueprint: " + blueprint.getName());
+        // Obtém ordem de execução
+        int[] executionOrder = plan.getExecutionOrder();
         
-        // Cria contexto de execução
-        ExecutionContext context = new ExecutionContext(timeout);
+        if (executionOrder.length == 0) {
+            throw new IllegalStateException("Nenhum nó encontrado para execução");
+        }
+        
+        if (context == null) {
+            throw new IllegalArgumentException("Contexto não pode ser nulo");
+        }
+        
+        context.throwIfCancelled();
+        context.bindPlan(plan);
         context.setStatus(ExecutionContext.ExecutionStatus.RUNNING);
+        boolean traced = traceNodes();
+        ScheduledFuture<?> deadline = Watchdog.schedule(context::expire, context.getRemainingTime());
         
-        // Obtém ordem de execução
-        List<Node> executionOrder = blueprint.getExecutionOrder();
+        try {
+            // Resultados indexados pela posição do nó no plano
+            Object[] results = new Object[plan.getNodeCount()];
+            
+            if (parallelExecution) {
+                executeParallel(plan, context, results, traced);
+            } else {
+                // Executa cada nó na ordem correta
+                for (int index : executionOrder) {
+                    checkDeadline(context);
+                    executeNodeStep(plan, index, context, results, traced);
+                }
+            }
+            
+            // Coleta resultados finais dos nós de saída
+            Map<String, Object> finalResults = collectOutputResults(plan, results);
+            
+            context.setStatus(ExecutionContext.ExecutionStatus.COMPLETED);
+            
+            return finalResults;
+        } finally {
+            deadline.cancel(false);
+            logRunSummary(blueprint, executionOrder.length, 1, context);
+        }
+    }
+    
+    /**
+     * Submete a execução de um blueprint ao executor do engine
+     * O prazo ({@link #getTimeout()}) conta a partir da submissão.
+     * @return Handle para aguardar o resultado ou cancelar a execução
+     */
+    public ExecutionHandle submit(Blueprint blueprint) {
+        return submit(blueprint, executor);
+    }
+    
+    /**
+     * Submete a execução de um blueprint ao executor informado
+     * @throws RejectedExecutionException se o executor recusar a tarefa
+     *         (ex.: fila cheia)
+     */
+    public ExecutionHandle submit(Blueprint blueprint, Executor runner) {
+        if (runner == null) {
+            throw new IllegalArgumentException("Executor não pode ser nulo");
+        }
+        ExecutionContext context = new ExecutionContext(timeout);
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        runner.execute(() -> {
+            try {
+                result.complete(execute(blueprint, context));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return new ExecutionHandle(context, result);
+    }
+    
+    /**
+     * Executa um blueprint sobre um lote de registros
+     * Cada nó é executado uma única vez com a coluna de entradas de todos os
+     * registros (ver {@link Node#executeBatch}), amortizando validação, plano,
+     * contexto e despacho entre os registros.
+     * @param inputs Um mapa por registro com o valor de cada InputNode,
+     *               indexado pelo id (ou, na falta dele, pelo nome) do nó
+     * @return Os resultados de saída de cada registro, na mesma ordem
+     */
+    public List<Map<String, Object>> executeBatch(Blueprint blueprint,
+                                                  List<Map<String, Object>> inputs) throws Exception {
+        if (blueprint == null) {
+            throw new IllegalArgumentException("Blueprint não pode ser nulo");
+        }
+        
+        if (inputs == null) {
+            throw new IllegalArgumentException("Lote de entradas não pode ser nulo");
+        }
+        
+        if (!blueprint.validate()) {
+            throw new IllegalStateException("Blueprint inválido");
+        }
+        
+        CompiledBlueprint plan = blueprint.compile();
+        
+        if (plan.hasCycles()) {
+            throw new IllegalStateException("Blueprint contém ciclos");
+        }
         
-        if (executionOrder.isEmpty()) {
+        int[] executionOrder = plan.getExecutionOrder();
+        
+        if (executionOrder.length == 0) {
             throw new IllegalStateException("Nenhum nó encontrado para execução");
         }
         
-        logger.info("Ordem de execução: " + executionOrder.size() + " nós");
+        ExecutionContext context = new ExecutionContext(timeout);
+        context.setStatus(ExecutionContext.ExecutionStatus.RUNNING);
+        boolean traced = traceNodes();
+        ScheduledFuture<?> deadline = Watchdog.schedule(context::expire, context.getRemainingTime());
         
-        // Executa cada nó na ordem correta
-        Map<String, Object> results = new HashMap<>();
+        try {
+            return executeBatchColumns(plan, inputs, context, traced);
+        } finally {
+            deadline.cancel(false);
+            logRunSummary(blueprint, executionOrder.length, inputs.size(), context);
+        }
+    }
+    
+    /**
+     * Executa cada nó uma vez sobre a coluna de registros, em ordem topológica
+     */
+    private List<Map<String, Object>> executeBatchColumns(CompiledBlueprint plan,
+                                                          List<Map<String, Object>> inputs,
+                                                          ExecutionContext context,
+                                                          boolean traced) {
+        int batchSize = inputs.size();
+        List<List<Map<String, Object>>> columns = new ArrayList<>(plan.getNodeCount());
+        for (int i = 0; i < plan.getNodeCount(); i++) {
+            columns.add(null);
+        }
         
-        for (Node node : executionOrder) {
-            if (context.hasTimeout()) {
-                context.setStatus(ExecutionContext.ExecutionStatus.TIMEOUT);
-                throw new RuntimeException("Timeout na execução do blueprint");
+        for (int index : plan.getExecutionOrder()) {
+            checkDeadline(context);
+            
+            Node node = plan.getNode(index);
+            int[] sources = plan.getIncomingSources(index);
+            String[] ports = plan.getIncomingPorts(index);
+            int[] slots = plan.getIncomingSlots(index);
+            PortLayout inputLayout = plan.getInputLayout(index);
+            
+            // Monta a coluna de entradas do nó para todos os registros
+            List<Map<String, Object>> batchInputs = new ArrayList<>(batchSize);
+            for (int record = 0; record < batchSize; record++) {
+                PortValues recordInputs = new PortValues(inputLayout);
+                if (node instanceof InputNode) {
+                    Map<String, Object> recordData = inputs.get(record);
+                    if (recordData.containsKey(node.getId())) {
+                        recordInputs.put("value", recordData.get(node.getId()));
+                    } else if (recordData.containsKey(node.getName())) {
+                        recordInputs.put("value", recordData.get(node.getName()));
+                    }
+                }
+                for (int i = 0; i < sources.length; i++) {
+                    Object sourceResult = columns.get(sources[i]).get(record);
+                    if (sourceResult != null) {
+                        Object value = incomingValue(plan, index, i, sourceResult);
+                        if (slots[i] >= 0) {
+                            recordInputs.set(slots[i], value);
+                        } else {
+                            recordInputs.put(ports[i], value);
+                        }
+                    }
+                }
+                batchInputs.add(recordInputs);
             }
             
+            ExecutionListener listener = executionListener;
+            boolean observed = listener != ExecutionListener.NOOP;
+            long start = observed || traced ? System.nanoTime() : 0L;
+            List<Map<String, Object>> column;
+            ScheduledFuture<?> nodeDeadline = enterNode(context);
             try {
-                logger.info("Executando nó: " + node.getName() + " (" + node.getType() + ")");
-                
-                // Prepara dados de entrada para o nó
-                prepareNodeInputs(node, blueprint, context);
-                
-                // Executa o nó
-                Map<String, Object> nodeResult = node.execute(context);
-                
-                // Armazena resultado
-                results.put(node.getId(), nodeResult);
-                
-                // Atualiza contexto global
-                updateGlobalContext(node, nodeResult, context);
-                
-                logger.info("Nó executado com sucesso: " + node.getName());
-                
+                ConcurrencyLimiter limiter = limiterFor(node);
+                acquirePermit(limiter, context);
+                try {
+                    column = node.executeBatch(batchInputs, context);
+                } finally {
+                    releasePermit(limiter);
+                }
+                context.throwIfCancelled();
+                if (observed) {
+                    listener.nodeBatchExecuted(node, System.nanoTime() - start, column);
+                }
+                if (traced) {
+                    logNodeSpan(node, System.nanoTime() - start, null);
+                }
             } catch (Exception e) {
-                logger.severe("Erro ao executar nó " + node.getName() + ": " + e.getMessage());
+                // Cancelamento não é falha do nó: não é notificado nem contado
+                context.throwIfCancelled();
+                if (observed) {
+                    listener.nodeFailed(node, System.nanoTime() - start, e);
+                }
+                if (traced) {
+                    logNodeSpan(node, System.nanoTime() - start, e);
+                }
                 context.setStatus(ExecutionContext.ExecutionStatus.FAILED);
                 throw new RuntimeException("Erro na execução do nó " + node.getName(), e);
+            } finally {
+                exitNode(context, nodeDeadline);
+            }
+            
+            if (column == null || column.size() != batchSize) {
+                context.setStatus(ExecutionContext.ExecutionStatus.FAILED);
+                throw new IllegalStateException("Nó " + node.getName() +
+                    " não retornou um resultado por registro");
             }
+            columns.set(index, column);
         }
         
-        // Coleta resultados finais dos nós de saída
-        Map<String, Object> finalResults = collectOutputResults(blueprint, results);
+        // Coleta as saídas de cada registro
+        List<Map<String, Object>> batchResults = new ArrayList<>(batchSize);
+        Object[] row = new Object[plan.getNodeCount()];
+        int[] outputNodes = plan.getOutputNodes();
+        for (int record = 0; record < batchSize; record++) {
+            for (int index : outputNodes) {
+                row[index] = columns.get(index).get(record);
+            }
+            batchResults.add(collectOutputResults(plan, row));
+        }
         
         context.setStatus(ExecutionContext.ExecutionStatus.COMPLETED);
         
-        logger.info("Blueprint executado com sucesso em " + context.getExecutionTime() + "ms");
+        return batchResults;
+    }
+    
+    /**
+     * Prepara a execução contínua do blueprint, com uma virtual thread por
+     * estágio (ou thread de plataforma em JVMs sem suporte)
+     * @see StreamingPipeline
+     */
+    public StreamingPipeline stream(Blueprint blueprint) {
+        return stream(blueprint, StreamingPipeline.DEFAULT_BUFFER_SIZE);
+    }
+    
+    public StreamingPipeline stream(Blueprint blueprint, int bufferSize) {
+        CompiledBlueprint plan = compileForStreaming(blueprint);
+        return new StreamingPipeline(plan, EngineExecutors.virtualThreads(), true, bufferSize, ioLimiter);
+    }
+    
+    /**
+     * Prepara a execução contínua usando o executor informado para os estágios
+     * O executor precisa de uma thread livre por nó, pois cada estágio fica
+     * bloqueado aguardando entradas enquanto o pipeline estiver ativo.
+     */
+    public StreamingPipeline stream(Blueprint blueprint, int bufferSize, ExecutorService stageExecutor) {
+        if (stageExecutor == null) {
+            throw new IllegalArgumentException("Executor não pode ser nulo");
+        }
+        return new StreamingPipeline(compileForStreaming(blueprint), stageExecutor, false, bufferSize,
+                                     ioLimiter);
+    }
+    
+    private CompiledBlueprint compileForStreaming(Blueprint blueprint) {
+        if (blueprint == null) {
+            throw new IllegalArgumentException("Blueprint não pode ser nulo");
+        }
+        
+        // Não usa blueprint.validate(): as fontes podem não ter valor configurado
+        CompiledBlueprint plan = blueprint.compile();
+        
+        if (plan.hasCycles()) {
+            throw new IllegalStateException("Blueprint contém ciclos");
+        }
+        
+        if (plan.getNodeCount() == 0) {
+            throw new IllegalStateException("Nenhum nó encontrado para execução");
+        }
+        
+        if (enableLogging) {
+            logger.info("Preparando pipeline contínuo do blueprint {} ({} nós)", blueprint.getName(),
+                        plan.getNodeCount());
+        }
         
-        return finalResults;
+        return plan;
     }
     
     /**
-     * Prepara os dados de entrada para um nó baseado nas conexões
+     * Executa um único nó: prepara entradas, executa e registra o resultado
      */
-    private void prepareNodeInputs(Node node, Blueprint blueprint, ExecutionContext context) {
-        // Busca conexões que chegam neste nó
-        List<Connection> incomingConnections = blueprint.getConnectionsTo(node.getId());
+    private void executeNodeStep(CompiledBlueprint plan, int index, ExecutionContext context,
+                                 Object[] results, boolean traced) {
+        Node node = plan.getNode(index);
+        ExecutionListener listener = executionListener;
+        boolean observed = listener != ExecutionListener.NOOP;
+        long start = observed || traced ? System.nanoTime() : 0L;
+        ScheduledFuture<?> nodeDeadline = enterNode(context);
+        try {
+            // Prepara dados de entrada para o nó
+            prepareNodeInputs(plan, index, context, results);
+            
+            // Executa o nó (ou reaproveita o resultado em cache)
+            Map<String, Object> nodeResult = invokeNode(node, context, listener);
+            
+            // Um nó interrompido pode retornar normalmente; o resultado é descartado
+            context.throwIfCancelled();
+            
+            if (observed) {
+                listener.nodeExecuted(node, System.nanoTime() - start, nodeResult);
+            }
+            
+            // Armazena resultado
+            results[index] = nodeResult;
+            
+            // Atualiza contexto global
+            updateGlobalContext(node, nodeResult, context);
+            
+            if (traced) {
+                logNodeSpan(node, System.nanoTime() - start, null);
+            }
+            
+        } catch (Exception e) {
+            // Falhas provocadas pelo cancelamento (ex.: InterruptedException) não são
+            // erro do nó: não são notificadas ao listener nem contadas como falha
+            context.throwIfCancelled();
+            if (observed) {
+                listener.nodeFailed(node, System.nanoTime() - start, e);
+            }
+            if (traced) {
+                logNodeSpan(node, System.nanoTime() - start, e);
+            }
+            context.setStatus(ExecutionContext.ExecutionStatus.FAILED);
+            throw new RuntimeException("Erro na execução do nó " + node.getName(), e);
+        } finally {
+            exitNode(context, nodeDeadline);
+        }
+    }
+    
+    /**
+     * Registra a thread atual como executora de um nó e agenda o prazo do nó
+     * (se configurado); ao estourar, a execução inteira expira
+     */
+    private ScheduledFuture<?> enterNode(ExecutionContext context) {
+        context.beginInterruptible();
+        return nodeTimeout > 0 ? Watchdog.schedule(context::expire, nodeTimeout) : null;
+    }
+    
+    private static void exitNode(ExecutionContext context, ScheduledFuture<?> nodeDeadline) {
+        if (nodeDeadline != null) {
+            nodeDeadline.cancel(false);
+        }
+        context.endInterruptible();
+    }
+    
+    /**
+     * Verificação entre nós: marca o timeout (caso o watchdog ainda não o
+     * tenha feito) e encerra se a execução foi cancelada
+     */
+    private static void checkDeadline(ExecutionContext context) {
+        if (context.hasTimeout()) {
+            context.expire();
+        }
+        context.throwIfCancelled();
+    }
+    
+    /**
+     * Decide, uma vez por execução, se os nós serão rastreados individualmente:
+     * sempre com DEBUG habilitado, ou numa amostra das execuções
+     * (ver {@link #setTraceSampleRate(double)})
+     */
+    private boolean traceNodes() {
+        if (!enableLogging) {
+            return false;
+        }
+        if (logger.isDebugEnabled()) {
+            return true;
+        }
+        return traceSampleRate > 0 && logger.isInfoEnabled()
+            && ThreadLocalRandom.current().nextDouble() < traceSampleRate;
+    }
+    
+    private void logNodeSpan(Node node, long durationNanos, Exception failure) {
+        (logger.isDebugEnabled() ? logger.atDebug() : logger.atInfo())
+            .addKeyValue("node", node.getId())
+            .addKeyValue("type", node.getType())
+            .addKeyValue("durationMicros", durationNanos / 1000)
+            .addKeyValue("success", failure == null)
+            .log("Nó {} ({}) executado em {} µs", node.getName(), node.getType(), durationNanos / 1000);
+    }
+    
+    /**
+     * Um único evento por execução, com status e duração
+     */
+    private void logRunSummary(Blueprint blueprint, int nodeCount, int records, ExecutionContext context) {
+        if (!enableLogging) {
+            return;
+        }
+        boolean completed = context.isCompleted();
+        (completed ? logger.atInfo() : logger.atWarn())
+            .addKeyValue("blueprint", blueprint.getName())
+            .addKeyValue("nodes", nodeCount)
+            .addKeyValue("records", records)
+            .addKeyValue("status", context.getStatus())
+            .addKeyValue("durationMs", context.getExecutionTime())
+            .log("Blueprint {} {} em {} ms ({} nós)", blueprint.getName(),
+                 completed ? "executado" : "falhou", context.getExecutionTime(), nodeCount);
+    }
+    
+    /**
+     * Executa o nó consultando antes o cache de resultados, quando habilitado
+     * e o nó se declara determinístico
+     */
+    private Map<String, Object> invokeNode(Node node, ExecutionContext context, ExecutionListener listener) {
+        NodeResultCache cache = resultCache;
+        if (cache == null || !node.isCacheable()) {
+            return executeLimited(node, context);
+        }
+        
+        NodeResultCache.Key key = NodeResultCache.keyFor(node, context);
+        Map<String, Object> cached = cache.get(key);
+        if (cached != null) {
+            listener.nodeCacheHit(node);
+            return cached;
+        }
+        
+        Map<String, Object> nodeResult = executeLimited(node, context);
+        cache.put(key, nodeResult);
+        return nodeResult;
+    }
+    
+    /**
+     * Executa o nó respeitando o limite de concorrência de I/O, se houver
+     */
+    private Map<String, Object> executeLimited(Node node, ExecutionContext context) {
+        ConcurrencyLimiter limiter = limiterFor(node);
+        acquirePermit(limiter, context);
+        try {
+            return node.execute(context);
+        } finally {
+            releasePermit(limiter);
+        }
+    }
+    
+    private ConcurrencyLimiter limiterFor(Node node) {
+        return node.isIoBound() ? ioLimiter : null;
+    }
+    
+    private static void acquirePermit(ConcurrencyLimiter limiter, ExecutionContext context) {
+        if (limiter == null) {
+            return;
+        }
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            context.throwIfCancelled();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o limite de concorrência", e);
+        }
+    }
+    
+    private static void releasePermit(ConcurrencyLimiter limiter) {
+        if (limiter != null) {
+            limiter.release();
+        }
+    }
+    
+    /**
+     * Executa o grafo em paralelo: cada nó é despachado no executor assim que
+     * todas as suas dependências terminam, de modo que ramos independentes
+     * rodam ao mesmo tempo e a latência total fica limitada pelo caminho crítico
+     */
+    private void executeParallel(CompiledBlueprint plan, ExecutionContext context, Object[] results,
+                                 boolean traced) {
+        int nodeCount = plan.getNodeCount();
+        
+        // Dependências pendentes de cada nó
+        AtomicIntegerArray pending = new AtomicIntegerArray(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            pending.set(i, plan.getInDegree(i));
+        }
+        
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        ParallelRun run = new ParallelRun(plan, context, results, pending,
+                                          new AtomicInteger(nodeCount), completion, traced);
+        
+        for (int i = 0; i < nodeCount; i++) {
+            if (plan.getInDegree(i) == 0) {
+                run.dispatch(i);
+            }
+        }
         
-        for (Connection conn : incomingConnections) {
-            String fromNodeId = conn.getFromNodeId();
-            String toPort = conn.getToPort();
+        // A thread que aguarda também é interrompida por um cancelamento
+        context.beginInterruptible();
+        try {
+            completion.get(Math.max(context.getRemainingTime(), 0), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            completion.cancel(false);
+            context.expire();
+            context.throwIfCancelled();
+            throw new RuntimeException("Timeout na execução do blueprint", e);
+        } catch (InterruptedException e) {
+            completion.cancel(false);
+            context.throwIfCancelled();
+            Thread.currentThread().interrupt();
+            context.setStatus(ExecutionContext.ExecutionStatus.FAILED);
+            throw new RuntimeException("Execução do blueprint interrompida", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Erro na execução do blueprint", cause);
+        } finally {
+            context.endInterruptible();
+        }
+    }
+    
+    /**
+     * Estado compartilhado de uma execução paralela
+     */
+    private final class ParallelRun {
+        private final CompiledBlueprint plan;
+        private final ExecutionContext context;
+        private final Object[] results;
+        private final AtomicIntegerArray pending;
+        private final AtomicInteger remaining;
+        private final CompletableFuture<Void> completion;
+        private final boolean traced;
+        
+        ParallelRun(CompiledBlueprint plan, ExecutionContext context, Object[] results,
+                    AtomicIntegerArray pending, AtomicInteger remaining,
+                    CompletableFuture<Void> completion, boolean traced) {
+            this.plan = plan;
+            this.context = context;
+            this.results = results;
+            this.pending = pending;
+            this.remaining = remaining;
+            this.completion = completion;
+            this.traced = traced;
+        }
+        
+        void dispatch(int index) {
+            try {
+                executor.execute(() -> run(index));
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+            }
+        }
+        
+        private void run(int index) {
+            // Uma falha ou timeout em outro ramo encerra a execução
+            if (completion.isDone()) {
+                return;
+            }
+            
+            try {
+                checkDeadline(context);
+                executeNodeStep(plan, index, context, results, traced);
+            } catch (RuntimeException e) {
+                completion.completeExceptionally(e);
+                return;
+            }
             
+            for (int next : plan.getSuccessors(index)) {
+                if (pending.decrementAndGet(next) == 0) {
+                    dispatch(next);
+                }
+            }
+            
+            // O decremento final publica todos os resultados escritos antes dele
+            if (remaining.decrementAndGet() == 0) {
+                completion.complete(null);
+            }
+        }
+    }
+    
+    /**
+     * Prepara os dados de entrada para um nó baseado nos vínculos do plano
+     * As entradas vão para o frame de entradas do contexto, no slot resolvido
+     * no plano, nunca para a instância do nó, para que o mesmo blueprint
+     * possa ser executado em paralelo.
+     */
+    private void prepareNodeInputs(CompiledBlueprint plan, int index, ExecutionContext context,
+                                   Object[] results) {
+        int[] sources = plan.getIncomingSources(index);
+        int[] slots = plan.getIncomingSlots(index);
+        int offset = plan.getInputOffset(index);
+        
+        for (int i = 0; i < sources.length; i++) {
             // Busca resultado do nó de origem
-            Object sourceResult = context.getNodeResult(fromNodeId);
+            Object sourceResult = results[sources[i]];
             
             if (sourceResult != null) {
-                if (sourceResult instanceof Map) {
-                    Map<String, Object> resultMap = (Map<String, Object>) sourceResult;
-                    
-                    // Tenta encontrar o valor correto baseado na porta
-                    Object value = resultMap.get(toPort);
-                    if (value == null) {
-                        // Fallback para valores comuns
-                        value = resultMap.get("value");
-                        if (value == null) {
-                            value = resultMap.get("result");
-                        }
-                        if (value == null) {
-                            value = sourceResult; // Usa o resultado completo
-                        }
-                    }
-                    
-                    node.setInput(toPort, value);
+                Object value = incomingValue(plan, index, i, sourceResult);
+                if (slots[i] >= 0) {
+                    context.setInputSlot(offset + slots[i], value);
                 } else {
-                    node.setInput(toPort, sourceResult);
+                    // Porta não resolvida no plano (conexão sem porta de destino)
+                    context.setNodeInput(plan.getNode(index).getId(), plan.getIncomingPorts(index)[i], value);
                 }
             }
         }
     }
     
+    /**
+     * Valor da i-ésima conexão que chega ao nó: lido direto do slot quando a
+     * origem retornou {@link PortValues} com o layout do plano, ou pela chave
+     * resolvida (com os fallbacks de {@link #resolveInputValue})
+     */
+    static Object incomingValue(CompiledBlueprint plan, int index, int i, Object sourceResult) {
+        int resultSlot = plan.getIncomingResultSlots(index)[i];
+        if (resultSlot >= 0 && sourceResult instanceof PortValues) {
+            PortValues values = (PortValues) sourceResult;
+            int source = plan.getIncomingSources(index)[i];
+            if (values.getLayout() == plan.getResultLayout(source)) {
+                Object value = values.get(resultSlot);
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+        return resolveInputValue(sourceResult, plan.getIncomingKeys(index)[i], plan.getIncomingPorts(index)[i]);
+    }
+    
+    /**
+     * Extrai do resultado do nó de origem o valor destinado à porta
+     * @param sourceKey Chave resolvida no plano (pode ser null)
+     */
+    static Object resolveInputValue(Object sourceResult, String sourceKey, String toPort) {
+        if (!(sourceResult instanceof Map)) {
+            return sourceResult;
+        }
+        
+        Map<String, Object> resultMap = (Map<String, Object>) sourceResult;
+        
+        // Caminho comum: uma única leitura pela chave resolvida no plano
+        if (sourceKey != null) {
+            Object value = resultMap.get(sourceKey);
+            if (value != null) {
+                return value;
+            }
+        }
+        
+        // Saídas não declaradas: tenta encontrar o valor correto baseado na porta
+        Object value = resultMap.get(toPort);
+        if (value == null) {
+            // Fallback para valores comuns
+            value = resultMap.get("value");
+            if (value == null) {
+                value = resultMap.get("result");
+            }
+            if (value == null) {
+                value = sourceResult; // Usa o resultado completo
+            }
+        }
+        return value;
+    }
+    
     /**
      * Atualiza o contexto global com os resultados do nó
      */
@@ -166,13 +756,12 @@ public class BlueprintEngine {
     /**
      * Coleta resultados finais dos nós de saída
      */
-    private Map<String, Object> collectOutputResults(Blueprint blueprint, Map<String, Object> allResults) {
+    private Map<String, Object> collectOutputResults(CompiledBlueprint plan, Object[] allResults) {
         Map<String, Object> outputResults = new HashMap<>();
         
-        List<Node> outputNodes = blueprint.getOutputNodes();
-        
-        for (Node outputNode : outputNodes) {
-            Object nodeResult = allResults.get(outputNode.getId());
+        for (int index : plan.getOutputNodes()) {
+            Node outputNode = plan.getNode(index);
+            Object nodeResult = allResults[index];
             if (nodeResult != null) {
                 if (outputNode instanceof OutputNode) {
                     OutputNode out = (OutputNode) outputNode;
@@ -227,7 +816,7 @@ public class BlueprintEngine {
             }
             
             // Verifica ciclos
-            if (blueprint.hasCycles()) {
+            if (blueprint.compile().hasCycles()) {
                 return false;
             }
             
@@ -241,7 +830,7 @@ public class BlueprintEngine {
             return true;
             
         } catch (Exception e) {
-            logger.warning("Erro na validação do blueprint: " + e.getMessage());
+            logger.warn("Erro na validação do blueprint: {}", e.getMessage());
             return false;
         }
     }
@@ -267,6 +856,21 @@ public class BlueprintEngine {
         this.enableLogging = enableLogging;
     }
     
+    public double getTraceSampleRate() {
+        return traceSampleRate;
+    }
+    
+    /**
+     * Fração das execuções (0 a 1) que registram um evento por nó em INFO;
+     * com DEBUG habilitado todas registram
+     */
+    public void setTraceSampleRate(double traceSampleRate) {
+        if (traceSampleRate < 0 || traceSampleRate > 1) {
+            throw new IllegalArgumentException("Taxa de amostragem deve estar entre 0 e 1");
+        }
+        this.traceSampleRate = traceSampleRate;
+    }
+    
     public long getTimeout() {
         return timeout;
     }
@@ -275,7 +879,103 @@ public class BlueprintEngine {
         this.timeout = timeout;
     }
     
+    public long getNodeTimeout() {
+        return nodeTimeout;
+    }
+    
+    /**
+     * Prazo máximo de cada nó em milissegundos (0 desabilita); ao estourar,
+     * a thread do nó é interrompida e a execução termina em TIMEOUT
+     */
+    public void setNodeTimeout(long nodeTimeout) {
+        if (nodeTimeout < 0) {
+            throw new IllegalArgumentException("Timeout do nó não pode ser negativo");
+        }
+        this.nodeTimeout = nodeTimeout;
+    }
+    
+    public boolean isParallelExecution() {
+        return parallelExecution;
+    }
+    
+    public void setParallelExecution(boolean parallelExecution) {
+        this.parallelExecution = parallelExecution;
+    }
+    
+    public Executor getExecutor() {
+        return executor;
+    }
+    
+    /**
+     * Define o executor usado no modo paralelo (ex.: ForkJoinPool ou
+     * {@link EngineExecutors#virtualThreads()})
+     */
+    public void setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor não pode ser nulo");
+        }
+        this.executor = executor;
+    }
+    
+    /**
+     * Define o observador da execução dos nós (null restaura o padrão, sem custo)
+     */
+    public void setExecutionListener(ExecutionListener executionListener) {
+        this.executionListener = executionListener != null ? executionListener : ExecutionListener.NOOP;
+    }
+    
+    public ExecutionListener getExecutionListener() {
+        return executionListener;
+    }
+    
+    public ConcurrencyLimiter getIoLimiter() {
+        return ioLimiter;
+    }
+    
+    /**
+     * Limita quantos nós de I/O ({@link Node#isIoBound()}) executam ao mesmo
+     * tempo, somando todas as execuções deste engine (null remove o limite).
+     * Necessário com executores de virtual threads, que não limitam a
+     * concorrência pelo tamanho do pool.
+     */
+    public void setIoLimiter(ConcurrencyLimiter ioLimiter) {
+        this.ioLimiter = ioLimiter;
+    }
+    
+    public NodeResultCache getResultCache() {
+        return resultCache;
+    }
+    
+    /**
+     * Habilita o cache de resultados de nós determinísticos (null desabilita)
+     */
+    public void setResultCache(NodeResultCache resultCache) {
+        this.resultCache = resultCache;
+    }
+    
     public void clearGlobalVariables() {
         globalVariables.clear();
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Agendador compartilhado dos prazos de execução e de nó
+     * Uma única thread daemon, criada no primeiro uso; tarefas canceladas
+     * saem da fila imediatamente.
+     */
+    private static final class Watchdog {
+        private static final ScheduledThreadPoolExecutor SCHEDULER;
+        
+        static {
+            SCHEDULER = new ScheduledThreadPoolExecutor(1, task -> {
+                Thread thread = new Thread(task, "blueprint-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            SCHEDULER.setRemoveOnCancelPolicy(true);
+        }
+        
+        static ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+            return SCHEDULER.schedule(task, Math.max(delayMillis, 0), TimeUnit.MILLISECONDS);
+        }
+    }
+}
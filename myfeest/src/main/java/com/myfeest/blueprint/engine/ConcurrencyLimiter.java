@@ -0,0 +1,62 @@
+package com.myfeest.blueprint.engine;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Limite de operações simultâneas
+ *
+ * Com virtual threads o número de threads deixa de limitar a concorrência;
+ * este limitador mantém um teto para o trabalho que consome recursos
+ * externos (conexões HTTP, banco de dados) ou para requisições do servidor.
+ * As threads excedentes aguardam bloqueadas, em ordem de chegada, e a espera
+ * pode ser interrompida (ex.: pelo cancelamento da execução).
+ */
+public final class ConcurrencyLimiter {
+    
+    private final int limit;
+    private final Semaphore permits;
+    
+    public ConcurrencyLimiter(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limite de concorrência deve ser positivo");
+        }
+        this.limit = limit;
+        this.permits = new Semaphore(limit, true);
+    }
+    
+    /**
+     * Aguarda uma permissão; toda chamada bem-sucedida deve ser seguida de
+     * {@link #release()}
+     */
+    public void acquire() throws InterruptedException {
+        permits.acquire();
+    }
+    
+    public void release() {
+        permits.release();
+    }
+    
+    public int getLimit() {
+        return limit;
+    }
+    
+    /**
+     * Operações em andamento neste momento
+     */
+    public int getInUse() {
+        return limit - permits.availablePermits();
+    }
+    
+    /**
+     * Estimativa de threads aguardando uma permissão
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("ConcurrencyLimiter{limit=%d, inUse=%d, waiting=%d}",
+                           limit, getInUse(), getQueueLength());
+    }
+}
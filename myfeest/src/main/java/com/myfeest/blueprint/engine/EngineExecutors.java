@@ -0,0 +1,129 @@
+package com.myfeest.blueprint.engine;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fábrica dos executores suportados pelo modo paralelo do {@link BlueprintEngine}
+ * e pelas execuções assíncronas
+ */
+public final class EngineExecutors {
+    
+    public static final String FORK_JOIN = "fork-join";
+    public static final String VIRTUAL = "virtual";
+    
+    private EngineExecutors() {
+    }
+    
+    /**
+     * Cria um executor a partir do nome configurado ("fork-join" ou "virtual")
+     */
+    public static ExecutorService create(String type, int parallelism) {
+        if (type == null || FORK_JOIN.equalsIgnoreCase(type)) {
+            return forkJoin(parallelism);
+        }
+        if (VIRTUAL.equalsIgnoreCase(type)) {
+            return virtualThreads();
+        }
+        throw new IllegalArgumentException("Tipo de executor não suportado: " + type);
+    }
+    
+    /**
+     * Pool fork-join com o paralelismo informado (ou o número de CPUs se <= 0)
+     */
+    public static ExecutorService forkJoin(int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(threads);
+    }
+    
+    /**
+     * Uma virtual thread por tarefa quando a JVM suporta (Java 21+);
+     * em JVMs anteriores cai para um pool de threads sob demanda, sem limite
+     * (use {@link #requestExecutor} quando o número de tarefas vem de fora)
+     */
+    public static ExecutorService virtualThreads() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return executor != null ? executor : Executors.newCachedThreadPool();
+    }
+    
+    /**
+     * Executor para tarefas que chegam de fora (ex.: requisições HTTP): virtual
+     * threads quando a JVM suporta; senão um pool fixo de {@code maxConcurrency}
+     * threads, e as tarefas excedentes aguardam na fila sem ocupar uma thread
+     * @param threadPrefix prefixo do nome das threads do pool (ex.: "blueprint-http-")
+     */
+    public static ExecutorService requestExecutor(int maxConcurrency, String threadPrefix) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Concorrência máxima deve ser positiva");
+        }
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        if (executor != null) {
+            return executor;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+            maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+            task -> {
+                Thread thread = new Thread(task, threadPrefix + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+    
+    /**
+     * Indica se a JVM cria virtual threads (Java 21+)
+     */
+    public static boolean supportsVirtualThreads() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+    
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * Pool de tamanho fixo com fila limitada: quando todos os workers estão
+     * ocupados e a fila está cheia, novas tarefas são recusadas com
+     * {@link java.util.concurrent.RejectedExecutionException} em vez de
+     * acumular sem limite
+     * @param threadPrefix prefixo do nome das threads (ex.: "blueprint-job-")
+     */
+    public static ExecutorService bounded(int workers, int queueCapacity, String threadPrefix) {
+        if (workers <= 0) {
+            throw new IllegalArgumentException("Número de workers deve ser positivo");
+        }
+        if (queueCapacity <= 0) {
+            throw new IllegalArgumentException("Capacidade da fila deve ser positiva");
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            workers, workers, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+            task -> {
+                Thread thread = new Thread(task, threadPrefix + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,95 @@
+package com.myfeest.blueprint.engine;
+
+import com.myfeest.blueprint.core.ExecutionContext;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Execução de blueprint em andamento, criada por {@link BlueprintEngine#submit}
+ *
+ * O cancelamento é cooperativo: marca o contexto, interrompe as threads que
+ * estão executando nós e faz a execução terminar com
+ * {@link com.myfeest.blueprint.core.ExecutionCancelledException}.
+ */
+public final class ExecutionHandle {
+    
+    private final ExecutionContext context;
+    private final CompletableFuture<Map<String, Object>> result;
+    
+    ExecutionHandle(ExecutionContext context, CompletableFuture<Map<String, Object>> result) {
+        this.context = context;
+        this.result = result;
+    }
+    
+    public ExecutionContext getContext() {
+        return context;
+    }
+    
+    public ExecutionContext.ExecutionStatus getStatus() {
+        return context.getStatus();
+    }
+    
+    /**
+     * Solicita o cancelamento da execução
+     * @return false se a execução já havia terminado
+     */
+    public boolean cancel() {
+        if (result.isDone()) {
+            return false;
+        }
+        context.cancel();
+        return true;
+    }
+    
+    public boolean isCancelled() {
+        return context.isCancelled();
+    }
+    
+    public boolean isDone() {
+        return result.isDone();
+    }
+    
+    /**
+     * Aguarda o resultado, relançando a exceção original da execução
+     */
+    public Map<String, Object> get() throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+    
+    /**
+     * Aguarda o resultado por no máximo o tempo informado
+     * (o estouro deste tempo não cancela a execução)
+     */
+    public Map<String, Object> get(long timeout, TimeUnit unit) throws Exception {
+        try {
+            return result.get(timeout, unit);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+    
+    /**
+     * Visão somente leitura do resultado, para composição assíncrona
+     */
+    public CompletableFuture<Map<String, Object>> toCompletableFuture() {
+        return result.copy();
+    }
+    
+    private static Exception unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof Exception) {
+            return (Exception) cause;
+        }
+        if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return e;
+    }
+}
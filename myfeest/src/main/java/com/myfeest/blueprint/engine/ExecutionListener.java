@@ -0,0 +1,48 @@
+package com.myfeest.blueprint.engine;
+
+import com.myfeest.blueprint.core.Node;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Observador da execução dos nós pelo {@link BlueprintEngine}
+ *
+ * O engine só mede tempo e notifica quando há um listener diferente de
+ * {@link #NOOP}, então a instrumentação desabilitada não custa nada no
+ * caminho de execução. Implementações são chamadas das threads de execução
+ * e devem ser thread-safe e baratas.
+ */
+public interface ExecutionListener {
+    
+    /**
+     * Listener padrão, que não faz nada
+     */
+    ExecutionListener NOOP = new ExecutionListener() {
+    };
+    
+    /**
+     * Nó executado com sucesso (inclusive quando o resultado veio do cache)
+     */
+    default void nodeExecuted(Node node, long durationNanos, Map<String, Object> result) {
+    }
+    
+    /**
+     * Nó executado uma única vez sobre um lote de registros
+     */
+    default void nodeBatchExecuted(Node node, long durationNanos, List<Map<String, Object>> results) {
+    }
+    
+    /**
+     * Execução do nó lançou exceção (não é chamado quando a exceção veio do
+     * cancelamento ou do prazo da execução)
+     */
+    default void nodeFailed(Node node, long durationNanos, Throwable error) {
+    }
+    
+    /**
+     * Resultado do nó reaproveitado do {@link NodeResultCache}
+     */
+    default void nodeCacheHit(Node node) {
+    }
+}
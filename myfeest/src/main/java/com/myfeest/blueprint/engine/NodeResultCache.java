@@ -0,0 +1,178 @@
+package com.myfeest.blueprint.engine;
+
+import com.myfeest.blueprint.core.ExecutionContext;
+import com.myfeest.blueprint.core.Node;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de resultados de nós determinísticos
+ *
+ * A chave combina o id do nó, a impressão digital da sua configuração e os
+ * valores de entrada. O tamanho é limitado (LRU) e cada entrada expira após
+ * o TTL configurado. Só nós que declaram {@link Node#isCacheable()} passam
+ * por aqui.
+ */
+public class NodeResultCache {
+    
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<Key, Entry> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+    
+    public NodeResultCache(int maxEntries, long ttlMillis) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries deve ser positivo");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > NodeResultCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+    
+    /**
+     * Monta a chave de cache para o nó com as entradas já preparadas
+     */
+    public static Key keyFor(Node node, ExecutionContext context) {
+        return new Key(node.getId(), node.getConfigFingerprint(), node.getInputFingerprint(context));
+    }
+    
+    /**
+     * Retorna uma cópia do resultado em cache, ou null se ausente ou expirado
+     */
+    public Map<String, Object> get(Key key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry != null && entry.isExpired()) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return new HashMap<>(entry.result);
+    }
+    
+    public void put(Key key, Map<String, Object> result) {
+        if (result == null) {
+            return;
+        }
+        long expiresAt = ttlMillis > 0 ? System.currentTimeMillis() + ttlMillis : Long.MAX_VALUE;
+        Entry entry = new Entry(new HashMap<>(result), expiresAt);
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+    
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    public long getHitCount() {
+        return hits.get();
+    }
+    
+    public long getMissCount() {
+        return misses.get();
+    }
+    
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+    
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+    
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("NodeResultCache{size=%d, hits=%d, misses=%d, evictions=%d}",
+                           size(), hits.get(), misses.get(), evictions.get());
+    }
+    
+    /**
+     * Chave de cache: nó + configuração + entradas (hash pré-calculado)
+     */
+    public static final class Key {
+        private final String nodeId;
+        private final Object config;
+        private final Object inputs;
+        private final int hash;
+        
+        Key(String nodeId, Object config, Object inputs) {
+            this.nodeId = nodeId;
+            this.config = config;
+            this.inputs = inputs;
+            this.hash = Objects.hash(nodeId, config, inputs);
+        }
+        
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key)) return false;
+            Key that = (Key) obj;
+            return hash == that.hash
+                && nodeId.equals(that.nodeId)
+                && Objects.equals(config, that.config)
+                && Objects.equals(inputs, that.inputs);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+    
+    private static final class Entry {
+        private final Map<String, Object> result;
+        private final long expiresAt;
+        
+        Entry(Map<String, Object> result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+        
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
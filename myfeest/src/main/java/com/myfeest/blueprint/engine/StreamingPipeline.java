@@ -0,0 +1,396 @@
+package com.myfeest.blueprint.engine;
+
+import com.myfeest.blueprint.core.CompiledBlueprint;
+import com.myfeest.blueprint.core.ExecutionContext;
+import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.core.PortLayout;
+import com.myfeest.blueprint.core.PortValues;
+import com.myfeest.blueprint.nodes.OutputNode;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Execução contínua de um blueprint sobre fluxos de dados
+ *
+ * Cada nó do plano vira um estágio com thread própria: InputNodes são fontes
+ * (alimentadas por um {@link Flow.Publisher}), nós intermediários são
+ * operadores e os nós finais publicam para os assinantes registrados em
+ * {@link #sink}. Os estágios se comunicam por {@link SubmissionPublisher} e
+ * filas de tamanho fixo; cada estágio só pede ao anterior a quantidade que
+ * cabe no seu buffer, então um produtor rápido é freado pelo consumidor mais
+ * lento e a memória do pipeline fica constante.
+ *
+ * Um nó com várias entradas combina um elemento de cada conexão por vez
+ * (zip); o estágio termina quando qualquer uma das entradas termina.
+ */
+public class StreamingPipeline {
+    
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+    
+    // Marca de fim de fluxo dentro das filas de entrada
+    private static final Object END = new Object();
+    
+    // Entrega entre estágios (não bloqueante); mesmo critério do SubmissionPublisher padrão
+    private static final Executor DELIVERY = ForkJoinPool.getCommonPoolParallelism() > 1
+        ? ForkJoinPool.commonPool()
+        : task -> new Thread(task).start();
+    
+    private final CompiledBlueprint plan;
+    private final ExecutorService stageExecutor;
+    private final boolean ownsExecutor;
+    private final int bufferSize;
+    private final ConcurrencyLimiter ioLimiter;
+    private final ExecutionContext context;
+    private final Flow.Publisher<?>[] sources;
+    private final List<SubmissionPublisher<Object>> publishers;
+    private final List<Inbound> inbounds;
+    private final List<Future<?>> stageTasks;
+    private final CompletableFuture<Void> completion;
+    private final AtomicInteger remainingStages;
+    private final AtomicBoolean started;
+    
+    StreamingPipeline(CompiledBlueprint plan, ExecutorService stageExecutor,
+                      boolean ownsExecutor, int bufferSize, ConcurrencyLimiter ioLimiter) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize deve ser positivo");
+        }
+        this.plan = plan;
+        this.stageExecutor = stageExecutor;
+        this.ownsExecutor = ownsExecutor;
+        this.bufferSize = bufferSize;
+        this.ioLimiter = ioLimiter;
+        this.context = new ExecutionContext(Long.MAX_VALUE);
+        this.sources = new Flow.Publisher<?>[plan.getNodeCount()];
+        this.publishers = new ArrayList<>(plan.getNodeCount());
+        this.inbounds = new ArrayList<>();
+        this.stageTasks = new ArrayList<>(plan.getNodeCount());
+        this.completion = new CompletableFuture<>();
+        this.remainingStages = new AtomicInteger(plan.getNodeCount());
+        this.started = new AtomicBoolean(false);
+        
+        for (int i = 0; i < plan.getNodeCount(); i++) {
+            publishers.add(new SubmissionPublisher<>(DELIVERY, bufferSize));
+        }
+    }
+    
+    /**
+     * Liga um publicador externo a um nó fonte (sem conexões de entrada)
+     * Fontes sem publicador emitem o próprio valor configurado uma única vez.
+     */
+    public StreamingPipeline source(String nodeId, Flow.Publisher<?> publisher) {
+        if (publisher == null) {
+            throw new IllegalArgumentException("Publicador não pode ser nulo");
+        }
+        int index = requireNode(nodeId);
+        if (plan.getInDegree(index) > 0) {
+            throw new IllegalArgumentException("Nó não é uma fonte do pipeline: " + nodeId);
+        }
+        ensureNotStarted();
+        sources[index] = publisher;
+        return this;
+    }
+    
+    /**
+     * Registra um assinante para um nó final, identificado pelo id do nó ou
+     * pelo nome da saída (como nas chaves retornadas por
+     * {@link BlueprintEngine#execute})
+     * OutputNodes publicam apenas o valor da sua saída; valores nulos não são
+     * publicados.
+     */
+    public StreamingPipeline sink(String output, Flow.Subscriber<Object> subscriber) {
+        if (subscriber == null) {
+            throw new IllegalArgumentException("Assinante não pode ser nulo");
+        }
+        ensureNotStarted();
+        publishers.get(requireOutput(output)).subscribe(subscriber);
+        return this;
+    }
+    
+    /**
+     * Conecta os estágios e inicia uma thread por nó
+     * @return Futuro concluído quando todos os estágios terminarem
+     */
+    public CompletableFuture<Void> start() {
+        if (!started.compareAndSet(false, true)) {
+            throw new IllegalStateException("Pipeline já iniciado");
+        }
+        context.setStatus(ExecutionContext.ExecutionStatus.RUNNING);
+        
+        // Todas as assinaturas são feitas antes de qualquer estágio publicar
+        List<Inbound[]> stageInputs = new ArrayList<>(plan.getNodeCount());
+        for (int index = 0; index < plan.getNodeCount(); index++) {
+            int[] upstream = plan.getIncomingSources(index);
+            Inbound[] inputs;
+            if (upstream.length > 0) {
+                inputs = new Inbound[upstream.length];
+                for (int i = 0; i < upstream.length; i++) {
+                    inputs[i] = subscribe(publishers.get(upstream[i]));
+                }
+            } else if (sources[index] != null) {
+                inputs = new Inbound[] { subscribe(sources[index]) };
+            } else {
+                inputs = new Inbound[0];
+            }
+            stageInputs.add(inputs);
+        }
+        
+        for (int index : plan.getExecutionOrder()) {
+            Inbound[] inputs = stageInputs.get(index);
+            int stage = index;
+            stageTasks.add(stageExecutor.submit(() -> runStage(stage, inputs)));
+        }
+        
+        return completion;
+    }
+    
+    /**
+     * Interrompe todos os estágios e cancela as assinaturas das fontes
+     */
+    public void cancel() {
+        if (completion.isDone()) {
+            return;
+        }
+        context.cancel();
+        completion.completeExceptionally(new CancellationException("Pipeline cancelado"));
+        for (Inbound inbound : inbounds) {
+            inbound.cancel();
+        }
+        for (Future<?> task : stageTasks) {
+            task.cancel(true);
+        }
+        for (SubmissionPublisher<Object> publisher : publishers) {
+            publisher.closeExceptionally(new CancellationException("Pipeline cancelado"));
+        }
+        if (ownsExecutor) {
+            stageExecutor.shutdownNow();
+        }
+    }
+    
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+    
+    public ExecutionContext getContext() {
+        return context;
+    }
+    
+    public int getBufferSize() {
+        return bufferSize;
+    }
+    
+    /**
+     * Laço de um estágio: combina um elemento de cada entrada, executa o nó
+     * e publica o resultado (bloqueando enquanto o buffer do consumidor
+     * mais lento estiver cheio)
+     */
+    private void runStage(int index, Inbound[] inputs) {
+        Node node = plan.getNode(index);
+        SubmissionPublisher<Object> out = publishers.get(index);
+        boolean terminal = plan.getSuccessors(index).length == 0;
+        String[] ports = plan.getIncomingPorts(index);
+        int[] slots = plan.getIncomingSlots(index);
+        PortLayout inputLayout = plan.getInputLayout(index);
+        boolean external = ports.length == 0;
+        
+        try {
+            if (inputs.length == 0) {
+                publish(node, terminal, out, new HashMap<>());
+            } else {
+                while (true) {
+                    PortValues recordInputs = new PortValues(inputLayout);
+                    for (int i = 0; i < inputs.length; i++) {
+                        Object element = inputs[i].take();
+                        if (element == END) {
+                            out.close();
+                            stageFinished(null);
+                            return;
+                        }
+                        if (external) {
+                            recordInputs.put("value", element);
+                        } else {
+                            Object value = BlueprintEngine.incomingValue(plan, index, i, element);
+                            if (slots[i] >= 0) {
+                                recordInputs.set(slots[i], value);
+                            } else {
+                                recordInputs.put(ports[i], value);
+                            }
+                        }
+                    }
+                    publish(node, terminal, out, recordInputs);
+                }
+            }
+            out.close();
+            stageFinished(null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            out.closeExceptionally(new CancellationException("Pipeline cancelado"));
+            stageFinished(null);
+        } catch (Throwable e) {
+            RuntimeException failure = new RuntimeException("Erro na execução do nó " + node.getName(), e);
+            out.closeExceptionally(failure);
+            stageFinished(failure);
+        } finally {
+            // Libera os produtores das entradas que ainda não terminaram
+            for (Inbound input : inputs) {
+                input.cancel();
+            }
+        }
+    }
+    
+    private void publish(Node node, boolean terminal, SubmissionPublisher<Object> out,
+                         Map<String, Object> recordInputs) throws Exception {
+        Map<String, Object> result;
+        if (ioLimiter != null && node.isIoBound()) {
+            ioLimiter.acquire();
+            try {
+                result = node.executeBatch(Collections.singletonList(recordInputs), context).get(0);
+            } finally {
+                ioLimiter.release();
+            }
+        } else {
+            result = node.executeBatch(Collections.singletonList(recordInputs), context).get(0);
+        }
+        Object element = terminal ? outputValue(node, result) : result;
+        if (element == null) {
+            if (terminal) {
+                return;
+            }
+            element = Collections.emptyMap();
+        }
+        out.submit(element);
+    }
+    
+    private static Object outputValue(Node node, Map<String, Object> result) {
+        if (result != null && node instanceof OutputNode) {
+            String outputName = ((OutputNode) node).getOutputName();
+            if (result.containsKey(outputName)) {
+                return result.get(outputName);
+            }
+        }
+        return result;
+    }
+    
+    private void stageFinished(Throwable failure) {
+        if (failure != null && completion.completeExceptionally(failure)) {
+            context.setStatus(ExecutionContext.ExecutionStatus.FAILED);
+        }
+        if (remainingStages.decrementAndGet() == 0) {
+            if (completion.complete(null)) {
+                context.setStatus(ExecutionContext.ExecutionStatus.COMPLETED);
+            }
+            if (ownsExecutor) {
+                stageExecutor.shutdown();
+            }
+        }
+    }
+    
+    private Inbound subscribe(Flow.Publisher<?> publisher) {
+        Inbound inbound = new Inbound(bufferSize);
+        inbounds.add(inbound);
+        publisher.subscribe(inbound);
+        return inbound;
+    }
+    
+    private int requireNode(String nodeId) {
+        int index = plan.indexOf(nodeId);
+        if (index < 0) {
+            throw new IllegalArgumentException("Nó não participa do pipeline: " + nodeId);
+        }
+        return index;
+    }
+    
+    private int requireOutput(String output) {
+        for (int index : plan.getOutputNodes()) {
+            Node node = plan.getNode(index);
+            String name = node instanceof OutputNode ? ((OutputNode) node).getOutputName() : node.getName();
+            if (node.getId().equals(output) || Objects.equals(name, output)) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Saída não encontrada: " + output);
+    }
+    
+    private void ensureNotStarted() {
+        if (started.get()) {
+            throw new IllegalStateException("Pipeline já iniciado");
+        }
+    }
+    
+    /**
+     * Entrada de um estágio: fila limitada alimentada por crédito
+     * Pede bufferSize elementos ao assinar e mais um a cada elemento consumido,
+     * então a fila nunca passa do tamanho do buffer.
+     */
+    private static final class Inbound implements Flow.Subscriber<Object> {
+        private final BlockingQueue<Object> queue;
+        private final int bufferSize;
+        private volatile Flow.Subscription subscription;
+        
+        Inbound(int bufferSize) {
+            // Uma posição extra para o sinal de término
+            this.queue = new ArrayBlockingQueue<>(bufferSize + 1);
+            this.bufferSize = bufferSize;
+        }
+        
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(bufferSize);
+        }
+        
+        @Override
+        public void onNext(Object item) {
+            if (!queue.offer(item)) {
+                onError(new IllegalStateException("Publicador excedeu a demanda solicitada"));
+            }
+        }
+        
+        @Override
+        public void onError(Throwable throwable) {
+            queue.offer(new Failure(throwable));
+        }
+        
+        @Override
+        public void onComplete() {
+            queue.offer(END);
+        }
+        
+        Object take() throws Exception {
+            Object element = queue.take();
+            if (element instanceof Failure) {
+                throw new RuntimeException("Falha no fluxo de entrada", ((Failure) element).cause);
+            }
+            if (element != END) {
+                subscription.request(1);
+            }
+            return element;
+        }
+        
+        void cancel() {
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+    
+    private static final class Failure {
+        private final Throwable cause;
+        
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
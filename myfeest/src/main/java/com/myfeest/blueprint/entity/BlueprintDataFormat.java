@@ -0,0 +1,17 @@
+package com.myfeest.blueprint.entity;
+
+/**
+ * Formato em que o conteúdo de um blueprint está gravado
+ */
+public enum BlueprintDataFormat {
+    
+    /**
+     * JSON do Jackson na coluna blueprint_data
+     */
+    JSON,
+    
+    /**
+     * Formato binário compacto (BlueprintBinaryCodec) na coluna blueprint_binary
+     */
+    BINARY
+}
@@ -31,9 +31,18 @@ public class BlueprintEntity {
     @Column(name = "description", length = 1000)
     private String description;
     
-    @Column(name = "blueprint_data", columnDefinition = "TEXT", nullable = false)
+    // Preenchido quando dataFormat = JSON
+    @Column(name = "blueprint_data", columnDefinition = "TEXT")
     private String blueprintData;
     
+    // Preenchido quando dataFormat = BINARY
+    @Column(name = "blueprint_binary", length = 16 * 1024 * 1024)
+    private byte[] blueprintBinary;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "data_format", length = 16, nullable = false)
+    private BlueprintDataFormat dataFormat = BlueprintDataFormat.JSON;
+    
     @Column(name = "version")
     private Integer version = 1;
     
@@ -100,6 +109,22 @@ public class BlueprintEntity {
         this.blueprintData = blueprintData;
     }
     
+    public byte[] getBlueprintBinary() {
+        return blueprintBinary;
+    }
+    
+    public void setBlueprintBinary(byte[] blueprintBinary) {
+        this.blueprintBinary = blueprintBinary;
+    }
+    
+    public BlueprintDataFormat getDataFormat() {
+        return dataFormat;
+    }
+    
+    public void setDataFormat(BlueprintDataFormat dataFormat) {
+        this.dataFormat = dataFormat;
+    }
+    
     public Integer getVersion() {
         return version;
     }
@@ -154,6 +179,7 @@ public class BlueprintEntity {
                 "id='" + id + '\'' +
                 ", name='" + name + '\'' +
                 ", description='" + description + '\'' +
+                ", dataFormat=" + dataFormat +
                 ", version=" + version +
                 ", isActive=" + isActive +
                 ", createdAt=" + createdAt +
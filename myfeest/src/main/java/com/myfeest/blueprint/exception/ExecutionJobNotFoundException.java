@@ -0,0 +1,16 @@
+package com.myfeest.blueprint.exception;
+
+/**
+ * Exceção lançada quando uma execução assíncrona não é encontrada
+ * (ID inválido ou já descartada após o período de retenção)
+ */
+public class ExecutionJobNotFoundException extends RuntimeException {
+    
+    public ExecutionJobNotFoundException(String message) {
+        super(message);
+    }
+    
+    public ExecutionJobNotFoundException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,184 @@
+package com.myfeest.blueprint.metrics;
+
+import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.engine.ExecutionListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas por nó do engine publicadas no Micrometer (actuator/prometheus)
+ *
+ * Os medidores são agregados pelo tipo do nó, criados uma única vez e
+ * mantidos em cache, então o caminho de execução não monta strings nem tags.
+ * Opcionalmente, um timer simples (sem histograma) por id de nó em
+ * {@link #NODE_EXECUTION_TIMER}; como ids são UUIDs ou vêm do cliente, o
+ * número de ids distintos é limitado e os excedentes não são medidos.
+ */
+public class MicrometerExecutionListener implements ExecutionListener {
+    
+    public static final String EXECUTION_TIMER = "blueprint.node.execution";
+    public static final String INVOCATIONS = "blueprint.node.invocations";
+    public static final String FAILURES = "blueprint.node.failures";
+    public static final String CACHE_HITS = "blueprint.node.cache.hits";
+    public static final String ELEMENTS = "blueprint.node.elements";
+    public static final String NODE_EXECUTION_TIMER = "blueprint.node.id.execution";
+    
+    public static final int DEFAULT_MAX_NODE_IDS = 100;
+    
+    private final MeterRegistry registry;
+    private final boolean tagNodeId;
+    private final int maxNodeIds;
+    private final ConcurrentMap<String, NodeMeters> meters;
+    private final ConcurrentMap<String, Timer> nodeTimers;
+    
+    public MicrometerExecutionListener(MeterRegistry registry, boolean tagNodeId) {
+        this(registry, tagNodeId, DEFAULT_MAX_NODE_IDS);
+    }
+    
+    /**
+     * @param tagNodeId  publica também {@link #NODE_EXECUTION_TIMER} com o id
+     *                   do nó nas tags
+     * @param maxNodeIds ids distintos medidos por id; os demais só entram nas
+     *                   métricas por tipo
+     */
+    public MicrometerExecutionListener(MeterRegistry registry, boolean tagNodeId, int maxNodeIds) {
+        if (maxNodeIds < 0) {
+            throw new IllegalArgumentException("maxNodeIds não pode ser negativo");
+        }
+        this.registry = registry;
+        this.tagNodeId = tagNodeId && maxNodeIds > 0;
+        this.maxNodeIds = maxNodeIds;
+        this.meters = new ConcurrentHashMap<>();
+        this.nodeTimers = new ConcurrentHashMap<>();
+        if (this.tagNodeId) {
+            // Também limita timers registrados no mesmo registry por outra instância
+            registry.config().meterFilter(
+                MeterFilter.maximumAllowableTags(NODE_EXECUTION_TIMER, "id", maxNodeIds, MeterFilter.deny()));
+        }
+    }
+    
+    @Override
+    public void nodeExecuted(Node node, long durationNanos, Map<String, Object> result) {
+        NodeMeters nodeMeters = metersFor(node);
+        nodeMeters.invocations.increment();
+        nodeMeters.executionTime.record(durationNanos, TimeUnit.NANOSECONDS);
+        nodeMeters.elements.record(elementsOf(result));
+        recordNode(node, durationNanos);
+    }
+    
+    @Override
+    public void nodeBatchExecuted(Node node, long durationNanos, List<Map<String, Object>> results) {
+        NodeMeters nodeMeters = metersFor(node);
+        nodeMeters.invocations.increment(results.size());
+        nodeMeters.executionTime.record(durationNanos, TimeUnit.NANOSECONDS);
+        for (Map<String, Object> result : results) {
+            nodeMeters.elements.record(elementsOf(result));
+        }
+        recordNode(node, durationNanos);
+    }
+    
+    @Override
+    public void nodeFailed(Node node, long durationNanos, Throwable error) {
+        NodeMeters nodeMeters = metersFor(node);
+        nodeMeters.invocations.increment();
+        nodeMeters.failures.increment();
+        nodeMeters.executionTime.record(durationNanos, TimeUnit.NANOSECONDS);
+        recordNode(node, durationNanos);
+    }
+    
+    @Override
+    public void nodeCacheHit(Node node) {
+        metersFor(node).cacheHits.increment();
+    }
+    
+    private NodeMeters metersFor(Node node) {
+        return meters.computeIfAbsent(node.getType(), type -> new NodeMeters(registry, type));
+    }
+    
+    private void recordNode(Node node, long durationNanos) {
+        if (!tagNodeId) {
+            return;
+        }
+        Timer timer = nodeTimers.get(node.getId());
+        if (timer == null) {
+            // Acima do limite o mapa não cresce mais (pode passar por pouco em corrida)
+            if (nodeTimers.size() >= maxNodeIds) {
+                return;
+            }
+            timer = nodeTimers.computeIfAbsent(node.getId(), id -> Timer.builder(NODE_EXECUTION_TIMER)
+                .description("Tempo de execução por nó")
+                .tags("type", node.getType(), "id", id)
+                .register(registry));
+        }
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Quantidade de elementos produzidos: tamanho da coleção/mapa/array do
+     * valor principal, 1 para valores simples e 0 quando não há valor
+     */
+    static int elementsOf(Map<String, Object> result) {
+        if (result == null) {
+            return 0;
+        }
+        Object value = result.containsKey("value") ? result.get("value") : result.get("output");
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Collection) {
+            return ((Collection<?>) value).size();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).size();
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value);
+        }
+        return 1;
+    }
+    
+    private static final class NodeMeters {
+        private final Timer executionTime;
+        private final Counter invocations;
+        private final Counter failures;
+        private final Counter cacheHits;
+        private final DistributionSummary elements;
+        
+        NodeMeters(MeterRegistry registry, String type) {
+            Tags tags = Tags.of("type", type);
+            this.executionTime = Timer.builder(EXECUTION_TIMER)
+                .description("Tempo de execução do nó")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(registry);
+            this.invocations = Counter.builder(INVOCATIONS)
+                .description("Execuções do nó")
+                .tags(tags)
+                .register(registry);
+            this.failures = Counter.builder(FAILURES)
+                .description("Execuções do nó que falharam")
+                .tags(tags)
+                .register(registry);
+            this.cacheHits = Counter.builder(CACHE_HITS)
+                .description("Resultados do nó reaproveitados do cache")
+                .tags(tags)
+                .register(registry);
+            this.elements = DistributionSummary.builder(ELEMENTS)
+                .description("Elementos produzidos por execução do nó")
+                .tags(tags)
+                .register(registry);
+        }
+    }
+}
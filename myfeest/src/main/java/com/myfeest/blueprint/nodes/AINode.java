@@ -38,12 +38,12 @@ public class AINode extends Node {
         Map<String, Object> result = new HashMap<>();
         
         // Busca dados de entrada
-        Object inputValue = getInput("text");
+        Object inputValue = getInput(context, "text");
         if (inputValue == null) {
-            inputValue = getInput("prompt");
+            inputValue = getInput(context, "prompt");
         }
         if (inputValue == null) {
-            inputValue = getInput("value");
+            inputValue = getInput(context, "value");
         }
         
         if (inputValue == null) {
@@ -174,6 +174,7 @@ public class AINode extends Node {
     @Override
     public Map<String, String> getOutputTypes() {
         Map<String, String> outputs = new HashMap<>();
+        outputs.put("value", "object");
         outputs.put("result", "object");
         outputs.put("model", "string");
         outputs.put("task", "string");
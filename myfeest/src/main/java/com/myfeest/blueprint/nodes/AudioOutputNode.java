@@ -37,9 +37,9 @@ public class AudioOutputNode extends Node {
         Map<String, Object> result = new HashMap<>();
         
         // Busca dados de áudio de entrada
-        Object audioInput = getInput("audio");
+        Object audioInput = getInput(context, "audio");
         if (audioInput == null) {
-            audioInput = getInput("value");
+            audioInput = getInput(context, "value");
         }
         
         if (audioInput == null) {
@@ -2,7 +2,10 @@ package com.myfeest.blueprint.nodes;
 
 import com.myfeest.blueprint.core.ExecutionContext;
 import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.core.PortLayout;
+import com.myfeest.blueprint.core.PortValues;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,6 +14,15 @@ import java.util.Map;
  */
 public class FilterNode extends Node {
     
+    // Chaves do resultado, na ordem dos slots
+    private static final PortLayout RESULT_LAYOUT =
+        PortLayout.of("value", "output", "condition", "passes", "original");
+    private static final int VALUE = 0;
+    private static final int OUTPUT = 1;
+    private static final int CONDITION = 2;
+    private static final int PASSES = 3;
+    private static final int ORIGINAL = 4;
+    
     private String condition;
     private Map<String, Object> parameters;
     
@@ -28,10 +40,10 @@ public class FilterNode extends Node {
     
     @Override
     public Map<String, Object> execute(ExecutionContext context) {
-        Map<String, Object> result = new HashMap<>();
+        PortValues result = new PortValues(RESULT_LAYOUT);
         
         // Busca dados de entrada
-        Object inputValue = getInput("value");
+        Object inputValue = getInput(context, "value");
         if (inputValue == null) {
             result.put("error", "Nenhum valor de entrada fornecido");
             return result;
@@ -41,11 +53,11 @@ public class FilterNode extends Node {
         boolean passes = evaluateCondition(inputValue, condition, parameters);
         Object output = passes ? inputValue : null;
         
-        result.put("value", output);
-        result.put("output", output);
-        result.put("condition", condition);
-        result.put("passes", passes);
-        result.put("original", inputValue);
+        result.set(VALUE, output);
+        result.set(OUTPUT, output);
+        result.set(CONDITION, condition);
+        result.set(PASSES, passes);
+        result.set(ORIGINAL, inputValue);
         
         // Armazena o resultado no contexto
         context.setNodeResult(getId(), result);
@@ -210,6 +222,16 @@ public class FilterNode extends Node {
         return false; // Condição não reconhecida
     }
     
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+    
+    @Override
+    public Object getConfigFingerprint() {
+        return Arrays.asList(condition, new HashMap<>(parameters));
+    }
+    
     @Override
     public boolean validate() {
         return condition != null && !condition.trim().isEmpty();
@@ -222,6 +244,11 @@ public class FilterNode extends Node {
         return inputs;
     }
     
+    @Override
+    public PortLayout getResultLayout() {
+        return RESULT_LAYOUT;
+    }
+    
     @Override
     public Map<String, String> getOutputTypes() {
         Map<String, String> outputs = new HashMap<>();
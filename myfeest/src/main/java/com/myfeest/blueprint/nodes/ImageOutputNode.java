@@ -37,9 +37,9 @@ public class ImageOutputNode extends Node {
         Map<String, Object> result = new HashMap<>();
         
         // Busca dados de imagem de entrada
-        Object imageInput = getInput("image");
+        Object imageInput = getInput(context, "image");
         if (imageInput == null) {
-            imageInput = getInput("value");
+            imageInput = getInput(context, "value");
         }
         
         if (imageInput == null) {
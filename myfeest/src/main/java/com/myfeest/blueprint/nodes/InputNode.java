@@ -2,8 +2,12 @@ package com.myfeest.blueprint.nodes;
 
 import com.myfeest.blueprint.core.ExecutionContext;
 import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.core.PortLayout;
+import com.myfeest.blueprint.core.PortValues;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -11,6 +15,11 @@ import java.util.Map;
  */
 public class InputNode extends Node {
     
+    // Chaves do resultado, na ordem dos slots
+    private static final PortLayout RESULT_LAYOUT = PortLayout.of("value", "type");
+    private static final int VALUE = 0;
+    private static final int TYPE = 1;
+    
     private Object value;
     private String dataType;
     
@@ -28,9 +37,9 @@ public class InputNode extends Node {
     
     @Override
     public Map<String, Object> execute(ExecutionContext context) {
-        Map<String, Object> result = new HashMap<>();
-        result.put("value", value);
-        result.put("type", dataType);
+        PortValues result = new PortValues(RESULT_LAYOUT);
+        result.set(VALUE, value);
+        result.set(TYPE, dataType);
         
         // Armazena o resultado no contexto
         context.setNodeResult(getId(), result);
@@ -38,6 +47,24 @@ public class InputNode extends Node {
         return result;
     }
     
+    /**
+     * Em lote, cada registro pode trazer o próprio valor na porta "value";
+     * sem ele, usa o valor configurado no nó
+     */
+    @Override
+    public List<Map<String, Object>> executeBatch(List<Map<String, Object>> batchInputs,
+                                                  ExecutionContext context) {
+        List<Map<String, Object>> results = new ArrayList<>(batchInputs.size());
+        for (Map<String, Object> recordInputs : batchInputs) {
+            Object recordValue = recordInputs.getOrDefault("value", value);
+            PortValues result = new PortValues(RESULT_LAYOUT);
+            result.set(VALUE, recordValue);
+            result.set(TYPE, recordValue != null ? recordValue.getClass().getSimpleName() : dataType);
+            results.add(result);
+        }
+        return results;
+    }
+    
     @Override
     public boolean validate() {
         return value != null;
@@ -48,6 +75,11 @@ public class InputNode extends Node {
         return new HashMap<>(); // Nós de entrada não têm entradas
     }
     
+    @Override
+    public PortLayout getResultLayout() {
+        return RESULT_LAYOUT;
+    }
+    
     @Override
     public Map<String, String> getOutputTypes() {
         Map<String, String> outputs = new HashMap<>();
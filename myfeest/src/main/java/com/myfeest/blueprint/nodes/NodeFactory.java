@@ -0,0 +1,238 @@
+package com.myfeest.blueprint.nodes;
+
+import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.nodes.advanced.AdvancedFilterNode;
+import com.myfeest.blueprint.nodes.advanced.AdvancedTransformNode;
+import com.myfeest.blueprint.nodes.custom.APINode;
+import com.myfeest.blueprint.nodes.custom.DatabaseNode;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Criação e configuração de nós a partir do tipo e de propriedades nomeadas
+ *
+ * Usado pelo editor web (tipos como "transform") e pelos formatos de
+ * persistência (o valor de {@link Node#getType()}, como "TransformNode" ou
+ * "api"); os tipos são comparados sem diferenciar maiúsculas.
+ * {@link #describe(Node)} e {@link #configure(Node, String, Object)} são
+ * inversos: as propriedades lidas de um nó recriam a mesma configuração.
+ */
+public final class NodeFactory {
+    
+    private static final Map<String, BiFunction<String, String, Node>> CONSTRUCTORS = new HashMap<>();
+    
+    static {
+        register(InputNode::new, "input", "InputNode");
+        register(OutputNode::new, "output", "OutputNode");
+        register(TransformNode::new, "transform", "TransformNode");
+        register(FilterNode::new, "filter", "FilterNode");
+        register(AINode::new, "ai", "AINode");
+        register(DatabaseNode::new, "database", "DatabaseNode");
+        register(APINode::new, "api", "APINode");
+        register(AdvancedTransformNode::new, "advanced_transform", "AdvancedTransformNode");
+        register(AdvancedFilterNode::new, "advanced_filter", "AdvancedFilterNode");
+        register(TextInputNode::new, "text_input", "TextInputNode");
+        register(TextOutputNode::new, "text_output", "TextOutputNode");
+    }
+    
+    private NodeFactory() {
+    }
+    
+    private static void register(BiFunction<String, String, Node> constructor, String... types) {
+        for (String type : types) {
+            CONSTRUCTORS.put(type.toLowerCase(), constructor);
+        }
+    }
+    
+    public static boolean isSupported(String type) {
+        return type != null && CONSTRUCTORS.containsKey(type.toLowerCase());
+    }
+    
+    /**
+     * Cria um nó sem configuração
+     * @return null se o tipo não é conhecido
+     */
+    public static Node create(String type, String id, String name) {
+        if (type == null) {
+            return null;
+        }
+        BiFunction<String, String, Node> constructor = CONSTRUCTORS.get(type.toLowerCase());
+        return constructor != null ? constructor.apply(id, name) : null;
+    }
+    
+    public static void configure(Node node, Map<String, Object> properties) {
+        for (Map.Entry<String, Object> entry : properties.entrySet()) {
+            configure(node, entry.getKey(), entry.getValue());
+        }
+    }
+    
+    /**
+     * Aplica uma propriedade ao nó; chaves que o tipo não reconhece são
+     * ignoradas
+     */
+    public static void configure(Node node, String key, Object value) {
+        if (node instanceof InputNode) {
+            InputNode inputNode = (InputNode) node;
+            if ("value".equals(key)) {
+                inputNode.setValue(value);
+            } else if ("dataType".equals(key)) {
+                inputNode.setDataType(asString(value));
+            }
+        } else if (node instanceof OutputNode) {
+            OutputNode outputNode = (OutputNode) node;
+            if ("outputName".equals(key)) {
+                outputNode.setOutputName(asString(value));
+            } else if ("dataType".equals(key)) {
+                outputNode.setDataType(asString(value));
+            }
+        } else if (node instanceof TransformNode) {
+            TransformNode transformNode = (TransformNode) node;
+            if ("operation".equals(key)) {
+                transformNode.setOperation(asString(value));
+            } else if ("parameters".equals(key)) {
+                transformNode.setParameters(asMap(value));
+            }
+        } else if (node instanceof FilterNode) {
+            FilterNode filterNode = (FilterNode) node;
+            if ("condition".equals(key)) {
+                filterNode.setCondition(asString(value));
+            } else if ("parameters".equals(key)) {
+                filterNode.setParameters(asMap(value));
+            }
+        } else if (node instanceof AINode) {
+            AINode aiNode = (AINode) node;
+            if ("model".equals(key)) {
+                aiNode.setModel(asString(value));
+            } else if ("task".equals(key)) {
+                aiNode.setTask(asString(value));
+            } else if ("parameters".equals(key)) {
+                aiNode.setParameters(asMap(value));
+            }
+        } else if (node instanceof DatabaseNode) {
+            DatabaseNode dbNode = (DatabaseNode) node;
+            if ("operation".equals(key)) {
+                dbNode.setOperation(asString(value));
+            } else if ("table".equals(key)) {
+                dbNode.setTable(asString(value));
+            } else if ("parameters".equals(key)) {
+                dbNode.setParameters(asMap(value));
+            }
+        } else if (node instanceof APINode) {
+            APINode apiNode = (APINode) node;
+            if ("method".equals(key)) {
+                apiNode.setMethod(asString(value));
+            } else if ("url".equals(key)) {
+                apiNode.setUrl(asString(value));
+            } else if ("headers".equals(key)) {
+                apiNode.setHeaders(asMap(value));
+            } else if ("body".equals(key)) {
+                apiNode.setBody(asMap(value));
+            }
+        } else if (node instanceof AdvancedTransformNode) {
+            AdvancedTransformNode advTransformNode = (AdvancedTransformNode) node;
+            if ("operation".equals(key)) {
+                advTransformNode.setOperation(asString(value));
+            } else if ("parameters".equals(key)) {
+                advTransformNode.setParameters(asMap(value));
+            }
+        } else if (node instanceof AdvancedFilterNode) {
+            AdvancedFilterNode advFilterNode = (AdvancedFilterNode) node;
+            if ("condition".equals(key)) {
+                advFilterNode.setCondition(asString(value));
+            } else if ("parameters".equals(key)) {
+                advFilterNode.setParameters(asMap(value));
+            }
+        } else if (node instanceof TextInputNode) {
+            TextInputNode textInputNode = (TextInputNode) node;
+            if ("prompt".equals(key) || "text".equals(key)) {
+                textInputNode.setPrompt(asString(value));
+            } else if ("language".equals(key)) {
+                textInputNode.setLanguage(asString(value));
+            } else if ("maxLength".equals(key) && value instanceof Number) {
+                textInputNode.setMaxLength(((Number) value).intValue());
+            }
+        } else if (node instanceof TextOutputNode) {
+            TextOutputNode textOutputNode = (TextOutputNode) node;
+            if ("format".equals(key)) {
+                textOutputNode.setFormat(asString(value));
+            } else if ("destination".equals(key)) {
+                textOutputNode.setDestination(asString(value));
+            } else if ("includeMetadata".equals(key) && value instanceof Boolean) {
+                textOutputNode.setIncludeMetadata((Boolean) value);
+            }
+        }
+    }
+    
+    /**
+     * Propriedades de configuração do nó, nas mesmas chaves aceitas por
+     * {@link #configure(Node, String, Object)}
+     */
+    public static Map<String, Object> describe(Node node) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        if (node instanceof InputNode) {
+            InputNode inputNode = (InputNode) node;
+            properties.put("value", inputNode.getValue());
+            properties.put("dataType", inputNode.getDataType());
+        } else if (node instanceof OutputNode) {
+            OutputNode outputNode = (OutputNode) node;
+            properties.put("outputName", outputNode.getOutputName());
+            properties.put("dataType", outputNode.getDataType());
+        } else if (node instanceof TransformNode) {
+            TransformNode transformNode = (TransformNode) node;
+            properties.put("operation", transformNode.getOperation());
+            properties.put("parameters", transformNode.getParameters());
+        } else if (node instanceof FilterNode) {
+            FilterNode filterNode = (FilterNode) node;
+            properties.put("condition", filterNode.getCondition());
+            properties.put("parameters", filterNode.getParameters());
+        } else if (node instanceof AINode) {
+            AINode aiNode = (AINode) node;
+            properties.put("model", aiNode.getModel());
+            properties.put("task", aiNode.getTask());
+            properties.put("parameters", aiNode.getParameters());
+        } else if (node instanceof DatabaseNode) {
+            DatabaseNode dbNode = (DatabaseNode) node;
+            properties.put("operation", dbNode.getOperation());
+            properties.put("table", dbNode.getTable());
+            properties.put("parameters", dbNode.getParameters());
+        } else if (node instanceof APINode) {
+            APINode apiNode = (APINode) node;
+            properties.put("method", apiNode.getMethod());
+            properties.put("url", apiNode.getUrl());
+            properties.put("headers", apiNode.getHeaders());
+            properties.put("body", apiNode.getBody());
+        } else if (node instanceof AdvancedTransformNode) {
+            AdvancedTransformNode advTransformNode = (AdvancedTransformNode) node;
+            properties.put("operation", advTransformNode.getOperation());
+            properties.put("parameters", advTransformNode.getParameters());
+        } else if (node instanceof AdvancedFilterNode) {
+            AdvancedFilterNode advFilterNode = (AdvancedFilterNode) node;
+            properties.put("condition", advFilterNode.getCondition());
+            properties.put("parameters", advFilterNode.getParameters());
+        } else if (node instanceof TextInputNode) {
+            TextInputNode textInputNode = (TextInputNode) node;
+            properties.put("prompt", textInputNode.getPrompt());
+            properties.put("language", textInputNode.getLanguage());
+            properties.put("maxLength", textInputNode.getMaxLength());
+        } else if (node instanceof TextOutputNode) {
+            TextOutputNode textOutputNode = (TextOutputNode) node;
+            properties.put("format", textOutputNode.getFormat());
+            properties.put("destination", textOutputNode.getDestination());
+            properties.put("includeMetadata", textOutputNode.isIncludeMetadata());
+        }
+        properties.values().removeIf(value -> value == null);
+        return properties;
+    }
+    
+    private static String asString(Object value) {
+        return value != null ? value.toString() : null;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? new HashMap<>((Map<String, Object>) value) : new HashMap<>();
+    }
+}
@@ -2,6 +2,8 @@ package com.myfeest.blueprint.nodes;
 
 import com.myfeest.blueprint.core.ExecutionContext;
 import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.core.PortLayout;
+import com.myfeest.blueprint.core.PortValues;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -13,6 +15,7 @@ public class OutputNode extends Node {
     
     private String outputName;
     private String dataType;
+    private volatile PortLayout resultLayout;
     
     public OutputNode(String id, String name) {
         super(id, name);
@@ -28,20 +31,21 @@ public class OutputNode extends Node {
     
     @Override
     public Map<String, Object> execute(ExecutionContext context) {
-        Map<String, Object> result = new HashMap<>();
+        // O nome da saída pode coincidir com "value"/"output"/"type"; o último put prevalece
+        PortValues result = new PortValues(getResultLayout());
         
         // Busca dados de entrada (estilo Unreal Engine 5)
         // Tenta buscar na ordem: output -> value -> result -> qualquer entrada disponível
-        Object inputValue = getInput("output");
+        Object inputValue = getInput(context, "output");
         if (inputValue == null) {
-            inputValue = getInput("value");
+            inputValue = getInput(context, "value");
         }
         if (inputValue == null) {
-            inputValue = getInput("result");
+            inputValue = getInput(context, "result");
         }
         if (inputValue == null) {
             // Se não encontrar campos padrão, busca qualquer entrada disponível
-            Map<String, Object> inputs = getInputs();
+            Map<String, Object> inputs = getInputs(context);
             if (!inputs.isEmpty()) {
                 inputValue = inputs.values().iterator().next();
             }
@@ -83,6 +87,19 @@ public class OutputNode extends Node {
         return inputs;
     }
     
+    /**
+     * Chaves do resultado: o nome da saída, "value", "output" e "type"
+     */
+    @Override
+    public PortLayout getResultLayout() {
+        PortLayout layout = resultLayout;
+        if (layout == null) {
+            layout = PortLayout.of(outputName, "value", "output", "type");
+            resultLayout = layout;
+        }
+        return layout;
+    }
+    
     @Override
     public Map<String, String> getOutputTypes() {
         Map<String, String> outputs = new HashMap<>();
@@ -98,6 +115,8 @@ public class OutputNode extends Node {
     
     public void setOutputName(String outputName) {
         this.outputName = outputName;
+        this.resultLayout = null;
+        resetPortLayouts();
     }
     
     public String getDataType() {
@@ -34,12 +34,12 @@ public class TextOutputNode extends Node {
         Map<String, Object> result = new HashMap<>();
         
         // Busca dados de texto de entrada
-        Object textInput = getInput("text");
+        Object textInput = getInput(context, "text");
         if (textInput == null) {
-            textInput = getInput("result");
+            textInput = getInput(context, "result");
         }
         if (textInput == null) {
-            textInput = getInput("value");
+            textInput = getInput(context, "value");
         }
         
         if (textInput == null) {
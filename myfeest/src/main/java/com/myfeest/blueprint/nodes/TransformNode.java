@@ -2,8 +2,13 @@ package com.myfeest.blueprint.nodes;
 
 import com.myfeest.blueprint.core.ExecutionContext;
 import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.core.PortLayout;
+import com.myfeest.blueprint.core.PortValues;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -11,6 +16,13 @@ import java.util.Map;
  */
 public class TransformNode extends Node {
     
+    // Chaves do resultado, na ordem dos slots
+    private static final PortLayout RESULT_LAYOUT = PortLayout.of("value", "output", "operation", "original");
+    private static final int VALUE = 0;
+    private static final int OUTPUT = 1;
+    private static final int OPERATION = 2;
+    private static final int ORIGINAL = 3;
+    
     private String operation;
     private Map<String, Object> parameters;
     
@@ -28,10 +40,10 @@ public class TransformNode extends Node {
     
     @Override
     public Map<String, Object> execute(ExecutionContext context) {
-        Map<String, Object> result = new HashMap<>();
+        PortValues result = new PortValues(RESULT_LAYOUT);
         
         // Busca dados de entrada
-        Object inputValue = getInput("value");
+        Object inputValue = getInput(context, "value");
         if (inputValue == null) {
             result.put("error", "Nenhum valor de entrada fornecido");
             return result;
@@ -40,10 +52,10 @@ public class TransformNode extends Node {
         // Aplica a transformação
         Object output = applyTransformation(inputValue, operation, parameters);
         
-        result.put("value", output);
-        result.put("output", output);
-        result.put("operation", operation);
-        result.put("original", inputValue);
+        result.set(VALUE, output);
+        result.set(OUTPUT, output);
+        result.set(OPERATION, operation);
+        result.set(ORIGINAL, inputValue);
         
         // Armazena o resultado no contexto
         context.setNodeResult(getId(), result);
@@ -51,8 +63,41 @@ public class TransformNode extends Node {
         return result;
     }
     
+    /**
+     * Aplica a transformação à coluna inteira: a operação é resolvida uma
+     * única vez e os registros são processados em sequência, sem passar
+     * pelas entradas do nó nem pelo contexto a cada registro
+     */
+    @Override
+    public List<Map<String, Object>> executeBatch(List<Map<String, Object>> batchInputs,
+                                                  ExecutionContext context) {
+        String op = operation.toLowerCase();
+        List<Map<String, Object>> results = new ArrayList<>(batchInputs.size());
+        
+        for (Map<String, Object> recordInputs : batchInputs) {
+            PortValues result = new PortValues(RESULT_LAYOUT);
+            Object inputValue = recordInputs.get("value");
+            if (inputValue == null) {
+                result.put("error", "Nenhum valor de entrada fornecido");
+            } else {
+                Object output = applyLowercaseOperation(inputValue, op, parameters);
+                result.set(VALUE, output);
+                result.set(OUTPUT, output);
+                result.set(OPERATION, operation);
+                result.set(ORIGINAL, inputValue);
+            }
+            results.add(result);
+        }
+        
+        return results;
+    }
+    
     private Object applyTransformation(Object input, String operation, Map<String, Object> params) {
-        switch (operation.toLowerCase()) {
+        return applyLowercaseOperation(input, operation.toLowerCase(), params);
+    }
+    
+    private Object applyLowercaseOperation(Object input, String operation, Map<String, Object> params) {
+        switch (operation) {
             case "uppercase":
                 if (input instanceof String) {
                     return ((String) input).toUpperCase();
@@ -111,6 +156,21 @@ public class TransformNode extends Node {
         return input; // Retorna o valor original se a operação não for aplicável
     }
     
+    @Override
+    public PortLayout getResultLayout() {
+        return RESULT_LAYOUT;
+    }
+    
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+    
+    @Override
+    public Object getConfigFingerprint() {
+        return Arrays.asList(operation, new HashMap<>(parameters));
+    }
+    
     @Override
     public boolean validate() {
         return operation != null && !operation.trim().isEmpty();
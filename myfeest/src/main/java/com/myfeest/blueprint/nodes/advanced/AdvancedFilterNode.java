@@ -323,6 +323,22 @@ public class AdvancedFilterNode extends Node {
         }
     }
     
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+    
+    @Override
+    public Object getConfigFingerprint() {
+        return Arrays.asList(condition, new HashMap<>(parameters));
+    }
+    
+    @Override
+    public Object getInputFingerprint(ExecutionContext context) {
+        // A entrada deste nó vem do dado global "data"
+        return Arrays.asList(context.getGlobalData("data"));
+    }
+    
     @Override
     public boolean validate() {
         return condition != null && !condition.trim().isEmpty();
@@ -528,6 +528,22 @@ public class AdvancedTransformNode extends Node {
         return parameters.getOrDefault("default_value", "Hello World");
     }
     
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+    
+    @Override
+    public Object getConfigFingerprint() {
+        return Arrays.asList(operation, new HashMap<>(parameters));
+    }
+    
+    @Override
+    public Object getInputFingerprint(ExecutionContext context) {
+        // A entrada deste nó vem do dado global "data"
+        return Arrays.asList(context.getGlobalData("data"));
+    }
+    
     @Override
     public boolean validate() {
         return operation != null && !operation.trim().isEmpty() && 
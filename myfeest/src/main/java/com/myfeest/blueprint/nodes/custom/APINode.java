@@ -151,6 +151,7 @@ public class APINode extends Node {
     @Override
     public Map<String, String> getOutputTypes() {
         Map<String, String> outputs = new HashMap<>();
+        outputs.put("value", "object");
         outputs.put("response", "object");
         outputs.put("method", "string");
         outputs.put("url", "string");
@@ -164,6 +165,11 @@ public class APINode extends Node {
     public String getType() {
         return "api";
     }
+    
+    @Override
+    public boolean isIoBound() {
+        return true;
+    }
 
     @Override
     public boolean isInputNode() {
@@ -130,6 +130,7 @@ public class DatabaseNode extends Node {
     @Override
     public Map<String, String> getOutputTypes() {
         Map<String, String> outputs = new HashMap<>();
+        outputs.put("value", "object");
         outputs.put("data", "object");
         outputs.put("operation", "string");
         outputs.put("table", "string");
@@ -143,6 +144,11 @@ public class DatabaseNode extends Node {
     public String getType() {
         return "database";
     }
+    
+    @Override
+    public boolean isIoBound() {
+        return true;
+    }
 
     @Override
     public boolean isInputNode() {
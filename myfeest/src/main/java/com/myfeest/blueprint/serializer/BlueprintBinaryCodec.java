@@ -0,0 +1,399 @@
+package com.myfeest.blueprint.serializer;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.core.Position;
+import com.myfeest.blueprint.nodes.NodeFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Formato binário compacto e versionado para blueprints
+ *
+ * Layout (versão 2):
+ * <pre>
+ * 'B' 'P' versão
+ * tabela de strings: varint n, n × (varint tamanho, bytes UTF-8)
+ * blueprint: id, nome, descrição, metadados
+ * nós: varint n, n × (id, nome, tipo, x, y, configuração, propriedades)
+ * conexões: varint n, n × (id, índice origem, índice destino, porta origem,
+ *           porta destino, tipo)
+ * </pre>
+ *
+ * Toda string (IDs, tipos, chaves de propriedade) é gravada uma única vez na
+ * tabela e referenciada por índice varint (0 = null); conexões apontam para
+ * os nós pela posição na lista. A configuração de cada nó vem de
+ * {@link NodeFactory#describe(Node)}, portanto só tipos conhecidos pela
+ * fábrica podem ser codificados (veja {@link #supports(Blueprint)}).
+ *
+ * Valores aceitos em propriedades e metadados: null, String, Boolean,
+ * Long/Integer/Short/Byte, Float/Double, List e Map com chaves String. Cada
+ * tipo numérico tem o seu marcador e volta com o mesmo tipo; a versão 1 só
+ * conhecia Long e Double e continua legível.
+ */
+public final class BlueprintBinaryCodec {
+    
+    public static final int FORMAT_VERSION = 2;
+    
+    private static final byte MAGIC_0 = 'B';
+    private static final byte MAGIC_1 = 'P';
+    
+    // Marcadores de tipo dos valores
+    private static final int VALUE_NULL = 0;
+    private static final int VALUE_STRING = 1;
+    private static final int VALUE_LONG = 2;
+    private static final int VALUE_DOUBLE = 3;
+    private static final int VALUE_TRUE = 4;
+    private static final int VALUE_FALSE = 5;
+    private static final int VALUE_LIST = 6;
+    private static final int VALUE_MAP = 7;
+    // Versão 2
+    private static final int VALUE_INT = 8;
+    private static final int VALUE_SHORT = 9;
+    private static final int VALUE_BYTE = 10;
+    private static final int VALUE_FLOAT = 11;
+    
+    /**
+     * Indica se todos os nós do blueprint têm tipo conhecido pelo formato
+     */
+    public boolean supports(Blueprint blueprint) {
+        for (Node node : blueprint.getNodes()) {
+            if (!NodeFactory.isSupported(node.getType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Indica se os bytes começam com o cabeçalho deste formato
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 3 && data[0] == MAGIC_0 && data[1] == MAGIC_1;
+    }
+    
+    public byte[] encode(Blueprint blueprint) {
+        Encoder body = new Encoder();
+        
+        body.string(blueprint.getId());
+        body.string(blueprint.getName());
+        body.string(blueprint.getDescription());
+        body.value(blueprint.getMetadata());
+        
+        List<Node> nodes = blueprint.getNodes();
+        Map<String, Integer> nodeIndex = new HashMap<>(nodes.size() * 2);
+        body.varint(nodes.size());
+        for (Node node : nodes) {
+            if (!NodeFactory.isSupported(node.getType())) {
+                throw new IllegalArgumentException("Tipo de nó não suportado pelo formato binário: " + node.getType());
+            }
+            nodeIndex.put(node.getId(), nodeIndex.size());
+            body.string(node.getId());
+            body.string(node.getName());
+            body.string(node.getType());
+            Position position = node.getPosition();
+            body.doubleValue(position != null ? position.getX() : 0);
+            body.doubleValue(position != null ? position.getY() : 0);
+            body.value(NodeFactory.describe(node));
+            body.value(node.getProperties());
+        }
+        
+        List<Connection> connections = blueprint.getConnections();
+        body.varint(connections.size());
+        for (Connection connection : connections) {
+            body.string(connection.getId());
+            body.varint(indexOf(nodeIndex, connection.getFromNodeId()));
+            body.varint(indexOf(nodeIndex, connection.getToNodeId()));
+            body.string(connection.getFromPort());
+            body.string(connection.getToPort());
+            body.string(connection.getType().name());
+        }
+        
+        return body.finish();
+    }
+    
+    public Blueprint decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("Dados não estão no formato binário de blueprint");
+        }
+        int version = data[2] & 0xFF;
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalArgumentException("Versão do formato binário não suportada: " + version);
+        }
+        
+        try {
+            Decoder in = new Decoder(data, 3);
+            Blueprint blueprint = new Blueprint(in.string(), in.string());
+            blueprint.setDescription(in.string());
+            Map<String, Object> metadata = asMap(in.value());
+            if (metadata != null) {
+                blueprint.setMetadata(metadata);
+            }
+            
+            int nodeCount = in.varint();
+            String[] nodeIds = new String[nodeCount];
+            for (int i = 0; i < nodeCount; i++) {
+                String id = in.string();
+                String name = in.string();
+                String type = in.string();
+                Node node = NodeFactory.create(type, id, name);
+                if (node == null) {
+                    throw new IllegalArgumentException("Tipo de nó desconhecido: " + type);
+                }
+                node.setPosition(new Position(in.doubleValue(), in.doubleValue()));
+                Map<String, Object> configuration = asMap(in.value());
+                if (configuration != null) {
+                    NodeFactory.configure(node, configuration);
+                }
+                Map<String, Object> properties = asMap(in.value());
+                if (properties != null) {
+                    node.setProperties(properties);
+                }
+                nodeIds[i] = node.getId();
+                blueprint.addNode(node);
+            }
+            
+            int connectionCount = in.varint();
+            for (int i = 0; i < connectionCount; i++) {
+                String id = in.string();
+                String from = nodeIds[in.varint()];
+                String to = nodeIds[in.varint()];
+                String fromPort = in.string();
+                String toPort = in.string();
+                Connection.ConnectionType type = Connection.ConnectionType.valueOf(in.string());
+                blueprint.addConnection(new Connection(id, from, to, fromPort, toPort, type));
+            }
+            return blueprint;
+        } catch (IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Blueprint binário truncado ou corrompido", e);
+        }
+    }
+    
+    private static int indexOf(Map<String, Integer> nodeIndex, String nodeId) {
+        Integer index = nodeIndex.get(nodeId);
+        if (index == null) {
+            throw new IllegalArgumentException("Conexão referencia nó inexistente: " + nodeId);
+        }
+        return index;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : null;
+    }
+    
+    /**
+     * Escreve o corpo em um buffer enquanto monta a tabela de strings; ao
+     * final junta cabeçalho, tabela e corpo
+     */
+    private static final class Encoder {
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index == null) {
+                index = strings.size() + 1;
+                strings.put(value, index);
+            }
+            varint(index);
+        }
+        
+        void varint(int value) {
+            writeVarint(body, value & 0xFFFFFFFFL);
+        }
+        
+        void doubleValue(double value) {
+            long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                body.write((int) (bits >>> shift));
+            }
+        }
+        
+        void zigzag(long n) {
+            // zigzag: números negativos pequenos também ocupam poucos bytes
+            writeVarint(body, (n << 1) ^ (n >> 63));
+        }
+        
+        void value(Object value) {
+            if (value == null) {
+                body.write(VALUE_NULL);
+            } else if (value instanceof String) {
+                body.write(VALUE_STRING);
+                string((String) value);
+            } else if (value instanceof Boolean) {
+                body.write((Boolean) value ? VALUE_TRUE : VALUE_FALSE);
+            } else if (value instanceof Long) {
+                body.write(VALUE_LONG);
+                zigzag((Long) value);
+            } else if (value instanceof Integer) {
+                body.write(VALUE_INT);
+                zigzag((Integer) value);
+            } else if (value instanceof Short) {
+                body.write(VALUE_SHORT);
+                zigzag((Short) value);
+            } else if (value instanceof Byte) {
+                body.write(VALUE_BYTE);
+                zigzag((Byte) value);
+            } else if (value instanceof Double) {
+                body.write(VALUE_DOUBLE);
+                doubleValue((Double) value);
+            } else if (value instanceof Float) {
+                body.write(VALUE_FLOAT);
+                // float -> double é exato; a leitura volta ao mesmo float
+                doubleValue((Float) value);
+            } else if (value instanceof List) {
+                List<?> list = (List<?>) value;
+                body.write(VALUE_LIST);
+                varint(list.size());
+                for (Object item : list) {
+                    value(item);
+                }
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                body.write(VALUE_MAP);
+                varint(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    string(String.valueOf(entry.getKey()));
+                    value(entry.getValue());
+                }
+            } else {
+                throw new IllegalArgumentException("Valor não suportado pelo formato binário: "
+                    + value.getClass().getName());
+            }
+        }
+        
+        byte[] finish() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.size() + strings.size() * 12 + 8);
+            out.write(MAGIC_0);
+            out.write(MAGIC_1);
+            out.write(FORMAT_VERSION);
+            writeVarint(out, strings.size());
+            for (String value : strings.keySet()) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(out, bytes.length);
+                out.write(bytes, 0, bytes.length);
+            }
+            out.writeBytes(body.toByteArray());
+            return out.toByteArray();
+        }
+        
+        private static void writeVarint(ByteArrayOutputStream out, long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+    }
+    
+    /**
+     * Lê o corpo a partir de um array, resolvendo referências na tabela de
+     * strings
+     */
+    private static final class Decoder {
+        private final byte[] data;
+        private int pos;
+        private final String[] strings;
+        
+        Decoder(byte[] data, int offset) {
+            this.data = data;
+            this.pos = offset;
+            int count = varint();
+            this.strings = new String[count];
+            for (int i = 0; i < count; i++) {
+                int length = varint();
+                strings[i] = new String(data, pos, length, StandardCharsets.UTF_8);
+                pos += length;
+            }
+        }
+        
+        String string() {
+            int index = varint();
+            return index == 0 ? null : strings[index - 1];
+        }
+        
+        int varint() {
+            return (int) varlong();
+        }
+        
+        long varlong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = data[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint inválido");
+        }
+        
+        double doubleValue() {
+            long bits = 0;
+            for (int i = 0; i < 8; i++) {
+                bits = (bits << 8) | (data[pos++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+        
+        long zigzag() {
+            long n = varlong();
+            return (n >>> 1) ^ -(n & 1);
+        }
+        
+        Object value() {
+            int tag = data[pos++];
+            switch (tag) {
+                case VALUE_NULL:
+                    return null;
+                case VALUE_STRING:
+                    return string();
+                case VALUE_LONG:
+                    return zigzag();
+                case VALUE_INT:
+                    return (int) zigzag();
+                case VALUE_SHORT:
+                    return (short) zigzag();
+                case VALUE_BYTE:
+                    return (byte) zigzag();
+                case VALUE_DOUBLE:
+                    return doubleValue();
+                case VALUE_FLOAT:
+                    return (float) doubleValue();
+                case VALUE_TRUE:
+                    return Boolean.TRUE;
+                case VALUE_FALSE:
+                    return Boolean.FALSE;
+                case VALUE_LIST:
+                    int size = varint();
+                    List<Object> list = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        list.add(value());
+                    }
+                    return list;
+                case VALUE_MAP:
+                    int entries = varint();
+                    Map<String, Object> map = new LinkedHashMap<>(entries * 2);
+                    for (int i = 0; i < entries; i++) {
+                        String key = string();
+                        map.put(key, value());
+                    }
+                    return map;
+                default:
+                    throw new IllegalArgumentException("Marcador de valor desconhecido: " + tag);
+            }
+        }
+    }
+}
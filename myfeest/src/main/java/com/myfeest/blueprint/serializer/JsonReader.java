@@ -0,0 +1,490 @@
+package com.myfeest.blueprint.serializer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitor JSON em fluxo (pull parser) sem dependências externas
+ *
+ * Percorre a entrada uma única vez, em blocos de um buffer fixo, e entrega um
+ * token por vez; quem chama decide o que materializar. Assim um blueprint é
+ * montado diretamente a partir do corpo da requisição, sem cópias
+ * intermediárias do texto, e valores ignorados são descartados sem alocação.
+ *
+ * Uso típico:
+ * <pre>
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *     switch (reader.nextName()) {
+ *         case "name": name = reader.nextString(); break;
+ *         default: reader.skipValue();
+ *     }
+ * }
+ * reader.endObject();
+ * </pre>
+ *
+ * JSON malformado gera {@link IllegalArgumentException} com a posição do erro.
+ */
+public final class JsonReader {
+    
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY,
+        NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+    
+    private static final int BUFFER_SIZE = 8192;
+    
+    // Escopos da pilha de aninhamento
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+    
+    private final Reader in;
+    private final char[] buffer;
+    private int pos;
+    private int limit;
+    private long consumed;
+    
+    private int[] stack;
+    private int depth;
+    
+    private Token peeked;
+    private boolean peekedBoolean;
+    
+    public JsonReader(Reader in) {
+        this.in = in;
+        this.buffer = new char[BUFFER_SIZE];
+        this.stack = new int[32];
+        this.stack[depth++] = EMPTY_DOCUMENT;
+    }
+    
+    /**
+     * Tipo do próximo token, sem consumi-lo
+     */
+    public Token peek() throws IOException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+    
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+    
+    public void beginObject() throws IOException {
+        expect(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+    
+    public void endObject() throws IOException {
+        expect(Token.END_OBJECT);
+        depth--;
+    }
+    
+    public void beginArray() throws IOException {
+        expect(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+    
+    public void endArray() throws IOException {
+        expect(Token.END_ARRAY);
+        depth--;
+    }
+    
+    /**
+     * Confirma que não há nada além do valor principal
+     */
+    public void endDocument() throws IOException {
+        expect(Token.END_DOCUMENT);
+    }
+    
+    public String nextName() throws IOException {
+        expect(Token.NAME);
+        return readString();
+    }
+    
+    /**
+     * Próximo valor como texto; números e booleanos são convertidos
+     */
+    public String nextString() throws IOException {
+        Token token = peek();
+        switch (token) {
+            case STRING:
+                peeked = null;
+                return readString();
+            case NUMBER:
+                peeked = null;
+                return readNumberText();
+            case BOOLEAN:
+                peeked = null;
+                return String.valueOf(peekedBoolean);
+            default:
+                throw syntaxError("Esperado texto, encontrado " + token);
+        }
+    }
+    
+    /**
+     * Próximo número: Long quando inteiro, Double nos demais casos
+     */
+    public Number nextNumber() throws IOException {
+        expect(Token.NUMBER);
+        String text = readNumberText();
+        try {
+            if (text.indexOf('.') < 0 && text.indexOf('e') < 0 && text.indexOf('E') < 0) {
+                try {
+                    return Long.parseLong(text);
+                } catch (NumberFormatException overflow) {
+                    return Double.parseDouble(text);
+                }
+            }
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Número inválido: " + text);
+        }
+    }
+    
+    public boolean nextBoolean() throws IOException {
+        expect(Token.BOOLEAN);
+        return peekedBoolean;
+    }
+    
+    public void nextNull() throws IOException {
+        expect(Token.NULL);
+    }
+    
+    /**
+     * Descarta o próximo valor (inclusive objetos e arrays inteiros) sem
+     * materializá-lo
+     */
+    public void skipValue() throws IOException {
+        int level = 0;
+        do {
+            Token token = peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                    beginObject();
+                    level++;
+                    break;
+                case BEGIN_ARRAY:
+                    beginArray();
+                    level++;
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    level--;
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    level--;
+                    break;
+                case NAME:
+                case STRING:
+                    peeked = null;
+                    skipString();
+                    break;
+                case NUMBER:
+                    peeked = null;
+                    readNumberText();
+                    break;
+                case BOOLEAN:
+                case NULL:
+                    peeked = null;
+                    break;
+                default:
+                    throw syntaxError("Fim inesperado do documento");
+            }
+        } while (level > 0);
+    }
+    
+    /**
+     * Lê o próximo valor como Map (LinkedHashMap), List, String, Number,
+     * Boolean ou null. Indicado para trechos pequenos, como as propriedades
+     * de um nó.
+     */
+    public Object readValue() throws IOException {
+        Token token = peek();
+        switch (token) {
+            case BEGIN_OBJECT:
+                Map<String, Object> map = new LinkedHashMap<>();
+                beginObject();
+                while (hasNext()) {
+                    String name = nextName();
+                    map.put(name, readValue());
+                }
+                endObject();
+                return map;
+            case BEGIN_ARRAY:
+                List<Object> list = new ArrayList<>();
+                beginArray();
+                while (hasNext()) {
+                    list.add(readValue());
+                }
+                endArray();
+                return list;
+            case STRING:
+                return nextString();
+            case NUMBER:
+                return nextNumber();
+            case BOOLEAN:
+                return nextBoolean();
+            case NULL:
+                nextNull();
+                return null;
+            default:
+                throw syntaxError("Esperado um valor, encontrado " + token);
+        }
+    }
+    
+    private Token doPeek() throws IOException {
+        int c;
+        switch (stack[depth - 1]) {
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                if (c != -1) {
+                    pos--;
+                }
+                break;
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return Token.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("Esperado ',' ou ']'");
+                }
+                break;
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return Token.END_OBJECT;
+                }
+                if (stack[depth - 1] == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Esperado ',' ou '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Esperado nome de campo entre aspas");
+                }
+                stack[depth - 1] = DANGLING_NAME;
+                return Token.NAME;
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Esperado ':'");
+                }
+                break;
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            default:
+                if (nextNonWhitespace() != -1) {
+                    throw syntaxError("Conteúdo após o fim do documento");
+                }
+                return Token.END_DOCUMENT;
+        }
+        return peekValue();
+    }
+    
+    private Token peekValue() throws IOException {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                return Token.STRING;
+            case 't':
+                expectLiteral("rue");
+                peekedBoolean = true;
+                return Token.BOOLEAN;
+            case 'f':
+                expectLiteral("alse");
+                peekedBoolean = false;
+                return Token.BOOLEAN;
+            case 'n':
+                expectLiteral("ull");
+                return Token.NULL;
+            case -1:
+                throw syntaxError("Fim inesperado do documento");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    pos--;
+                    return Token.NUMBER;
+                }
+                throw syntaxError("Caractere inesperado '" + (char) c + "'");
+        }
+    }
+    
+    private void expect(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw syntaxError("Esperado " + expected + ", encontrado " + token);
+        }
+        peeked = null;
+    }
+    
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+    
+    /**
+     * Lê uma string cuja aspa inicial já foi consumida. Sem escapes, o texto
+     * é copiado direto do buffer.
+     */
+    private String readString() throws IOException {
+        StringBuilder builder = null;
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (c == '"') {
+                    if (builder == null) {
+                        return new String(buffer, start, pos - start - 1);
+                    }
+                    builder.append(buffer, start, pos - start - 1);
+                    return builder.toString();
+                }
+                if (c == '\\') {
+                    if (builder == null) {
+                        builder = new StringBuilder(Math.max(16, (pos - start) * 2));
+                    }
+                    builder.append(buffer, start, pos - start - 1);
+                    builder.append(readEscape());
+                    start = pos;
+                } else if (c < 0x20) {
+                    throw syntaxError("Caractere de controle dentro de string");
+                }
+            }
+            if (builder == null) {
+                builder = new StringBuilder(Math.max(16, (pos - start) * 2));
+            }
+            builder.append(buffer, start, pos - start);
+            if (!fill()) {
+                throw syntaxError("String não terminada");
+            }
+        }
+    }
+    
+    private void skipString() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                readEscape();
+            } else if (c == -1) {
+                throw syntaxError("String não terminada");
+            }
+        }
+    }
+    
+    private char readEscape() throws IOException {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Escape unicode inválido");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("Escape inválido");
+        }
+    }
+    
+    private String readNumberText() throws IOException {
+        StringBuilder builder = new StringBuilder(16);
+        while (true) {
+            int c = read();
+            if ((c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+                builder.append((char) c);
+            } else {
+                if (c != -1) {
+                    pos--;
+                }
+                return builder.toString();
+            }
+        }
+    }
+    
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (read() != rest.charAt(i)) {
+                throw syntaxError("Literal inválido");
+            }
+        }
+    }
+    
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            int c = read();
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+    
+    private boolean fill() throws IOException {
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+    
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException("JSON inválido na posição " + (consumed + pos) + ": " + message);
+    }
+}
@@ -0,0 +1,271 @@
+package com.myfeest.blueprint.serializer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Escritor JSON em fluxo sem dependências externas
+ *
+ * Escreve cada token direto no {@link Writer} de destino, com escape
+ * completo das strings, sem montar o documento em memória. Vírgulas e
+ * indentação são controladas por uma pilha de escopos; no modo compacto nenhum
+ * espaço é emitido.
+ *
+ * Uso típico:
+ * <pre>
+ * writer.beginObject();
+ * writer.name("id").value(blueprint.getId());
+ * writer.endObject();
+ * writer.flush();
+ * </pre>
+ */
+public final class JsonWriter {
+    
+    // Escopos da pilha de aninhamento
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int DANGLING_NAME = 3;
+    private static final int NONEMPTY_OBJECT = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+    
+    private static final String[] REPLACEMENTS = new String[128];
+    
+    static {
+        for (int c = 0; c < 0x20; c++) {
+            REPLACEMENTS[c] = String.format("\\u%04x", c);
+        }
+        REPLACEMENTS['"'] = "\\\"";
+        REPLACEMENTS['\\'] = "\\\\";
+        REPLACEMENTS['\t'] = "\\t";
+        REPLACEMENTS['\b'] = "\\b";
+        REPLACEMENTS['\n'] = "\\n";
+        REPLACEMENTS['\r'] = "\\r";
+        REPLACEMENTS['\f'] = "\\f";
+    }
+    
+    private final Writer out;
+    private final String indent;
+    
+    private int[] stack;
+    private int depth;
+    
+    /**
+     * @param indent indentação por nível; null ou vazio para o modo compacto
+     */
+    public JsonWriter(Writer out, String indent) {
+        this.out = out;
+        this.indent = indent == null || indent.isEmpty() ? null : indent;
+        this.stack = new int[32];
+        this.stack[depth++] = EMPTY_DOCUMENT;
+    }
+    
+    public JsonWriter(Writer out) {
+        this(out, null);
+    }
+    
+    public JsonWriter beginObject() throws IOException {
+        beforeValue();
+        push(EMPTY_OBJECT);
+        out.write('{');
+        return this;
+    }
+    
+    public JsonWriter endObject() throws IOException {
+        return close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+    
+    public JsonWriter beginArray() throws IOException {
+        beforeValue();
+        push(EMPTY_ARRAY);
+        out.write('[');
+        return this;
+    }
+    
+    public JsonWriter endArray() throws IOException {
+        return close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+    
+    public JsonWriter name(String name) throws IOException {
+        if (name == null) {
+            throw new IllegalArgumentException("Nome de campo não pode ser nulo");
+        }
+        int scope = stack[depth - 1];
+        if (scope == NONEMPTY_OBJECT) {
+            out.write(',');
+        } else if (scope != EMPTY_OBJECT) {
+            throw new IllegalStateException("Nome de campo fora de um objeto");
+        }
+        newline();
+        string(name);
+        out.write(indent != null ? ": " : ":");
+        stack[depth - 1] = DANGLING_NAME;
+        return this;
+    }
+    
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        string(value);
+        return this;
+    }
+    
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+    
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        String text = value.toString();
+        if (text.equals("NaN") || text.equals("Infinity") || text.equals("-Infinity")) {
+            throw new IllegalArgumentException("Número não representável em JSON: " + text);
+        }
+        beforeValue();
+        out.write(text);
+        return this;
+    }
+    
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+    
+    /**
+     * Escreve um valor genérico: Map, Iterable, array de objetos, String,
+     * Number, Boolean ou null; outros tipos são escritos via toString()
+     */
+    public JsonWriter value(Object value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof String) {
+            return value((String) value);
+        }
+        if (value instanceof Number) {
+            return value((Number) value);
+        }
+        if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        }
+        if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof Iterable) {
+            beginArray();
+            for (Object item : (Iterable<?>) value) {
+                value(item);
+            }
+            return endArray();
+        }
+        if (value instanceof Object[]) {
+            return value(Arrays.asList((Object[]) value));
+        }
+        return value(value.toString());
+    }
+    
+    public void flush() throws IOException {
+        out.flush();
+    }
+    
+    private void beforeValue() throws IOException {
+        switch (stack[depth - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                newline();
+                break;
+            case NONEMPTY_ARRAY:
+                out.write(',');
+                newline();
+                break;
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                break;
+            case NONEMPTY_DOCUMENT:
+                throw new IllegalStateException("O documento JSON já possui um valor principal");
+            default:
+                throw new IllegalStateException("Valor em objeto sem nome de campo");
+        }
+    }
+    
+    private JsonWriter close(int emptyScope, int nonemptyScope, char bracket) throws IOException {
+        int scope = stack[depth - 1];
+        if (scope != emptyScope && scope != nonemptyScope) {
+            throw new IllegalStateException("Aninhamento JSON inválido");
+        }
+        depth--;
+        if (scope == nonemptyScope) {
+            newline();
+        }
+        out.write(bracket);
+        return this;
+    }
+    
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+    
+    private void newline() throws IOException {
+        if (indent == null) {
+            return;
+        }
+        out.write('\n');
+        for (int i = 1; i < depth; i++) {
+            out.write(indent);
+        }
+    }
+    
+    /**
+     * Escreve a string entre aspas, copiando trechos sem escape de uma vez
+     */
+    private void string(String value) throws IOException {
+        out.write('"');
+        int last = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement;
+            if (c < 128) {
+                replacement = REPLACEMENTS[c];
+                if (replacement == null) {
+                    continue;
+                }
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if (last < i) {
+                out.write(value, last, i - last);
+            }
+            out.write(replacement);
+            last = i + 1;
+        }
+        if (last < length) {
+            out.write(value, last, length - last);
+        }
+        out.write('"');
+    }
+}
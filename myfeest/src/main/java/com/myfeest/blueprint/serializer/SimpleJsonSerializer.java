@@ -2,70 +2,121 @@ package com.myfeest.blueprint.serializer;
 
 import com.myfeest.blueprint.core.*;
 import com.myfeest.blueprint.nodes.*;
-import java.util.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Serializador JSON simples sem dependências externas
+ *
+ * O documento é escrito em fluxo por um {@link JsonWriter}, com escape das
+ * strings; para blueprints grandes use as sobrecargas com {@link Writer} ou
+ * {@link OutputStream} e evite montar o texto inteiro em memória.
  */
 public class SimpleJsonSerializer {
     
+    private static final String PRETTY_INDENT = "  ";
+    
+    private final boolean compact;
+    
+    public SimpleJsonSerializer() {
+        this(false);
+    }
+    
+    /**
+     * @param compact true para omitir quebras de linha e indentação
+     */
+    public SimpleJsonSerializer(boolean compact) {
+        this.compact = compact;
+    }
+    
     /**
      * Serializa um blueprint para JSON
      */
     public String serialize(Blueprint blueprint) {
-        StringBuilder json = new StringBuilder();
-        json.append("{\n");
+        StringWriter out = new StringWriter();
+        try {
+            serialize(blueprint, out);
+        } catch (IOException e) {
+            // StringWriter não lança IOException
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+    
+    /**
+     * Serializa um blueprint direto no destino; o Writer não é fechado
+     */
+    public void serialize(Blueprint blueprint, Writer out) throws IOException {
+        JsonWriter writer = newWriter(out);
+        write(blueprint, writer);
+        writer.flush();
+    }
+    
+    /**
+     * Serializa um blueprint em UTF-8 direto no stream; o stream não é fechado
+     */
+    public void serialize(Blueprint blueprint, OutputStream out) throws IOException {
+        serialize(blueprint, new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Cria um JsonWriter com o modo (compacto ou indentado) deste serializador
+     */
+    public JsonWriter newWriter(Writer out) {
+        return new JsonWriter(out, compact ? null : PRETTY_INDENT);
+    }
+    
+    /**
+     * Escreve o blueprint como valor no JsonWriter (ex.: dentro de um envelope
+     * de resposta)
+     */
+    public void write(Blueprint blueprint, JsonWriter json) throws IOException {
+        json.beginObject();
         
         // Dados básicos
-        json.append("  \"id\": \"").append(blueprint.getId()).append("\",\n");
-        json.append("  \"name\": \"").append(blueprint.getName()).append("\",\n");
-        json.append("  \"description\": \"").append(blueprint.getDescription()).append("\",\n");
+        json.name("id").value(blueprint.getId());
+        json.name("name").value(blueprint.getName());
+        json.name("description").value(blueprint.getDescription());
         
         // Nós
-        json.append("  \"nodes\": {\n");
-        List<Node> nodes = blueprint.getNodes();
-        for (int i = 0; i < nodes.size(); i++) {
-            Node node = nodes.get(i);
-            json.append("    \"").append(node.getId()).append("\": {\n");
-            json.append("      \"id\": \"").append(node.getId()).append("\",\n");
-            json.append("      \"name\": \"").append(node.getName()).append("\",\n");
-            json.append("      \"type\": \"").append(node.getType()).append("\"");
+        json.name("nodes").beginObject();
+        for (Node node : blueprint.getNodes()) {
+            json.name(node.getId()).beginObject();
+            json.name("id").value(node.getId());
+            json.name("name").value(node.getName());
+            json.name("type").value(node.getType());
             
             // Propriedades específicas
             if (node instanceof InputNode) {
-                InputNode inputNode = (InputNode) node;
-                json.append(",\n      \"value\": \"").append(inputNode.getValue()).append("\"");
+                json.name("value").value(String.valueOf(((InputNode) node).getValue()));
             } else if (node instanceof TransformNode) {
-                TransformNode transformNode = (TransformNode) node;
-                json.append(",\n      \"operation\": \"").append(transformNode.getOperation()).append("\"");
+                json.name("operation").value(((TransformNode) node).getOperation());
             } else if (node instanceof FilterNode) {
-                FilterNode filterNode = (FilterNode) node;
-                json.append(",\n      \"condition\": \"").append(filterNode.getCondition()).append("\"");
+                json.name("condition").value(((FilterNode) node).getCondition());
             }
             
-            json.append("\n    }");
-            if (i < nodes.size() - 1) json.append(",");
-            json.append("\n");
+            json.endObject();
         }
-        json.append("  },\n");
+        json.endObject();
         
         // Conexões
-        json.append("  \"connections\": {\n");
-        List<Connection> connections = blueprint.getConnections();
-        for (int i = 0; i < connections.size(); i++) {
-            Connection conn = connections.get(i);
-            json.append("    \"").append(conn.getId()).append("\": {\n");
-            json.append("      \"id\": \"").append(conn.getId()).append("\",\n");
-            json.append("      \"fromNodeId\": \"").append(conn.getFromNodeId()).append("\",\n");
-            json.append("      \"toNodeId\": \"").append(conn.getToNodeId()).append("\",\n");
-            json.append("      \"type\": \"").append(conn.getType().name()).append("\"\n");
-            json.append("    }");
-            if (i < connections.size() - 1) json.append(",");
-            json.append("\n");
+        json.name("connections").beginObject();
+        for (Connection conn : blueprint.getConnections()) {
+            json.name(conn.getId()).beginObject();
+            json.name("id").value(conn.getId());
+            json.name("fromNodeId").value(conn.getFromNodeId());
+            json.name("toNodeId").value(conn.getToNodeId());
+            json.name("type").value(conn.getType().name());
+            json.endObject();
         }
-        json.append("  }\n");
+        json.endObject();
         
-        json.append("}");
-        return json.toString();
+        json.endObject();
     }
-} 
\ No newline at end of file
+}
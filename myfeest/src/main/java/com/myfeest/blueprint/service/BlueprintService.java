@@ -2,16 +2,21 @@ package com.myfeest.blueprint.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfeest.blueprint.entity.BlueprintDataFormat;
 import com.myfeest.blueprint.entity.BlueprintEntity;
 import com.myfeest.blueprint.repository.BlueprintRepository;
 import com.myfeest.blueprint.core.Blueprint;
 import com.myfeest.blueprint.engine.BlueprintEngine;
+import com.myfeest.blueprint.engine.ExecutionHandle;
 import com.myfeest.blueprint.exception.BlueprintNotFoundException;
 import com.myfeest.blueprint.exception.BlueprintValidationException;
 import com.myfeest.blueprint.exception.DuplicateBlueprintException;
+import com.myfeest.blueprint.exception.ExecutionJobNotFoundException;
+import com.myfeest.blueprint.serializer.BlueprintBinaryCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -27,6 +32,10 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Serviço de blueprint com cache e validações empresariais
@@ -41,20 +50,34 @@ public class BlueprintService {
     private final BlueprintRepository blueprintRepository;
     private final BlueprintEngine blueprintEngine;
     private final ObjectMapper objectMapper;
+    private final Executor blueprintJobExecutor;
+    private final Map<String, ExecutionJob> jobs;
+    private final BlueprintBinaryCodec binaryCodec;
+    private final CompiledBlueprintCache compiledCache;
+    private long jobRetention;
+    private BlueprintDataFormat storageFormat;
     
     @Autowired
     public BlueprintService(BlueprintRepository blueprintRepository, 
                           BlueprintEngine blueprintEngine,
-                          ObjectMapper objectMapper) {
+                          ObjectMapper objectMapper,
+                          Executor blueprintJobExecutor) {
         this.blueprintRepository = blueprintRepository;
         this.blueprintEngine = blueprintEngine;
         this.objectMapper = objectMapper;
+        this.blueprintJobExecutor = blueprintJobExecutor;
+        this.jobs = new ConcurrentHashMap<>();
+        this.binaryCodec = new BlueprintBinaryCodec();
+        this.compiledCache = new CompiledBlueprintCache(64L * 1024 * 1024); // 64 MB
+        this.jobRetention = 3600000; // 1 hora
+        this.storageFormat = BlueprintDataFormat.JSON;
     }
     
     /**
      * Cria um novo blueprint
+     * O cache "blueprints" só guarda entradas por ID, então a criação não
+     * invalida nada.
      */
-    @CacheEvict(value = "blueprints", allEntries = true)
     public BlueprintEntity createBlueprint(@Valid @NotNull Blueprint blueprint, 
                                          @NotBlank String createdBy) {
         logger.info("Criando novo blueprint: {}", blueprint.getName());
@@ -62,7 +85,7 @@ public class BlueprintService {
         // Verifica se já existe um blueprint com o mesmo nome
         Optional<BlueprintEntity> existing = blueprintRepository
             .findByNameIgnoreCaseAndIsActiveTrue(blueprint.getName());
-        
+            
         if (existing.isPresent()) {
             throw new DuplicateBlueprintException("Blueprint com nome '" + blueprint.getName() + "' já existe");
         }
@@ -76,20 +99,13 @@ public class BlueprintService {
             throw new BlueprintValidationException("Blueprint contém ciclos");
         }
         
-        // Serializa o blueprint para JSON
-        String blueprintData;
-        try {
-            blueprintData = objectMapper.writeValueAsString(blueprint);
-        } catch (JsonProcessingException e) {
-            throw new BlueprintValidationException("Erro ao serializar blueprint: " + e.getMessage());
-        }
-        
         // Cria a entidade
         BlueprintEntity entity = new BlueprintEntity(
             blueprint.getName(),
             blueprint.getDescription(),
-            blueprintData
+            null
         );
+        writeBlueprintData(entity, blueprint);
         entity.setCreatedBy(createdBy);
         
         // Salva no banco
@@ -102,7 +118,7 @@ public class BlueprintService {
     /**
      * Atualiza um blueprint existente
      */
-    @CacheEvict(value = "blueprints", allEntries = true)
+    @CacheEvict(value = "blueprints", key = "#id")
     public BlueprintEntity updateBlueprint(@NotBlank String id, 
                                          @Valid @NotNull Blueprint blueprint,
                                          @NotBlank String updatedBy) {
@@ -110,7 +126,7 @@ public class BlueprintService {
         
         BlueprintEntity existing = blueprintRepository.findById(id)
             .orElseThrow(() -> new BlueprintNotFoundException("Blueprint não encontrado: " + id));
-        
+            
         // Verifica se o blueprint está ativo
         if (!existing.getIsActive()) {
             throw new BlueprintNotFoundException("Blueprint não está ativo: " + id);
@@ -125,23 +141,16 @@ public class BlueprintService {
             throw new BlueprintValidationException("Blueprint contém ciclos");
         }
         
-        // Serializa o blueprint para JSON
-        String blueprintData;
-        try {
-            blueprintData = objectMapper.writeValueAsString(blueprint);
-        } catch (JsonProcessingException e) {
-            throw new BlueprintValidationException("Erro ao serializar blueprint: " + e.getMessage());
-        }
-        
         // Atualiza os campos
         existing.setName(blueprint.getName());
         existing.setDescription(blueprint.getDescription());
-        existing.setBlueprintData(blueprintData);
+        writeBlueprintData(existing, blueprint);
         existing.setVersion(existing.getVersion() + 1);
         existing.setCreatedBy(updatedBy);
         
         // Salva no banco
         BlueprintEntity saved = blueprintRepository.save(existing);
+        compiledCache.invalidate(id);
         
         logger.info("Blueprint atualizado com sucesso: {}", saved.getId());
         return saved;
@@ -150,7 +159,7 @@ public class BlueprintService {
     /**
      * Busca um blueprint por ID
      */
-    @Cacheable(value = "blueprints", key = "#id")
+    @Cacheable(value = "blueprints", key = "#id", sync = true)
     public BlueprintEntity getBlueprint(@NotBlank String id) {
         logger.debug("Buscando blueprint: {}", id);
         
@@ -189,15 +198,7 @@ public class BlueprintService {
     public Map<String, Object> executeBlueprint(@NotBlank String id) {
         logger.info("Executando blueprint: {}", id);
         
-        BlueprintEntity entity = getBlueprint(id);
-        
-        // Deserializa o blueprint
-        Blueprint blueprint;
-        try {
-            blueprint = objectMapper.readValue(entity.getBlueprintData(), Blueprint.class);
-        } catch (JsonProcessingException e) {
-            throw new BlueprintValidationException("Erro ao deserializar blueprint: " + e.getMessage());
-        }
+        Blueprint blueprint = loadBlueprint(getBlueprint(id));
         
         // Executa o blueprint
         try {
@@ -236,18 +237,182 @@ public class BlueprintService {
         }
     }
     
+    /**
+     * Inicia a execução assíncrona de um blueprint salvo
+     * A busca e a deserialização acontecem na chamada; a execução roda no
+     * executor de jobs e é acompanhada por {@link #getJob(String)}.
+     * @throws RejectedExecutionException se a fila de execuções estiver cheia
+     */
+    public ExecutionJob executeAsync(@NotBlank String id) {
+        logger.info("Agendando execução do blueprint: {}", id);
+        
+        Blueprint blueprint = loadBlueprint(getBlueprint(id));
+        return submitJob(id, blueprint);
+    }
+    
+    /**
+     * Inicia a execução assíncrona de um blueprint sem salvá-lo
+     * @throws RejectedExecutionException se a fila de execuções estiver cheia
+     */
+    public ExecutionJob executeDirectlyAsync(@Valid @NotNull Blueprint blueprint) {
+        logger.info("Agendando execução direta do blueprint: {}", blueprint.getName());
+        
+        if (!blueprint.validate()) {
+            throw new BlueprintValidationException("Blueprint inválido");
+        }
+        
+        if (blueprint.hasCycles()) {
+            throw new BlueprintValidationException("Blueprint contém ciclos");
+        }
+        
+        return submitJob(null, blueprint);
+    }
+    
+    /**
+     * Busca uma execução assíncrona pelo ID do job
+     */
+    public ExecutionJob getJob(@NotBlank String jobId) {
+        ExecutionJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ExecutionJobNotFoundException("Execução não encontrada: " + jobId);
+        }
+        return job;
+    }
+    
+    /**
+     * Cancela uma execução assíncrona em andamento
+     */
+    public ExecutionJob cancelJob(@NotBlank String jobId) {
+        ExecutionJob job = getJob(jobId);
+        if (job.cancel()) {
+            logger.info("Execução {} cancelada", jobId);
+        }
+        return job;
+    }
+    
+    /**
+     * Tempo (ms) que um job concluído permanece consultável
+     */
+    @Value("${blueprint.jobs.retention:3600000}")
+    public void setJobRetention(long jobRetention) {
+        this.jobRetention = jobRetention;
+    }
+    
+    /**
+     * Formato usado ao gravar blueprints; entidades já gravadas continuam
+     * legíveis no formato em que estão
+     */
+    @Value("${blueprint.storage.format:JSON}")
+    public void setStorageFormat(BlueprintDataFormat storageFormat) {
+        this.storageFormat = storageFormat;
+    }
+    
+    /**
+     * Peso máximo estimado (bytes) dos blueprints compilados mantidos em
+     * memória para execução; 0 desabilita o cache
+     */
+    @Value("${blueprint.compiled-cache.max-weight:67108864}")
+    public void setCompiledCacheMaxWeight(long maxWeight) {
+        compiledCache.setMaxWeight(maxWeight);
+    }
+    
+    private ExecutionJob submitJob(String blueprintId, Blueprint blueprint) {
+        purgeFinishedJobs();
+        
+        ExecutionHandle handle = blueprintEngine.submit(blueprint, blueprintJobExecutor);
+        ExecutionJob job = new ExecutionJob(UUID.randomUUID().toString(), blueprintId,
+                                            blueprint.getName(), handle);
+        jobs.put(job.getId(), job);
+        
+        job.toCompletableFuture().whenComplete((result, error) -> {
+            if (error != null) {
+                logger.warn("Execução {} do blueprint {} terminou com {}: {}",
+                           job.getId(), job.getBlueprintName(), job.getStatus(), job.getError());
+            } else {
+                logger.info("Execução {} do blueprint {} concluída", job.getId(), job.getBlueprintName());
+            }
+        });
+        
+        logger.info("Execução {} agendada para o blueprint {}", job.getId(), blueprint.getName());
+        return job;
+    }
+    
+    /**
+     * Descarta jobs concluídos há mais tempo que a retenção configurada
+     */
+    private void purgeFinishedJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusNanos(jobRetention * 1_000_000L);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(limit));
+    }
+    
+    /**
+     * Grava o conteúdo do blueprint na entidade, no formato configurado.
+     * Blueprints com nós que o formato binário não representa são gravados
+     * em JSON.
+     */
+    private void writeBlueprintData(BlueprintEntity entity, Blueprint blueprint) {
+        if (storageFormat == BlueprintDataFormat.BINARY && binaryCodec.supports(blueprint)) {
+            try {
+                entity.setBlueprintBinary(binaryCodec.encode(blueprint));
+                entity.setBlueprintData(null);
+                entity.setDataFormat(BlueprintDataFormat.BINARY);
+                return;
+            } catch (IllegalArgumentException e) {
+                logger.debug("Blueprint {} gravado em JSON: {}", blueprint.getName(), e.getMessage());
+            }
+        }
+        
+        // Serializa o blueprint para JSON
+        try {
+            entity.setBlueprintData(objectMapper.writeValueAsString(blueprint));
+        } catch (JsonProcessingException e) {
+            throw new BlueprintValidationException("Erro ao serializar blueprint: " + e.getMessage());
+        }
+        entity.setBlueprintBinary(null);
+        entity.setDataFormat(BlueprintDataFormat.JSON);
+    }
+    
+    /**
+     * Blueprint pronto para execução: vem do cache de compilados quando a
+     * versão da entidade coincide, senão é deserializado e guardado
+     */
+    private Blueprint loadBlueprint(BlueprintEntity entity) {
+        Blueprint blueprint = compiledCache.get(entity.getId(), entity.getVersion());
+        if (blueprint == null) {
+            blueprint = readBlueprint(entity);
+            compiledCache.put(entity.getId(), entity.getVersion(), blueprint);
+        }
+        return blueprint;
+    }
+    
+    private Blueprint readBlueprint(BlueprintEntity entity) {
+        if (entity.getDataFormat() == BlueprintDataFormat.BINARY) {
+            try {
+                return binaryCodec.decode(entity.getBlueprintBinary());
+            } catch (IllegalArgumentException e) {
+                throw new BlueprintValidationException("Erro ao deserializar blueprint: " + e.getMessage());
+            }
+        }
+        try {
+            return objectMapper.readValue(entity.getBlueprintData(), Blueprint.class);
+        } catch (JsonProcessingException e) {
+            throw new BlueprintValidationException("Erro ao deserializar blueprint: " + e.getMessage());
+        }
+    }
+    
     /**
      * Deleta um blueprint (soft delete)
      */
-    @CacheEvict(value = "blueprints", allEntries = true)
+    @CacheEvict(value = "blueprints", key = "#id")
     public void deleteBlueprint(@NotBlank String id) {
         logger.info("Deletando blueprint: {}", id);
         
         BlueprintEntity entity = blueprintRepository.findById(id)
             .orElseThrow(() -> new BlueprintNotFoundException("Blueprint não encontrado: " + id));
-        
+            
         entity.setIsActive(false);
         blueprintRepository.save(entity);
+        compiledCache.invalidate(id);
         
         logger.info("Blueprint deletado com sucesso: {}", id);
     }
@@ -0,0 +1,172 @@
+package com.myfeest.blueprint.service;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Node;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de blueprints já deserializados e compilados
+ *
+ * Cada entrada guarda o blueprint de um ID junto com a versão da entidade de
+ * onde foi lido; uma consulta com outra versão é tratada como ausência. O
+ * limite não é por quantidade e sim por um peso estimado em bytes (nós,
+ * conexões e propriedades), removendo as entradas usadas há mais tempo
+ * (LRU) quando o total passa do máximo.
+ *
+ * Os blueprints em cache são compartilhados entre execuções e não devem ser
+ * alterados por quem os recebe.
+ */
+final class CompiledBlueprintCache {
+    
+    // Pesos aproximados, em bytes, usados na estimativa de memória
+    private static final long BLUEPRINT_WEIGHT = 1024;
+    private static final long NODE_WEIGHT = 512;
+    private static final long CONNECTION_WEIGHT = 256;
+    private static final long PROPERTY_WEIGHT = 128;
+    
+    private final LinkedHashMap<String, Entry> entries;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+    private long maxWeight;
+    private long totalWeight;
+    
+    CompiledBlueprintCache(long maxWeight) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.evictions = new AtomicLong();
+        this.maxWeight = maxWeight;
+    }
+    
+    /**
+     * @return o blueprint em cache para o ID e versão, ou null
+     */
+    Blueprint get(String id, Integer version) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(id);
+        }
+        if (entry == null || !entry.matches(version)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.blueprint;
+    }
+    
+    /**
+     * Guarda o blueprint compilando antes o plano de execução, para que a
+     * primeira execução a partir do cache também não pague a compilação.
+     * Blueprints mais pesados que o limite inteiro não são guardados.
+     */
+    void put(String id, Integer version, Blueprint blueprint) {
+        long weight = estimateWeight(blueprint);
+        if (maxWeight <= 0 || weight > maxWeight) {
+            return;
+        }
+        blueprint.compile();
+        Entry entry = new Entry(version, blueprint, weight);
+        synchronized (entries) {
+            Entry previous = entries.put(id, entry);
+            if (previous != null) {
+                totalWeight -= previous.weight;
+            }
+            totalWeight += weight;
+            trim();
+        }
+    }
+    
+    void invalidate(String id) {
+        synchronized (entries) {
+            Entry removed = entries.remove(id);
+            if (removed != null) {
+                totalWeight -= removed.weight;
+            }
+        }
+    }
+    
+    /**
+     * Altera o peso máximo, removendo entradas se necessário; 0 desabilita
+     */
+    void setMaxWeight(long maxWeight) {
+        synchronized (entries) {
+            this.maxWeight = maxWeight;
+            trim();
+        }
+    }
+    
+    long getMaxWeight() {
+        return maxWeight;
+    }
+    
+    long getTotalWeight() {
+        synchronized (entries) {
+            return totalWeight;
+        }
+    }
+    
+    int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+    
+    long getHitCount() {
+        return hits.get();
+    }
+    
+    long getMissCount() {
+        return misses.get();
+    }
+    
+    long getEvictionCount() {
+        return evictions.get();
+    }
+    
+    /**
+     * Peso aproximado do blueprint em memória
+     */
+    static long estimateWeight(Blueprint blueprint) {
+        long weight = BLUEPRINT_WEIGHT + blueprint.getMetadata().size() * PROPERTY_WEIGHT;
+        for (Node node : blueprint.getNodes()) {
+            weight += NODE_WEIGHT + node.getProperties().size() * PROPERTY_WEIGHT;
+        }
+        weight += blueprint.getConnections().size() * CONNECTION_WEIGHT;
+        return weight;
+    }
+    
+    /**
+     * Remove as entradas menos usadas até o peso caber no limite; chamado com
+     * o lock de entries
+     */
+    private void trim() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (totalWeight > Math.max(maxWeight, 0) && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            totalWeight -= eldest.weight;
+            evictions.incrementAndGet();
+        }
+    }
+    
+    private static final class Entry {
+        private final Integer version;
+        private final Blueprint blueprint;
+        private final long weight;
+        
+        Entry(Integer version, Blueprint blueprint, long weight) {
+            this.version = version;
+            this.blueprint = blueprint;
+            this.weight = weight;
+        }
+        
+        boolean matches(Integer otherVersion) {
+            return version == null ? otherVersion == null : version.equals(otherVersion);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.myfeest.blueprint.service;
+
+import com.myfeest.blueprint.core.ExecutionContext.ExecutionStatus;
+import com.myfeest.blueprint.engine.ExecutionHandle;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Execução assíncrona de blueprint acompanhada pelo {@link BlueprintService}
+ */
+public class ExecutionJob {
+    
+    private final String id;
+    private final String blueprintId;
+    private final String blueprintName;
+    private final LocalDateTime submittedAt;
+    private final ExecutionHandle handle;
+    private final CompletableFuture<Map<String, Object>> result;
+    private volatile LocalDateTime finishedAt;
+    
+    public ExecutionJob(String id, String blueprintId, String blueprintName, ExecutionHandle handle) {
+        this.id = id;
+        this.blueprintId = blueprintId;
+        this.blueprintName = blueprintName;
+        this.submittedAt = LocalDateTime.now();
+        this.handle = handle;
+        this.result = handle.toCompletableFuture();
+        this.result.whenComplete((value, error) -> finishedAt = LocalDateTime.now());
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    /**
+     * ID do blueprint salvo, ou null para execuções diretas
+     */
+    public String getBlueprintId() {
+        return blueprintId;
+    }
+    
+    public String getBlueprintName() {
+        return blueprintName;
+    }
+    
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+    
+    /**
+     * Momento em que a execução terminou, ou null se ainda está em andamento
+     */
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public ExecutionStatus getStatus() {
+        ExecutionStatus status = handle.getStatus();
+        // Falhas anteriores ao início da execução (ex.: validação) não passam pelo contexto
+        if (result.isCompletedExceptionally()
+                && (status == ExecutionStatus.PENDING || status == ExecutionStatus.RUNNING)) {
+            return ExecutionStatus.FAILED;
+        }
+        return status;
+    }
+    
+    public boolean isDone() {
+        return result.isDone();
+    }
+    
+    /**
+     * Resultado da execução, ou null se ela não terminou com sucesso
+     */
+    public Map<String, Object> getResult() {
+        if (!result.isDone() || result.isCompletedExceptionally()) {
+            return null;
+        }
+        return result.join();
+    }
+    
+    /**
+     * Mensagem do erro que encerrou a execução, ou null
+     */
+    public String getError() {
+        if (!result.isCompletedExceptionally()) {
+            return null;
+        }
+        try {
+            result.join();
+            return null;
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return cause.getMessage();
+        }
+    }
+    
+    /**
+     * Solicita o cancelamento da execução
+     * @return false se ela já havia terminado
+     */
+    public boolean cancel() {
+        return handle.cancel();
+    }
+    
+    /**
+     * Futuro com o resultado da execução, para composição assíncrona
+     */
+    public CompletableFuture<Map<String, Object>> toCompletableFuture() {
+        return result.copy();
+    }
+}
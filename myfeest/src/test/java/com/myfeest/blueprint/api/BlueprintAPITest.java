@@ -0,0 +1,88 @@
+package com.myfeest.blueprint.api;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.nodes.InputNode;
+import com.myfeest.blueprint.nodes.OutputNode;
+import com.myfeest.blueprint.nodes.TransformNode;
+import com.myfeest.blueprint.serializer.JsonReader;
+import com.myfeest.blueprint.serializer.SimpleJsonSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para BlueprintAPI
+ */
+class BlueprintAPITest {
+    
+    private BlueprintAPI api;
+    private Blueprint blueprint;
+    
+    @BeforeEach
+    void setUp() {
+        api = new BlueprintAPI();
+        blueprint = new Blueprint("bp-1", "Maiúsculas");
+        blueprint.addNode(new InputNode("input_1", "Entrada", "olá"));
+        blueprint.addNode(new TransformNode("transform_1", "Transformar", "uppercase"));
+        blueprint.addNode(new OutputNode("output_1", "Saída"));
+        blueprint.addConnection(new Connection("c1", "input_1", "transform_1"));
+        blueprint.addConnection(new Connection("c2", "transform_1", "output_1"));
+    }
+    
+    @Test
+    void createBlueprintFromFrontend_SerializerFormat_ShouldKeepNodeConfiguration() throws IOException {
+        // Arrange
+        String json = new SimpleJsonSerializer().serialize(blueprint);
+        
+        // Act
+        Map<String, Object> created = parse(api.createBlueprintFromFrontend(json));
+        Map<String, Object> data = (Map<String, Object>) created.get("data");
+        Map<String, Object> stored = parse((String) data.get("blueprint"));
+        
+        // Assert
+        assertEquals(Boolean.TRUE, created.get("success"));
+        Map<String, Object> nodes = (Map<String, Object>) stored.get("nodes");
+        assertEquals("olá", ((Map<String, Object>) nodes.get("input_1")).get("value"));
+        assertEquals("uppercase", ((Map<String, Object>) nodes.get("transform_1")).get("operation"));
+    }
+    
+    @Test
+    void executeBlueprintFromFrontend_SerializerFormat_ShouldExecuteConfiguredNodes() throws IOException {
+        // Arrange
+        String json = new SimpleJsonSerializer().serialize(blueprint);
+        
+        // Act
+        String response = api.executeBlueprintFromFrontend(json);
+        
+        // Assert
+        assertEquals(Boolean.TRUE, parse(response).get("success"), response);
+        assertTrue(response.contains("OLÁ"), response);
+    }
+    
+    @Test
+    void executeBlueprintFromFrontend_PropertiesAndNodeFields_ShouldPreferProperties() throws IOException {
+        // Arrange
+        String json = "{\"name\":\"bp\",\"nodes\":["
+            + "{\"id\":\"input_1\",\"name\":\"Entrada\",\"type\":\"input\",\"value\":\"x\","
+            + "\"properties\":{\"value\":\"texto\"}},"
+            + "{\"id\":\"output_1\",\"name\":\"Saída\",\"type\":\"output\"}],"
+            + "\"connections\":[{\"id\":\"c1\",\"fromNodeId\":\"input_1\",\"toNodeId\":\"output_1\"}]}";
+        
+        // Act
+        String response = api.executeBlueprintFromFrontend(json);
+        
+        // Assert
+        assertEquals(Boolean.TRUE, parse(response).get("success"), response);
+        assertTrue(response.contains("texto"), response);
+    }
+    
+    private static Map<String, Object> parse(String json) throws IOException {
+        return (Map<String, Object>) new JsonReader(new StringReader(json)).readValue();
+    }
+}
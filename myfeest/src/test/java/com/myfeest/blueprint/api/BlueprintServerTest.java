@@ -0,0 +1,46 @@
+package com.myfeest.blueprint.api;
+
+import com.myfeest.blueprint.serializer.JsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para BlueprintServer
+ */
+class BlueprintServerTest {
+    
+    @Test
+    void createErrorResponse_MessageWithQuotesAndNewline_ShouldProduceValidJson() throws IOException {
+        // Arrange
+        String message = "Campo \"id\" inválido\nlinha 2 \\ fim";
+        
+        // Act
+        BlueprintServer.Response response = BlueprintServer.createErrorResponse(500, message);
+        
+        // Assert
+        assertEquals(500, response.status);
+        assertEquals(message, parse(response).get("error"));
+    }
+    
+    @Test
+    void createErrorResponse_NullMessage_ShouldWriteJsonNull() throws IOException {
+        // Act
+        BlueprintServer.Response response = BlueprintServer.createErrorResponse(500, null);
+        
+        // Assert
+        Map<String, Object> body = parse(response);
+        assertTrue(body.containsKey("error"));
+        assertNull(body.get("error"));
+    }
+    
+    private static Map<String, Object> parse(BlueprintServer.Response response) throws IOException {
+        String json = new String(response.body, StandardCharsets.UTF_8);
+        return (Map<String, Object>) new JsonReader(new StringReader(json)).readValue();
+    }
+}
@@ -0,0 +1,108 @@
+package com.myfeest.blueprint.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para StaticFileCache
+ */
+class StaticFileCacheTest {
+    
+    @TempDir
+    Path root;
+    
+    private StaticFileCache cache;
+    
+    @BeforeEach
+    void setUp() {
+        cache = new StaticFileCache(root, 1024);
+    }
+    
+    @Test
+    void lookup_SameFile_ShouldReuseCachedEntry() throws IOException {
+        // Arrange
+        Files.writeString(root.resolve("index.html"), "<html>ola</html>");
+        
+        // Act
+        StaticFileCache.Entry first = cache.lookup("index.html");
+        StaticFileCache.Entry second = cache.lookup("index.html");
+        
+        // Assert
+        assertSame(first, second);
+        assertTrue(first.isCached());
+        assertEquals("text/html; charset=utf-8", first.contentType);
+        assertEquals("<html>ola</html>", new String(first.content, StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void lookup_ModifiedFile_ShouldReloadWithNewEtag() throws IOException {
+        // Arrange
+        Path file = root.resolve("app.js");
+        Files.writeString(file, "var a = 1;");
+        StaticFileCache.Entry before = cache.lookup("app.js");
+        
+        // Act
+        Files.writeString(file, "var a = 2; var b = 3;");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(before.lastModified + 5000));
+        StaticFileCache.Entry after = cache.lookup("app.js");
+        
+        // Assert
+        assertNotEquals(before.etag, after.etag);
+        assertEquals("var a = 2; var b = 3;", new String(after.content, StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void lookup_TextFile_ShouldKeepGzipVersion() throws IOException {
+        // Arrange
+        String css = "body { margin: 0; }\n".repeat(50);
+        Files.writeString(root.resolve("style.css"), css);
+        
+        // Act
+        StaticFileCache.Entry entry = cache.lookup("style.css");
+        
+        // Assert
+        assertNotNull(entry.gzip);
+        assertTrue(entry.gzip.length < entry.content.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(entry.gzip))) {
+            assertEquals(css, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+    
+    @Test
+    void lookup_FileAboveLimit_ShouldNotKeepContentInMemory() throws IOException {
+        // Arrange
+        Files.write(root.resolve("image.png"), new byte[2048]);
+        
+        // Act
+        StaticFileCache.Entry entry = cache.lookup("image.png");
+        
+        // Assert
+        assertFalse(entry.isCached());
+        assertNull(entry.gzip);
+        assertEquals(2048, entry.size);
+    }
+    
+    @Test
+    void lookup_PathOutsideRoot_ShouldReturnNull() throws IOException {
+        // Arrange
+        Path web = Files.createDirectory(root.resolve("web"));
+        Files.writeString(root.resolve("secret.txt"), "segredo");
+        StaticFileCache webCache = new StaticFileCache(web, 1024);
+        
+        // Act & Assert
+        assertNull(webCache.lookup("../secret.txt"));
+        assertNull(webCache.lookup("missing.html"));
+        assertEquals(0, webCache.size());
+    }
+}
@@ -0,0 +1,117 @@
+package com.myfeest.blueprint.benchmark;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.nodes.InputNode;
+import com.myfeest.blueprint.nodes.OutputNode;
+import com.myfeest.blueprint.nodes.TransformNode;
+
+/**
+ * Grafos sintéticos usados pelos benchmarks
+ *
+ * linear: entrada -> cadeia de transformações -> saída
+ * wide:   entrada -> N transformações independentes -> uma saída
+ * deep:   camadas de 4 transformações, cada nó ligado a todos da camada anterior
+ */
+final class BenchmarkGraphs {
+    
+    static final String LINEAR = "linear";
+    static final String WIDE = "wide";
+    static final String DEEP = "deep";
+    
+    private static final String[] OPERATIONS = { "uppercase", "lowercase", "reverse", "substring" };
+    // "substring" corta para os 9 primeiros caracteres; nenhuma operação
+    // deixa o valor menor que isso, então a cadeia nunca recebe índice inválido
+    private static final int SUBSTRING_END = 9;
+    private static final int DEEP_WIDTH = 4;
+    
+    private BenchmarkGraphs() {
+    }
+    
+    /**
+     * Monta um blueprint com aproximadamente {@code size} nós
+     */
+    static Blueprint build(String shape, int size) {
+        int transforms = Math.max(1, size - 2);
+        switch (shape) {
+            case LINEAR:
+                return linear(transforms);
+            case WIDE:
+                return wide(transforms);
+            case DEEP:
+                return deep(transforms);
+            default:
+                throw new IllegalArgumentException("Formato de grafo desconhecido: " + shape);
+        }
+    }
+    
+    private static Blueprint linear(int transforms) {
+        Blueprint blueprint = start("Linear " + transforms);
+        String previous = "input";
+        for (int i = 0; i < transforms; i++) {
+            String id = addTransform(blueprint, i);
+            connect(blueprint, previous, id);
+            previous = id;
+        }
+        connect(blueprint, previous, finish(blueprint));
+        return blueprint;
+    }
+    
+    private static Blueprint wide(int transforms) {
+        Blueprint blueprint = start("Wide " + transforms);
+        String output = finish(blueprint);
+        for (int i = 0; i < transforms; i++) {
+            String id = addTransform(blueprint, i);
+            connect(blueprint, "input", id);
+            connect(blueprint, id, output);
+        }
+        return blueprint;
+    }
+    
+    private static Blueprint deep(int transforms) {
+        Blueprint blueprint = start("Deep " + transforms);
+        String[] previous = { "input" };
+        int created = 0;
+        while (created < transforms) {
+            int width = Math.min(DEEP_WIDTH, transforms - created);
+            String[] layer = new String[width];
+            for (int i = 0; i < width; i++) {
+                layer[i] = addTransform(blueprint, created++);
+                for (String from : previous) {
+                    connect(blueprint, from, layer[i]);
+                }
+            }
+            previous = layer;
+        }
+        String output = finish(blueprint);
+        for (String from : previous) {
+            connect(blueprint, from, output);
+        }
+        return blueprint;
+    }
+    
+    private static Blueprint start(String name) {
+        Blueprint blueprint = new Blueprint(name);
+        blueprint.addNode(new InputNode("input", "Input", "Benchmark Value"));
+        return blueprint;
+    }
+    
+    private static String finish(Blueprint blueprint) {
+        blueprint.addNode(new OutputNode("output", "Output"));
+        return "output";
+    }
+    
+    private static String addTransform(Blueprint blueprint, int index) {
+        String id = "transform_" + index;
+        TransformNode transform = new TransformNode(id, "Transform " + index, OPERATIONS[index % OPERATIONS.length]);
+        if ("substring".equals(transform.getOperation())) {
+            transform.setParameter("end", SUBSTRING_END);
+        }
+        blueprint.addNode(transform);
+        return id;
+    }
+    
+    private static void connect(Blueprint blueprint, String from, String to) {
+        blueprint.addConnection(new Connection(from + "->" + to, from, to, "value", "value"));
+    }
+}
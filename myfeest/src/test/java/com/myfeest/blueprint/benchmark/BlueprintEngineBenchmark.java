@@ -0,0 +1,41 @@
+package com.myfeest.blueprint.benchmark;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.engine.BlueprintEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de BlueprintEngine.execute em grafos lineares, largos e profundos
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlueprintEngineBenchmark {
+    
+    @Param({ BenchmarkGraphs.LINEAR, BenchmarkGraphs.WIDE, BenchmarkGraphs.DEEP })
+    private String shape;
+    
+    @Param({ "10", "100", "1000", "10000" })
+    private int size;
+    
+    private Blueprint blueprint;
+    private BlueprintEngine engine;
+    
+    @Setup
+    public void setUp() {
+        blueprint = BenchmarkGraphs.build(shape, size);
+        engine = new BlueprintEngine(Long.MAX_VALUE);
+        engine.setEnableLogging(false);
+    }
+    
+    @Benchmark
+    public Map<String, Object> execute() throws Exception {
+        return engine.execute(blueprint);
+    }
+}
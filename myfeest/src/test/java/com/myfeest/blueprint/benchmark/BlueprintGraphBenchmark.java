@@ -0,0 +1,43 @@
+package com.myfeest.blueprint.benchmark;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Node;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark das consultas estruturais do Blueprint (ordem de execução e ciclos)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BlueprintGraphBenchmark {
+    
+    @Param({ BenchmarkGraphs.LINEAR, BenchmarkGraphs.WIDE, BenchmarkGraphs.DEEP })
+    private String shape;
+    
+    @Param({ "10", "100", "1000", "10000" })
+    private int size;
+    
+    private Blueprint blueprint;
+    
+    @Setup
+    public void setUp() {
+        blueprint = BenchmarkGraphs.build(shape, size);
+    }
+    
+    @Benchmark
+    public List<Node> getExecutionOrder() {
+        return blueprint.getExecutionOrder();
+    }
+    
+    @Benchmark
+    public boolean hasCycles() {
+        return blueprint.hasCycles();
+    }
+}
@@ -0,0 +1,106 @@
+package com.myfeest.blueprint.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfeest.blueprint.config.CacheConfig;
+import com.myfeest.blueprint.entity.BlueprintDataFormat;
+import com.myfeest.blueprint.entity.BlueprintEntity;
+import com.myfeest.blueprint.serializer.SimpleJsonSerializer;
+import com.myfeest.cache.CacheEntry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark dos serializadores de valores do cache Redis
+ *
+ * Compara o GenericJackson2JsonRedisSerializer (usado antes no cache) com o
+ * CompactRedisSerializer, sem e com compressão, sobre o valor gravado pelo
+ * cache "blueprints": uma CacheEntry com o BlueprintEntity de um blueprint
+ * linear com o número de nós indicado. O tamanho de cada payload é
+ * impresso no início de cada configuração.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializerBenchmark {
+    
+    @Param({ "10", "100", "1000" })
+    private int size;
+    
+    private CacheEntry entry;
+    private RedisSerializer<Object> jackson;
+    private RedisSerializer<Object> compact;
+    private RedisSerializer<Object> compressed;
+    private byte[] jacksonData;
+    private byte[] compactData;
+    private byte[] compressedData;
+    
+    @Setup
+    public void setUp() {
+        BlueprintEntity entity = new BlueprintEntity();
+        entity.setId("bp-" + size);
+        entity.setName("Benchmark " + size);
+        entity.setDescription("Blueprint linear com " + size + " transformações");
+        entity.setBlueprintData(new SimpleJsonSerializer().serialize(BenchmarkGraphs.build(BenchmarkGraphs.LINEAR, size)));
+        entity.setDataFormat(BlueprintDataFormat.JSON);
+        entity.setVersion(3);
+        entity.setIsActive(true);
+        entity.setCreatedBy("benchmark");
+        entity.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        entity.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("owner", "benchmark");
+        entity.setMetadata(metadata);
+        entry = new CacheEntry(entity, System.currentTimeMillis(), 12);
+        
+        // O serializador padrão não registra o módulo de datas do Java 8
+        jackson = new GenericJackson2JsonRedisSerializer();
+        ((GenericJackson2JsonRedisSerializer) jackson).configure(ObjectMapper::findAndRegisterModules);
+        compact = CacheConfig.cacheValueSerializer(0);
+        compressed = CacheConfig.cacheValueSerializer(1024);
+        
+        jacksonData = jackson.serialize(entry);
+        compactData = compact.serialize(entry);
+        compressedData = compressed.serialize(entry);
+        System.out.printf("%nPayload (size=%d): jackson=%d bytes, compact=%d bytes, compact+deflate=%d bytes%n",
+                          size, jacksonData.length, compactData.length, compressedData.length);
+    }
+    
+    @Benchmark
+    public byte[] jacksonSerialize() {
+        return jackson.serialize(entry);
+    }
+    
+    @Benchmark
+    public Object jacksonDeserialize() {
+        return jackson.deserialize(jacksonData);
+    }
+    
+    @Benchmark
+    public byte[] compactSerialize() {
+        return compact.serialize(entry);
+    }
+    
+    @Benchmark
+    public Object compactDeserialize() {
+        return compact.deserialize(compactData);
+    }
+    
+    @Benchmark
+    public byte[] compressedSerialize() {
+        return compressed.serialize(entry);
+    }
+    
+    @Benchmark
+    public Object compressedDeserialize() {
+        return compressed.deserialize(compressedData);
+    }
+}
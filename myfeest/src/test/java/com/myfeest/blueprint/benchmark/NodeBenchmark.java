@@ -0,0 +1,75 @@
+package com.myfeest.blueprint.benchmark;
+
+import com.myfeest.blueprint.core.ExecutionContext;
+import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.nodes.*;
+import com.myfeest.blueprint.nodes.advanced.AdvancedFilterNode;
+import com.myfeest.blueprint.nodes.advanced.AdvancedTransformNode;
+import com.myfeest.blueprint.nodes.custom.APINode;
+import com.myfeest.blueprint.nodes.custom.DatabaseNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de execute de cada tipo de nó embutido, isolado do engine
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NodeBenchmark {
+    
+    @Param({
+        "InputNode", "OutputNode", "TransformNode", "FilterNode", "AINode",
+        "TextInputNode", "TextOutputNode", "ImageInputNode", "ImageOutputNode",
+        "AudioInputNode", "AudioOutputNode", "AdvancedTransformNode",
+        "AdvancedFilterNode", "APINode", "DatabaseNode"
+    })
+    private String nodeType;
+    
+    private Node node;
+    private ExecutionContext context;
+    
+    @Setup
+    public void setUp() {
+        node = create(nodeType);
+        context = new ExecutionContext(Long.MAX_VALUE);
+        context.setGlobalData("data", "Benchmark Value");
+        context.setNodeInputs(node.getId(), Map.of(
+            "value", "Benchmark Value",
+            "text", "Benchmark Value",
+            "image", "Benchmark Value",
+            "audio", "Benchmark Value"));
+    }
+    
+    @Benchmark
+    public Map<String, Object> execute() {
+        return node.execute(context);
+    }
+    
+    private static Node create(String type) {
+        String id = "bench_node";
+        switch (type) {
+            case "InputNode": return new InputNode(id, type, "Benchmark Value");
+            case "OutputNode": return new OutputNode(id, type);
+            case "TransformNode": return new TransformNode(id, type, "uppercase");
+            case "FilterNode": return new FilterNode(id, type, "not_empty");
+            case "AINode": return new AINode(id, type);
+            case "TextInputNode": return new TextInputNode(id, type);
+            case "TextOutputNode": return new TextOutputNode(id, type);
+            case "ImageInputNode": return new ImageInputNode(id, type);
+            case "ImageOutputNode": return new ImageOutputNode(id, type);
+            case "AudioInputNode": return new AudioInputNode(id, type);
+            case "AudioOutputNode": return new AudioOutputNode(id, type);
+            case "AdvancedTransformNode": return new AdvancedTransformNode(id, type);
+            case "AdvancedFilterNode": return new AdvancedFilterNode(id, type);
+            case "APINode": return new APINode(id, type);
+            case "DatabaseNode": return new DatabaseNode(id, type);
+            default: throw new IllegalArgumentException("Tipo de nó desconhecido: " + type);
+        }
+    }
+}
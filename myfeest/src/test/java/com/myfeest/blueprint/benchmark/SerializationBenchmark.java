@@ -0,0 +1,88 @@
+package com.myfeest.blueprint.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.serializer.BlueprintBinaryCodec;
+import com.myfeest.blueprint.serializer.SimpleJsonSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da serialização de blueprints
+ *
+ * O lado Jackson reproduz o uso do BlueprintService: writeValueAsString na
+ * gravação e leitura do JSON persistido. A leitura é medida como árvore
+ * (readTree), pois Blueprint não tem construtor utilizável pelo Jackson e
+ * readValue(..., Blueprint.class) falha hoje.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    
+    @Param({ "10", "100", "1000" })
+    private int size;
+    
+    private Blueprint blueprint;
+    private SimpleJsonSerializer serializer;
+    private ObjectMapper objectMapper;
+    private String jacksonJson;
+    private BlueprintBinaryCodec binaryCodec;
+    private byte[] binaryData;
+    
+    @Setup
+    public void setUp() throws Exception {
+        blueprint = BenchmarkGraphs.build(BenchmarkGraphs.LINEAR, size);
+        serializer = new SimpleJsonSerializer();
+        objectMapper = new ObjectMapper();
+        objectMapper.findAndRegisterModules();
+        jacksonJson = objectMapper.writeValueAsString(blueprint);
+        binaryCodec = new BlueprintBinaryCodec();
+        binaryData = binaryCodec.encode(blueprint);
+    }
+    
+    @Benchmark
+    public String simpleJsonSerialize() {
+        return serializer.serialize(blueprint);
+    }
+    
+    /**
+     * Escrita em fluxo, sem montar o documento (como na resposta HTTP)
+     */
+    @Benchmark
+    public void simpleJsonStream() throws IOException {
+        serializer.serialize(blueprint, Writer.nullWriter());
+    }
+    
+    @Benchmark
+    public String jacksonWrite() throws Exception {
+        return objectMapper.writeValueAsString(blueprint);
+    }
+    
+    @Benchmark
+    public JsonNode jacksonRead() throws Exception {
+        return objectMapper.readTree(jacksonJson);
+    }
+    
+    @Benchmark
+    public JsonNode jacksonRoundTrip() throws Exception {
+        return objectMapper.readTree(objectMapper.writeValueAsString(blueprint));
+    }
+    
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binaryCodec.encode(blueprint);
+    }
+    
+    @Benchmark
+    public Blueprint binaryDecode() {
+        return binaryCodec.decode(binaryData);
+    }
+}
@@ -0,0 +1,160 @@
+package com.myfeest.blueprint.config;
+
+import com.myfeest.blueprint.entity.BlueprintDataFormat;
+import com.myfeest.blueprint.entity.BlueprintEntity;
+import com.myfeest.cache.CacheEntry;
+import com.myfeest.cache.CompactRedisSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para CompactRedisSerializer
+ */
+class CompactRedisSerializerTest {
+    
+    private CompactRedisSerializer serializer;
+    
+    @BeforeEach
+    void setUp() {
+        serializer = CacheConfig.cacheValueSerializer(1024);
+    }
+    
+    @Test
+    void serialize_BlueprintEntityInCacheEntry_ShouldRoundTrip() {
+        // Arrange
+        BlueprintEntity entity = createEntity("{\"nodes\":[]}");
+        CacheEntry entry = new CacheEntry(entity, 1_700_000_000_000L, 42);
+        
+        // Act
+        CacheEntry result = (CacheEntry) serializer.deserialize(serializer.serialize(entry));
+        
+        // Assert
+        assertEquals(1_700_000_000_000L, result.getLoadedAt());
+        assertEquals(42, result.getLoadMillis());
+        BlueprintEntity copy = (BlueprintEntity) result.get();
+        assertEquals(entity.getId(), copy.getId());
+        assertEquals(entity.getName(), copy.getName());
+        assertNull(copy.getDescription());
+        assertEquals(entity.getBlueprintData(), copy.getBlueprintData());
+        assertArrayEquals(entity.getBlueprintBinary(), copy.getBlueprintBinary());
+        assertEquals(BlueprintDataFormat.BINARY, copy.getDataFormat());
+        assertEquals(7, copy.getVersion());
+        assertEquals(Boolean.TRUE, copy.getIsActive());
+        assertEquals(entity.getCreatedAt(), copy.getCreatedAt());
+        assertEquals(entity.getMetadata(), copy.getMetadata());
+    }
+    
+    @Test
+    void serialize_BuiltInTypes_ShouldRoundTrip() {
+        // Arrange
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("texto", "ação");
+        value.put("inteiro", -5);
+        value.put("longo", Long.MIN_VALUE);
+        value.put("decimal", new BigDecimal("-1234.5600"));
+        value.put("real", 2.5);
+        value.put("float", 1.25f);
+        value.put("short", (short) -300);
+        value.put("byte", (byte) 7);
+        value.put("lista", Arrays.asList(1, null, "b"));
+        value.put("conjunto", Set.of("x"));
+        value.put("opcional", Optional.of(true));
+        value.put("data", LocalDateTime.of(1969, 12, 31, 23, 59, 59, 123_000_000));
+        
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(value));
+        
+        // Assert
+        assertEquals(value, result);
+    }
+    
+    @Test
+    void serialize_UnregisteredType_ShouldFallBackToJson() {
+        // Arrange
+        UUID value = UUID.randomUUID();
+        
+        // Act
+        Object result = serializer.deserialize(serializer.serialize(value));
+        
+        // Assert
+        assertEquals(value, result);
+    }
+    
+    @Test
+    void serialize_AboveThreshold_ShouldCompressAndRoundTrip() {
+        // Arrange
+        String data = "{\"type\":\"uppercase\",\"inputs\":[\"input\"]},".repeat(200);
+        BlueprintEntity entity = createEntity(data);
+        CompactRedisSerializer uncompressed = CacheConfig.cacheValueSerializer(0);
+        
+        // Act
+        byte[] compressed = serializer.serialize(entity);
+        byte[] plain = uncompressed.serialize(entity);
+        
+        // Assert
+        assertTrue(compressed.length < plain.length / 4);
+        assertEquals(data, ((BlueprintEntity) serializer.deserialize(compressed)).getBlueprintData());
+        assertEquals(data, ((BlueprintEntity) uncompressed.deserialize(compressed)).getBlueprintData());
+    }
+    
+    @Test
+    void deserialize_OtherSchemaVersion_ShouldReturnNull() {
+        // Arrange
+        byte[] data = serializer.serialize(createEntity("{}"));
+        CompactRedisSerializer newer = new CompactRedisSerializer(1024)
+            .register(BlueprintEntityCacheCodec.TYPE_ID, BlueprintEntityCacheCodec.SCHEMA_VERSION + 1,
+                      BlueprintEntity.class, new BlueprintEntityCacheCodec());
+                      
+        // Act & Assert
+        assertNull(newer.deserialize(data));
+    }
+    
+    @Test
+    void deserialize_TruncatedData_ShouldThrowSerializationException() {
+        // Arrange
+        byte[] data = serializer.serialize(createEntity("{}"));
+        byte[] truncated = Arrays.copyOf(data, data.length - 3);
+        
+        // Act & Assert
+        assertThrows(SerializationException.class, () -> serializer.deserialize(truncated));
+    }
+    
+    @Test
+    void serialize_Null_ShouldRoundTripAsEmpty() {
+        // Act
+        byte[] data = serializer.serialize(null);
+        
+        // Assert
+        assertEquals(0, data.length);
+        assertNull(serializer.deserialize(data));
+    }
+    
+    private BlueprintEntity createEntity(String blueprintData) {
+        BlueprintEntity entity = new BlueprintEntity();
+        entity.setId("bp-1");
+        entity.setName("Blueprint de teste");
+        entity.setBlueprintData(blueprintData);
+        entity.setBlueprintBinary(new byte[] { 1, 2, 3 });
+        entity.setDataFormat(BlueprintDataFormat.BINARY);
+        entity.setVersion(7);
+        entity.setIsActive(true);
+        entity.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 30, 15));
+        Map<String, String> metadata = new HashMap<>();
+        metadata.put("autor", "teste");
+        entity.setMetadata(metadata);
+        return entity;
+    }
+}
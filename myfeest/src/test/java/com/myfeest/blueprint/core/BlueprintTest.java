@@ -0,0 +1,169 @@
+package com.myfeest.blueprint.core;
+
+import com.myfeest.blueprint.nodes.InputNode;
+import com.myfeest.blueprint.nodes.OutputNode;
+import com.myfeest.blueprint.nodes.TransformNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para Blueprint
+ */
+class BlueprintTest {
+    
+    private Blueprint blueprint;
+    
+    @BeforeEach
+    void setUp() {
+        blueprint = new Blueprint("Linear Blueprint");
+        blueprint.addNode(new InputNode("input_1", "Input", "hello"));
+        blueprint.addNode(new TransformNode("transform_1", "Transform", "uppercase"));
+        blueprint.addNode(new OutputNode("output_1", "Output"));
+        blueprint.addConnection(new Connection("c1", "input_1", "transform_1"));
+        blueprint.addConnection(new Connection("c2", "transform_1", "output_1"));
+    }
+    
+    @Test
+    void compile_ShouldBuildTopologicalPlan() {
+        // Act
+        CompiledBlueprint plan = blueprint.compile();
+        
+        // Assert
+        int[] order = plan.getExecutionOrder();
+        assertEquals(3, order.length);
+        assertEquals("input_1", plan.getNode(order[0]).getId());
+        assertEquals("transform_1", plan.getNode(order[1]).getId());
+        assertEquals("output_1", plan.getNode(order[2]).getId());
+        assertEquals(1, plan.getOutputNodes().length);
+        assertFalse(plan.hasCycles());
+    }
+    
+    @Test
+    void compile_ShouldResolvePortsFromDeclaredTypes() {
+        // Act
+        CompiledBlueprint plan = blueprint.compile();
+        int transform = plan.indexOf("transform_1");
+        int output = plan.indexOf("output_1");
+        
+        // Assert - a porta padrão "input" é ligada à única entrada declarada
+        assertArrayEquals(new String[] { "value" }, plan.getIncomingPorts(transform));
+        assertArrayEquals(new String[] { "value" }, plan.getIncomingKeys(transform));
+        // OutputNode aceita qualquer porta ("*")
+        assertArrayEquals(new String[] { "input" }, plan.getIncomingPorts(output));
+        assertArrayEquals(new String[] { "value" }, plan.getIncomingKeys(output));
+    }
+    
+    @Test
+    void compile_ShouldBindConnectionsToSlots() {
+        // Act
+        CompiledBlueprint plan = blueprint.compile();
+        int transform = plan.indexOf("transform_1");
+        int output = plan.indexOf("output_1");
+        
+        // Assert - a porta de destino e a chave de origem viram índices
+        assertEquals(0, plan.getIncomingSlots(transform)[0]);
+        assertEquals(0, plan.getIncomingResultSlots(transform)[0]);
+        // Porta não declarada ("input") ganha um slot no fim do layout de entrada
+        PortLayout outputInputs = plan.getInputLayout(output);
+        assertEquals(outputInputs.size() - 1, plan.getIncomingSlots(output)[0]);
+        assertEquals("input", outputInputs.name(plan.getIncomingSlots(output)[0]));
+        assertEquals("value", plan.getResultLayout(transform).name(plan.getIncomingResultSlots(output)[0]));
+        // Os frames dos nós ficam lado a lado em um único array
+        int total = 0;
+        for (int i = 0; i < plan.getNodeCount(); i++) {
+            assertEquals(total, plan.getInputOffset(i));
+            total += plan.getInputLayout(i).size();
+        }
+        assertEquals(total, plan.getInputSlotCount());
+    }
+    
+    @Test
+    void executionContext_WithBoundPlan_ShouldExposeSlotsAsMap() {
+        // Arrange
+        CompiledBlueprint plan = blueprint.compile();
+        ExecutionContext context = new ExecutionContext();
+        context.bindPlan(plan);
+        
+        // Act
+        context.setNodeInput("transform_1", "value", "a");
+        context.setNodeInput("transform_1", "extra", 1);
+        
+        // Assert
+        assertEquals("a", context.getNodeInput("transform_1", "value"));
+        assertEquals(1, context.getNodeInput("transform_1", "extra"));
+        assertEquals(2, context.getNodeInputs("transform_1").size());
+        
+        context.clear();
+        assertNull(context.getNodeInput("transform_1", "value"));
+        assertTrue(context.getNodeInputs("transform_1").isEmpty());
+    }
+    
+    @Test
+    void compile_WithoutChanges_ShouldReuseCachedPlan() {
+        assertSame(blueprint.compile(), blueprint.compile());
+    }
+    
+    @Test
+    void compile_AfterStructuralChange_ShouldRebuildPlan() {
+        // Arrange
+        CompiledBlueprint first = blueprint.compile();
+        
+        // Act
+        blueprint.removeConnection("c2");
+        CompiledBlueprint second = blueprint.compile();
+        
+        // Assert
+        assertNotSame(first, second);
+        assertEquals(-1, second.indexOf("output_1"));
+    }
+    
+    @Test
+    void getConnectionsFromAndTo_ShouldUseAdjacencyIndexes() {
+        assertEquals(1, blueprint.getConnectionsFrom("input_1").size());
+        assertEquals(1, blueprint.getConnectionsTo("output_1").size());
+        assertTrue(blueprint.getConnectionsTo("input_1").isEmpty());
+    }
+    
+    @Test
+    void removeNode_ShouldDropRelatedConnections() {
+        // Act
+        blueprint.removeNode("transform_1");
+        
+        // Assert
+        assertTrue(blueprint.getConnections().isEmpty());
+        assertTrue(blueprint.getConnectionsFrom("input_1").isEmpty());
+        assertTrue(blueprint.getConnectionsTo("output_1").isEmpty());
+        assertFalse(blueprint.isConnected("input_1"));
+    }
+    
+    @Test
+    void addConnection_ClosingCycle_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> {
+            blueprint.addConnection(new Connection("c3", "output_1", "input_1"));
+        });
+        assertNull(blueprint.getConnection("c3"));
+        assertFalse(blueprint.hasCycles());
+    }
+    
+    @Test
+    void addConnection_OnDeepChain_ShouldNotOverflowStack() {
+        // Arrange
+        Blueprint chain = new Blueprint("Deep Chain");
+        int depth = 20000;
+        for (int i = 0; i < depth; i++) {
+            chain.addNode(new TransformNode("n" + i, "Node " + i, "identity"));
+        }
+        for (int i = 1; i < depth; i++) {
+            chain.addConnection(new Connection("c" + i, "n" + (i - 1), "n" + i));
+        }
+        
+        // Act & Assert: a aresta de volta percorre a cadeia inteira
+        assertThrows(IllegalArgumentException.class, () -> {
+            chain.addConnection(new Connection("back", "n" + (depth - 1), "n0"));
+        });
+        assertFalse(chain.compile().hasCycles());
+    }
+}
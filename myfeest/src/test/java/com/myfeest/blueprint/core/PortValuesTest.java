@@ -0,0 +1,98 @@
+package com.myfeest.blueprint.core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para PortValues
+ */
+class PortValuesTest {
+    
+    private final PortLayout layout = PortLayout.of("value", "type");
+    
+    @Test
+    void put_WithLayoutKey_ShouldFillSlot() {
+        // Arrange
+        PortValues values = new PortValues(layout);
+        
+        // Act
+        values.put("type", "string");
+        
+        // Assert
+        assertEquals("string", values.get(1));
+        assertEquals("string", values.get("type"));
+        assertFalse(values.containsKey("value"));
+        assertEquals(1, values.size());
+    }
+    
+    @Test
+    void set_WithNull_ShouldKeepKeyPresent() {
+        // Arrange
+        PortValues values = new PortValues(layout);
+        
+        // Act
+        values.set(0, null);
+        
+        // Assert
+        assertTrue(values.containsKey("value"));
+        assertNull(values.get("value"));
+        assertEquals(1, values.size());
+    }
+    
+    @Test
+    void put_WithKeyOutsideLayout_ShouldBehaveAsMap() {
+        // Arrange
+        PortValues values = new PortValues(layout);
+        values.put("value", 42);
+        
+        // Act
+        values.put("error", "falhou");
+        
+        // Assert
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("value", 42);
+        expected.put("error", "falhou");
+        assertEquals(expected, values);
+        assertEquals(expected, new HashMap<>(values));
+        assertEquals(expected.hashCode(), values.hashCode());
+    }
+    
+    @Test
+    void entryIterator_Remove_ShouldClearSlotsAndExtraKeys() {
+        // Arrange
+        PortValues values = new PortValues(layout);
+        values.put("value", 1);
+        values.put("type", "int");
+        values.put("error", "x");
+        
+        // Act
+        Iterator<Map.Entry<String, Object>> it = values.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            if (!"type".equals(entry.getKey())) {
+                it.remove();
+            }
+        }
+        
+        // Assert
+        assertEquals(Map.of("type", "int"), values);
+        assertNull(values.get(0));
+    }
+    
+    @Test
+    void of_ShouldSkipDuplicatesAndWildcard() {
+        // Act
+        PortLayout ports = PortLayout.of("a", "*", "b", "a", null);
+        
+        // Assert
+        assertEquals(2, ports.size());
+        assertEquals(0, ports.indexOf("a"));
+        assertEquals(1, ports.indexOf(new String("b")));
+        assertEquals(-1, ports.indexOf("*"));
+    }
+}
@@ -0,0 +1,517 @@
+package com.myfeest.blueprint.engine;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.core.ExecutionCancelledException;
+import com.myfeest.blueprint.core.ExecutionContext;
+import com.myfeest.blueprint.core.Node;
+import com.myfeest.blueprint.metrics.MicrometerExecutionListener;
+import com.myfeest.blueprint.nodes.AINode;
+import com.myfeest.blueprint.nodes.InputNode;
+import com.myfeest.blueprint.nodes.OutputNode;
+import com.myfeest.blueprint.nodes.TransformNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para BlueprintEngine
+ */
+class BlueprintEngineTest {
+    
+    private Blueprint wideBlueprint;
+    
+    @BeforeEach
+    void setUp() {
+        // Uma entrada alimentando dois ramos independentes
+        wideBlueprint = new Blueprint("Wide Blueprint");
+        
+        InputNode input = new InputNode("input_1", "Input", "hello");
+        TransformNode upper = new TransformNode("upper_1", "Upper", "uppercase");
+        TransformNode reverse = new TransformNode("reverse_1", "Reverse", "reverse");
+        OutputNode upperOut = new OutputNode("out_upper", "Upper Out", "upper");
+        OutputNode reverseOut = new OutputNode("out_reverse", "Reverse Out", "reversed");
+        
+        wideBlueprint.addNode(input);
+        wideBlueprint.addNode(upper);
+        wideBlueprint.addNode(reverse);
+        wideBlueprint.addNode(upperOut);
+        wideBlueprint.addNode(reverseOut);
+        
+        wideBlueprint.addConnection(new Connection("c1", "input_1", "upper_1", "value", "value"));
+        wideBlueprint.addConnection(new Connection("c2", "input_1", "reverse_1", "value", "value"));
+        wideBlueprint.addConnection(new Connection("c3", "upper_1", "out_upper", "value", "value"));
+        wideBlueprint.addConnection(new Connection("c4", "reverse_1", "out_reverse", "value", "value"));
+    }
+    
+    @Test
+    void execute_Sequential_ShouldReturnOutputResults() throws Exception {
+        // Act
+        Map<String, Object> result = new BlueprintEngine().execute(wideBlueprint);
+        
+        // Assert
+        assertEquals("HELLO", result.get("upper"));
+        assertEquals("olleh", result.get("reversed"));
+    }
+    
+    @Test
+    void execute_WithDefaultPorts_ShouldBindToDeclaredInput() throws Exception {
+        // Arrange
+        Blueprint blueprint = new Blueprint("Default Ports");
+        blueprint.addNode(new InputNode("input_1", "Input", "hello"));
+        blueprint.addNode(new TransformNode("upper_1", "Upper", "uppercase"));
+        blueprint.addNode(new OutputNode("output_1", "Output"));
+        blueprint.addConnection(new Connection("c1", "input_1", "upper_1"));
+        blueprint.addConnection(new Connection("c2", "upper_1", "output_1"));
+        
+        // Act
+        Map<String, Object> result = new BlueprintEngine().execute(blueprint);
+        
+        // Assert
+        assertEquals("HELLO", result.get("result"));
+    }
+    
+    @Test
+    void execute_Parallel_ShouldMatchSequentialResults() throws Exception {
+        // Arrange
+        ExecutorService executor = EngineExecutors.forkJoin(4);
+        BlueprintEngine engine = new BlueprintEngine();
+        engine.setParallelExecution(true);
+        engine.setExecutor(executor);
+        
+        try {
+            // Act
+            Map<String, Object> parallel = engine.execute(wideBlueprint);
+            Map<String, Object> sequential = new BlueprintEngine().execute(wideBlueprint);
+            
+            // Assert
+            assertEquals(sequential, parallel);
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void executeBatch_ShouldReturnOneResultPerRecord() throws Exception {
+        // Arrange
+        List<Map<String, Object>> inputs = List.of(
+            Map.of("input_1", "abc"),
+            Map.of("Input", "xyz"),
+            Map.of());
+        
+        // Act
+        List<Map<String, Object>> results = new BlueprintEngine().executeBatch(wideBlueprint, inputs);
+        
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("ABC", results.get(0).get("upper"));
+        assertEquals("cba", results.get(0).get("reversed"));
+        assertEquals("XYZ", results.get(1).get("upper"));
+        assertEquals("HELLO", results.get(2).get("upper"));
+    }
+    
+    @Test
+    void stream_ShouldDeliverEveryElementToSinksWithSmallBuffers() throws Exception {
+        // Arrange
+        StreamingPipeline pipeline = new BlueprintEngine().stream(wideBlueprint, 2);
+        SubmissionPublisher<Object> source = new SubmissionPublisher<>();
+        List<Object> received = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<Void> sinkDone = new CompletableFuture<>();
+        pipeline.source("input_1", source);
+        pipeline.sink("upper", new Flow.Subscriber<Object>() {
+            private Flow.Subscription subscription;
+            
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+            }
+            
+            @Override
+            public void onNext(Object item) {
+                received.add(item);
+                subscription.request(1);
+            }
+            
+            @Override
+            public void onError(Throwable throwable) {
+                sinkDone.completeExceptionally(throwable);
+            }
+            
+            @Override
+            public void onComplete() {
+                sinkDone.complete(null);
+            }
+        });
+        
+        // Act
+        CompletableFuture<Void> completion = pipeline.start();
+        for (int i = 0; i < 500; i++) {
+            source.submit("item" + i);
+        }
+        source.close();
+        completion.get(10, TimeUnit.SECONDS);
+        sinkDone.get(10, TimeUnit.SECONDS);
+        
+        // Assert
+        assertEquals(500, received.size());
+        assertEquals("ITEM0", received.get(0));
+        assertEquals("ITEM499", received.get(499));
+    }
+    
+    @Test
+    void stream_Cancel_ShouldMarkContextCancelled() throws Exception {
+        // Arrange
+        StreamingPipeline pipeline = new BlueprintEngine().stream(wideBlueprint, 2);
+        SubmissionPublisher<Object> source = new SubmissionPublisher<>();
+        pipeline.source("input_1", source);
+        CompletableFuture<Void> completion = pipeline.start();
+        source.submit("item");
+        
+        // Act
+        pipeline.cancel();
+        
+        // Assert
+        assertTrue(completion.isCompletedExceptionally());
+        assertEquals(ExecutionContext.ExecutionStatus.CANCELLED, pipeline.getContext().getStatus());
+        assertTrue(pipeline.getContext().isCancelled());
+        source.close();
+    }
+    
+    @Test
+    void execute_SameBlueprintFromManyThreads_ShouldKeepInputsPerExecution() throws Exception {
+        // Arrange
+        // Cada execução lê o próprio registro do contexto; os nós são compartilhados
+        Blueprint blueprint = new Blueprint("Shared Blueprint");
+        blueprint.addNode(new VariableNode("record_1", "record"));
+        blueprint.addNode(new TransformNode("upper_1", "Upper", "uppercase"));
+        blueprint.addNode(new OutputNode("out_upper", "Upper Out", "upper"));
+        blueprint.addConnection(new Connection("c1", "record_1", "upper_1", "value", "value"));
+        blueprint.addConnection(new Connection("c2", "upper_1", "out_upper", "value", "value"));
+        BlueprintEngine engine = new BlueprintEngine();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<List<Object>>> futures = new ArrayList<>();
+        
+        try {
+            // Act
+            for (int t = 0; t < 4; t++) {
+                String prefix = "t" + t + "_";
+                futures.add(executor.submit(() -> {
+                    List<Object> results = new ArrayList<>();
+                    for (int i = 0; i < 200; i++) {
+                        ExecutionContext context = new ExecutionContext();
+                        context.setVariable("record", prefix + i);
+                        results.add(engine.execute(blueprint, context).get("upper"));
+                        assertEquals(prefix + i, context.getNodeInputs("upper_1").get("value"));
+                    }
+                    return results;
+                }));
+            }
+            
+            // Assert
+            for (int t = 0; t < futures.size(); t++) {
+                List<Object> results = futures.get(t).get(10, TimeUnit.SECONDS);
+                assertEquals(200, results.size());
+                for (int i = 0; i < results.size(); i++) {
+                    assertEquals(("t" + t + "_" + i).toUpperCase(), results.get(i));
+                }
+            }
+            blueprint.getNodes().forEach(node -> assertTrue(node.getInputs().isEmpty()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void execute_WithMicrometerListener_ShouldRecordPerNodeMetrics() throws Exception {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        BlueprintEngine engine = new BlueprintEngine();
+        engine.setExecutionListener(new MicrometerExecutionListener(registry, true));
+        engine.setResultCache(new NodeResultCache(100, 60000));
+        
+        // Act
+        engine.execute(wideBlueprint);
+        engine.execute(wideBlueprint);
+        
+        // Assert
+        assertEquals(4, registry.get(MicrometerExecutionListener.EXECUTION_TIMER)
+            .tags("type", "TransformNode").timer().count());
+        assertEquals(2, registry.get(MicrometerExecutionListener.NODE_EXECUTION_TIMER)
+            .tags("type", "TransformNode", "id", "upper_1").timer().count());
+        assertEquals(2.0, registry.get(MicrometerExecutionListener.CACHE_HITS)
+            .tags("type", "TransformNode").counter().count());
+        assertEquals(0.0, registry.get(MicrometerExecutionListener.FAILURES)
+            .tags("type", "InputNode").counter().count());
+    }
+    
+    @Test
+    void execute_NodePastDeadline_ShouldInterruptAndTimeout() {
+        // Arrange
+        BlueprintEngine engine = new BlueprintEngine();
+        engine.setNodeTimeout(100);
+        long start = System.nanoTime();
+        
+        // Act
+        ExecutionCancelledException e = assertThrows(ExecutionCancelledException.class,
+            () -> engine.execute(slowBlueprint()));
+        
+        // Assert
+        assertTrue(e.isTimeout());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+    
+    @Test
+    void submit_Cancel_ShouldStopRunningExecution() throws Exception {
+        // Arrange
+        BlueprintEngine engine = new BlueprintEngine();
+        engine.setParallelExecution(true);
+        ExecutionHandle handle = engine.submit(slowBlueprint());
+        Thread.sleep(100);
+        
+        // Act
+        assertTrue(handle.cancel());
+        
+        // Assert
+        ExecutionCancelledException e = assertThrows(ExecutionCancelledException.class,
+            () -> handle.get(5, TimeUnit.SECONDS));
+        assertFalse(e.isTimeout());
+        assertEquals(ExecutionContext.ExecutionStatus.CANCELLED, handle.getStatus());
+        assertEquals("HELLO", engine.submit(wideBlueprint).get().get("upper"));
+    }
+    
+    @Test
+    void submit_Cancel_ShouldNotReportNodeFailure() throws Exception {
+        // Arrange
+        AtomicInteger failures = new AtomicInteger();
+        BlueprintEngine engine = new BlueprintEngine();
+        engine.setExecutionListener(new ExecutionListener() {
+            @Override
+            public void nodeFailed(Node node, long durationNanos, Throwable error) {
+                failures.incrementAndGet();
+            }
+        });
+        ExecutionHandle handle = engine.submit(slowBlueprint());
+        Thread.sleep(100);
+        
+        // Act
+        handle.cancel();
+        
+        // Assert
+        assertThrows(ExecutionCancelledException.class, () -> handle.get(5, TimeUnit.SECONDS));
+        assertEquals(0, failures.get());
+    }
+    
+    @Test
+    void execute_WithIoLimiter_ShouldCapConcurrentIoNodes() throws Exception {
+        // Arrange
+        BlueprintEngine engine = new BlueprintEngine();
+        engine.setIoLimiter(new ConcurrencyLimiter(3));
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        Blueprint blueprint = new Blueprint("IO Blueprint");
+        blueprint.addNode(new InputNode("input_1", "Input", "hello"));
+        blueprint.addNode(new IoNode("io_1", active, peak));
+        blueprint.addNode(new OutputNode("output_1", "Output"));
+        blueprint.addConnection(new Connection("c1", "input_1", "io_1"));
+        blueprint.addConnection(new Connection("c2", "io_1", "output_1"));
+        ExecutorService executor = EngineExecutors.virtualThreads();
+        List<Future<Map<String, Object>>> futures = new ArrayList<>();
+        
+        try {
+            // Act
+            for (int i = 0; i < 50; i++) {
+                futures.add(executor.submit(() -> engine.execute(blueprint)));
+            }
+            for (Future<Map<String, Object>> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+            
+            // Assert
+            assertTrue(peak.get() <= 3, "pico de concorrência: " + peak.get());
+            assertEquals(0, engine.getIoLimiter().getInUse());
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void setTraceSampleRate_OutOfRange_ShouldThrowException() {
+        BlueprintEngine engine = new BlueprintEngine();
+        assertThrows(IllegalArgumentException.class, () -> engine.setTraceSampleRate(1.5));
+        assertThrows(IllegalArgumentException.class, () -> engine.setTraceSampleRate(-0.1));
+    }
+    
+    @Test
+    void setExecutor_WithNull_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new BlueprintEngine().setExecutor(null));
+    }
+    
+    @Test
+    void execute_WithResultCache_ShouldReuseDeterministicResults() throws Exception {
+        // Arrange
+        BlueprintEngine engine = new BlueprintEngine();
+        engine.setResultCache(new NodeResultCache(100, 60000));
+        
+        // Act
+        Map<String, Object> first = engine.execute(wideBlueprint);
+        Map<String, Object> second = engine.execute(wideBlueprint);
+        
+        // Assert
+        assertEquals(first, second);
+        assertEquals(2, engine.getResultCache().getMissCount());
+        assertEquals(2, engine.getResultCache().getHitCount());
+    }
+    
+    @Test
+    void nodeResultCache_ShouldEvictLeastRecentlyUsedEntries() {
+        // Arrange
+        NodeResultCache cache = new NodeResultCache(1, 0);
+        TransformNode upper = new TransformNode("upper_1", "Upper", "uppercase");
+        TransformNode reverse = new TransformNode("reverse_1", "Reverse", "reverse");
+        NodeResultCache.Key upperKey = NodeResultCache.keyFor(upper, null);
+        NodeResultCache.Key reverseKey = NodeResultCache.keyFor(reverse, null);
+        
+        // Act
+        cache.put(upperKey, Map.of("value", "HELLO"));
+        cache.put(reverseKey, Map.of("value", "olleh"));
+        
+        // Assert
+        assertNull(cache.get(upperKey));
+        assertNotNull(cache.get(reverseKey));
+        assertEquals(1, cache.getEvictionCount());
+    }
+    
+    @Test
+    void aiNode_ShouldNotBeCacheable() {
+        assertFalse(new AINode("ai_1", "AI").isCacheable());
+        assertTrue(new TransformNode("t_1", "T").isCacheable());
+    }
+    
+    private static Blueprint slowBlueprint() {
+        Blueprint blueprint = new Blueprint("Slow Blueprint");
+        blueprint.addNode(new InputNode("input_1", "Input", "hello"));
+        blueprint.addNode(new SleepingNode("slow_1", 10000));
+        blueprint.addNode(new OutputNode("output_1", "Output"));
+        blueprint.addConnection(new Connection("c1", "input_1", "slow_1"));
+        blueprint.addConnection(new Connection("c2", "slow_1", "output_1"));
+        return blueprint;
+    }
+    
+    /**
+     * Nó que bloqueia até ser interrompido, simulando uma chamada externa lenta
+     */
+    private static class SleepingNode extends Node {
+        private final long sleepMillis;
+        
+        SleepingNode(String id, long sleepMillis) {
+            super(id, "Sleeping");
+            this.sleepMillis = sleepMillis;
+        }
+        
+        @Override
+        public Map<String, Object> execute(ExecutionContext context) {
+            try {
+                Thread.sleep(sleepMillis);
+            } catch (InterruptedException e) {
+                throw new RuntimeException("Nó interrompido", e);
+            }
+            return Map.of("value", "done");
+        }
+        
+        @Override
+        public boolean validate() {
+            return true;
+        }
+        
+        @Override
+        public Map<String, String> getInputTypes() {
+            return Map.of("value", "any");
+        }
+        
+        @Override
+        public Map<String, String> getOutputTypes() {
+            return Map.of("value", "any");
+        }
+    }
+    
+    /**
+     * Nó de entrada que lê o valor de uma variável do contexto da execução
+     */
+    private static class VariableNode extends Node {
+        private final String variable;
+        
+        VariableNode(String id, String variable) {
+            super(id, "Variable");
+            this.variable = variable;
+        }
+        
+        @Override
+        public Map<String, Object> execute(ExecutionContext context) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("value", context.getVariable(variable));
+            return result;
+        }
+        
+        @Override
+        public boolean validate() {
+            return true;
+        }
+        
+        @Override
+        public Map<String, String> getInputTypes() {
+            return Map.of();
+        }
+        
+        @Override
+        public Map<String, String> getOutputTypes() {
+            return Map.of("value", "any");
+        }
+    }
+    
+    /**
+     * Nó de I/O que registra o pico de execuções simultâneas
+     */
+    private static class IoNode extends SleepingNode {
+        private final AtomicInteger active;
+        private final AtomicInteger peak;
+        
+        IoNode(String id, AtomicInteger active, AtomicInteger peak) {
+            super(id, 10);
+            this.active = active;
+            this.peak = peak;
+        }
+        
+        @Override
+        public Map<String, Object> execute(ExecutionContext context) {
+            peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                return super.execute(context);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+        
+        @Override
+        public boolean isIoBound() {
+            return true;
+        }
+    }
+}
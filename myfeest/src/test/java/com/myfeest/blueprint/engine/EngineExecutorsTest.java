@@ -0,0 +1,58 @@
+package com.myfeest.blueprint.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * Testes unitários para EngineExecutors
+ */
+class EngineExecutorsTest {
+    
+    @Test
+    void requestExecutor_WithoutVirtualThreads_ShouldQueueBeyondMaxConcurrency() throws Exception {
+        // Arrange
+        assumeFalse(EngineExecutors.supportsVirtualThreads(), "JVM com virtual threads não usa o pool");
+        ExecutorService executor = EngineExecutors.requestExecutor(2, "test-");
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<Future<?>> tasks = new ArrayList<>();
+        
+        try {
+            // Act
+            for (int i = 0; i < 8; i++) {
+                tasks.add(executor.submit(() -> {
+                    peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        active.decrementAndGet();
+                    }
+                }));
+            }
+            
+            // Assert
+            for (Future<?> task : tasks) {
+                task.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(2, peak.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void requestExecutor_WithNonPositiveConcurrency_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> EngineExecutors.requestExecutor(0, "test-"));
+    }
+}
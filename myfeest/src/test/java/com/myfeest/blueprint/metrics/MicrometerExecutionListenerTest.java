@@ -0,0 +1,69 @@
+package com.myfeest.blueprint.metrics;
+
+import com.myfeest.blueprint.nodes.TransformNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para MicrometerExecutionListener
+ */
+class MicrometerExecutionListenerTest {
+    
+    private SimpleMeterRegistry registry;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+    
+    @Test
+    void nodeExecuted_WithoutNodeIdTag_ShouldOnlyPublishPerTypeMeters() {
+        // Arrange
+        MicrometerExecutionListener listener = new MicrometerExecutionListener(registry, false);
+        
+        // Act
+        for (int i = 0; i < 5; i++) {
+            listener.nodeExecuted(new TransformNode("t" + i, "T"), 1000, Map.of("value", "x"));
+        }
+        
+        // Assert
+        assertEquals(5, registry.get(MicrometerExecutionListener.EXECUTION_TIMER)
+            .tags("type", "TransformNode").timer().count());
+        assertThrows(RuntimeException.class,
+            () -> registry.get(MicrometerExecutionListener.NODE_EXECUTION_TIMER).timer());
+    }
+    
+    @Test
+    void nodeExecuted_WithNodeIdTag_ShouldCapDistinctIds() {
+        // Arrange
+        MicrometerExecutionListener listener = new MicrometerExecutionListener(registry, true, 2);
+        
+        // Act
+        for (int i = 0; i < 5; i++) {
+            TransformNode node = new TransformNode("t" + i, "T");
+            listener.nodeExecuted(node, 1000, Map.of("value", "x"));
+            listener.nodeFailed(node, 1000, new IllegalStateException());
+        }
+        
+        // Assert
+        assertEquals(10, registry.get(MicrometerExecutionListener.EXECUTION_TIMER)
+            .tags("type", "TransformNode").timer().count());
+        assertEquals(5.0, registry.get(MicrometerExecutionListener.FAILURES)
+            .tags("type", "TransformNode").counter().count());
+        assertEquals(2, registry.get(MicrometerExecutionListener.NODE_EXECUTION_TIMER)
+            .tags("id", "t1").timer().count());
+        assertThrows(RuntimeException.class,
+            () -> registry.get(MicrometerExecutionListener.NODE_EXECUTION_TIMER).tags("id", "t2").timer());
+    }
+    
+    @Test
+    void constructor_WithNegativeMaxNodeIds_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new MicrometerExecutionListener(registry, true, -1));
+    }
+}
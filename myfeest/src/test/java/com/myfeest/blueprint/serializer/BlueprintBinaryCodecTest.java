@@ -0,0 +1,151 @@
+package com.myfeest.blueprint.serializer;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.core.Position;
+import com.myfeest.blueprint.nodes.InputNode;
+import com.myfeest.blueprint.nodes.OutputNode;
+import com.myfeest.blueprint.nodes.TransformNode;
+import com.myfeest.blueprint.nodes.custom.APINode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para BlueprintBinaryCodec
+ */
+class BlueprintBinaryCodecTest {
+    
+    private BlueprintBinaryCodec codec;
+    private Blueprint blueprint;
+    
+    @BeforeEach
+    void setUp() {
+        codec = new BlueprintBinaryCodec();
+        blueprint = new Blueprint("bp-1", "Blueprint binário");
+        blueprint.setDescription("olá, mundo");
+        blueprint.getMetadata().put("versao", -3L);
+        blueprint.getMetadata().put("tags", Arrays.asList("a", "b"));
+        
+        InputNode input = new InputNode("input_1", "Entrada", "texto");
+        input.setPosition(new Position(10.5, -20));
+        TransformNode transform = new TransformNode("transform_1", "Maiúsculas", "uppercase");
+        APINode api = new APINode("api_1", "API");
+        api.setUrl("https://example.com");
+        api.setMethod("POST");
+        
+        blueprint.addNode(input);
+        blueprint.addNode(transform);
+        blueprint.addNode(api);
+        blueprint.addNode(new OutputNode("output_1", "Saída"));
+        blueprint.addConnection(new Connection("c1", "input_1", "transform_1"));
+        blueprint.addConnection(new Connection("c2", "transform_1", "output_1"));
+    }
+    
+    @Test
+    void decode_AfterEncode_ShouldRestoreBlueprint() {
+        // Act
+        byte[] data = codec.encode(blueprint);
+        Blueprint decoded = codec.decode(data);
+        
+        // Assert
+        assertTrue(BlueprintBinaryCodec.isBinary(data));
+        assertEquals("bp-1", decoded.getId());
+        assertEquals("olá, mundo", decoded.getDescription());
+        assertEquals(-3L, decoded.getMetadata().get("versao"));
+        assertEquals(List.of("a", "b"), decoded.getMetadata().get("tags"));
+        assertEquals(4, decoded.getNodes().size());
+        assertEquals(2, decoded.getConnections().size());
+        
+        InputNode input = (InputNode) decoded.getNode("input_1");
+        assertEquals("texto", input.getValue());
+        assertEquals(10.5, input.getPosition().getX());
+        assertEquals(-20, input.getPosition().getY());
+        assertEquals("uppercase", ((TransformNode) decoded.getNode("transform_1")).getOperation());
+        assertEquals("https://example.com", ((APINode) decoded.getNode("api_1")).getUrl());
+        assertEquals("POST", ((APINode) decoded.getNode("api_1")).getMethod());
+        
+        Connection connection = decoded.getConnections().get(1);
+        assertEquals("transform_1", connection.getFromNodeId());
+        assertEquals("output_1", connection.getToNodeId());
+    }
+    
+    @Test
+    void decode_AfterEncode_ShouldKeepNumericTypes() {
+        // Arrange
+        blueprint.getMetadata().put("int", 5);
+        blueprint.getMetadata().put("short", (short) -7);
+        blueprint.getMetadata().put("byte", (byte) 3);
+        blueprint.getMetadata().put("float", 1.5f);
+        blueprint.getMetadata().put("double", 2.25);
+        blueprint.getNode("transform_1").setProperty("limite", 5);
+        ((InputNode) blueprint.getNode("input_1")).setValue(5);
+        
+        // Act
+        Blueprint decoded = codec.decode(codec.encode(blueprint));
+        
+        // Assert
+        Map<String, Object> metadata = decoded.getMetadata();
+        assertEquals(Integer.valueOf(5), metadata.get("int"));
+        assertEquals(Short.valueOf((short) -7), metadata.get("short"));
+        assertEquals(Byte.valueOf((byte) 3), metadata.get("byte"));
+        assertEquals(Float.valueOf(1.5f), metadata.get("float"));
+        assertEquals(Double.valueOf(2.25), metadata.get("double"));
+        assertEquals(-3L, metadata.get("versao"));
+        assertEquals(Integer.valueOf(5), decoded.getNode("transform_1").getProperty("limite"));
+        assertEquals(Integer.valueOf(5), ((InputNode) decoded.getNode("input_1")).getValue());
+    }
+    
+    @Test
+    void decode_WithVersion1Data_ShouldStillBeSupported() {
+        // Arrange
+        // Sem inteiros menores que Long, a versão 2 grava os mesmos bytes da 1
+        byte[] data = codec.encode(blueprint);
+        data[2] = 1;
+        
+        // Act
+        Blueprint decoded = codec.decode(data);
+        
+        // Assert
+        assertEquals("bp-1", decoded.getId());
+        assertEquals(-3L, decoded.getMetadata().get("versao"));
+    }
+    
+    @Test
+    void encode_ShouldBeSmallerThanCompactJson() {
+        // Act
+        byte[] data = codec.encode(blueprint);
+        String json = new SimpleJsonSerializer(true).serialize(blueprint);
+        
+        // Assert
+        assertTrue(data.length < json.getBytes(StandardCharsets.UTF_8).length);
+    }
+    
+    @Test
+    void decode_WithTruncatedData_ShouldThrowException() {
+        // Arrange
+        byte[] data = codec.encode(blueprint);
+        byte[] truncated = Arrays.copyOf(data, data.length / 2);
+        
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(truncated));
+    }
+    
+    @Test
+    void decode_WithUnknownVersion_ShouldThrowException() {
+        // Arrange
+        byte[] data = codec.encode(blueprint);
+        data[2] = (byte) (BlueprintBinaryCodec.FORMAT_VERSION + 1);
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> codec.decode(data));
+        assertTrue(exception.getMessage().contains("Versão"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.myfeest.blueprint.serializer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para JsonReader
+ */
+class JsonReaderTest {
+    
+    @Test
+    void readValue_NestedDocument_ShouldBuildMapsAndLists() throws IOException {
+        // Arrange
+        JsonReader reader = reader("{\"name\": \"bp\", \"nodes\": [{\"id\": \"n1\", \"x\": 12.5}, {\"id\": \"n2\", \"count\": 3}],"
+            + " \"enabled\": true, \"owner\": null}");
+            
+        // Act
+        Map<String, Object> value = (Map<String, Object>) reader.readValue();
+        reader.endDocument();
+        
+        // Assert
+        assertEquals("bp", value.get("name"));
+        List<Object> nodes = (List<Object>) value.get("nodes");
+        assertEquals(2, nodes.size());
+        assertEquals(12.5, ((Map<String, Object>) nodes.get(0)).get("x"));
+        assertEquals(3L, ((Map<String, Object>) nodes.get(1)).get("count"));
+        assertEquals(Boolean.TRUE, value.get("enabled"));
+        assertTrue(value.containsKey("owner"));
+        assertNull(value.get("owner"));
+    }
+    
+    @Test
+    void nextString_WithEscapes_ShouldDecode() throws IOException {
+        // Arrange
+        JsonReader reader = reader("[\"aspas \\\"duplas\\\"\", \"linha\\nnova\", \"\\u00e9\"]");
+        
+        // Act
+        reader.beginArray();
+        String quoted = reader.nextString();
+        String newline = reader.nextString();
+        String unicode = reader.nextString();
+        reader.endArray();
+        
+        // Assert
+        assertEquals("aspas \"duplas\"", quoted);
+        assertEquals("linha\nnova", newline);
+        assertEquals("é", unicode);
+    }
+    
+    @Test
+    void skipValue_ShouldDiscardWholeSubtree() throws IOException {
+        // Arrange
+        JsonReader reader = reader("{\"ignored\": {\"a\": [1, {\"b\": \"}\"}], \"c\": false}, \"kept\": \"ok\"}");
+        
+        // Act
+        reader.beginObject();
+        reader.nextName();
+        reader.skipValue();
+        String name = reader.nextName();
+        String value = reader.nextString();
+        reader.endObject();
+        
+        // Assert
+        assertEquals("kept", name);
+        assertEquals("ok", value);
+        assertFalse(reader.hasNext());
+    }
+    
+    @Test
+    void nextString_LongerThanBuffer_ShouldReadAcrossRefills() throws IOException {
+        // Arrange
+        String text = "x".repeat(20000) + "\\n" + "y".repeat(10000);
+        JsonReader reader = reader("\"" + text + "\"");
+        
+        // Act
+        String value = reader.nextString();
+        
+        // Assert
+        assertEquals(30001, value.length());
+        assertEquals('\n', value.charAt(20000));
+    }
+    
+    @Test
+    void readValue_MalformedJson_ShouldReportPosition() {
+        // Arrange
+        JsonReader reader = reader("{\"id\": 1,}");
+        
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, reader::readValue);
+        assertTrue(exception.getMessage().contains("posição"));
+    }
+    
+    private static JsonReader reader(String json) {
+        return new JsonReader(new StringReader(json));
+    }
+}
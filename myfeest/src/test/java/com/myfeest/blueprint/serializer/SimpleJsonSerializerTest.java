@@ -0,0 +1,81 @@
+package com.myfeest.blueprint.serializer;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.nodes.InputNode;
+import com.myfeest.blueprint.nodes.OutputNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para SimpleJsonSerializer
+ */
+class SimpleJsonSerializerTest {
+    
+    private Blueprint blueprint;
+    
+    @BeforeEach
+    void setUp() {
+        blueprint = new Blueprint("bp-1", "Blueprint \"citado\"");
+        blueprint.setDescription("linha 1\nlinha 2\t\\ fim");
+        blueprint.addNode(new InputNode("input_1", "Entrada", "olá"));
+        blueprint.addNode(new OutputNode("output_1", "Saída"));
+        blueprint.addConnection(new Connection("c1", "input_1", "output_1"));
+    }
+    
+    @Test
+    void serialize_WithSpecialCharacters_ShouldProduceValidJson() throws IOException {
+        // Act
+        String json = new SimpleJsonSerializer().serialize(blueprint);
+        Map<String, Object> parsed = parse(json);
+        
+        // Assert
+        assertEquals("Blueprint \"citado\"", parsed.get("name"));
+        assertEquals("linha 1\nlinha 2\t\\ fim", parsed.get("description"));
+        Map<String, Object> nodes = (Map<String, Object>) parsed.get("nodes");
+        assertEquals("olá", ((Map<String, Object>) nodes.get("input_1")).get("value"));
+        Map<String, Object> connections = (Map<String, Object>) parsed.get("connections");
+        assertEquals("output_1", ((Map<String, Object>) connections.get("c1")).get("toNodeId"));
+    }
+    
+    @Test
+    void serialize_CompactMode_ShouldOmitWhitespace() throws IOException {
+        // Act
+        String pretty = new SimpleJsonSerializer().serialize(blueprint);
+        String compact = new SimpleJsonSerializer(true).serialize(blueprint);
+        
+        // Assert
+        assertTrue(pretty.contains("\n  \"name\": "));
+        assertFalse(compact.contains("\n"));
+        assertTrue(compact.startsWith("{\"id\":\"bp-1\",\"name\":"));
+        assertEquals(parse(pretty), parse(compact));
+    }
+    
+    @Test
+    void serialize_ToOutputStream_ShouldWriteUtf8() throws IOException {
+        // Arrange
+        SimpleJsonSerializer serializer = new SimpleJsonSerializer(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        
+        // Act
+        serializer.serialize(blueprint, out);
+        
+        // Assert
+        assertEquals(serializer.serialize(blueprint), out.toString(StandardCharsets.UTF_8));
+    }
+    
+    private static Map<String, Object> parse(String json) throws IOException {
+        JsonReader reader = new JsonReader(new StringReader(json));
+        Map<String, Object> value = (Map<String, Object>) reader.readValue();
+        reader.endDocument();
+        return value;
+    }
+}
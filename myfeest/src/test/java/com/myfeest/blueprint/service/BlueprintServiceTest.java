@@ -3,11 +3,14 @@ package com.myfeest.blueprint.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.myfeest.blueprint.core.Blueprint;
 import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.entity.BlueprintDataFormat;
 import com.myfeest.blueprint.entity.BlueprintEntity;
+import com.myfeest.blueprint.core.ExecutionContext;
 import com.myfeest.blueprint.engine.BlueprintEngine;
 import com.myfeest.blueprint.exception.BlueprintNotFoundException;
 import com.myfeest.blueprint.exception.BlueprintValidationException;
 import com.myfeest.blueprint.exception.DuplicateBlueprintException;
+import com.myfeest.blueprint.exception.ExecutionJobNotFoundException;
 import com.myfeest.blueprint.nodes.InputNode;
 import com.myfeest.blueprint.nodes.OutputNode;
 import com.myfeest.blueprint.repository.BlueprintRepository;
@@ -21,6 +24,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -178,6 +182,83 @@ class BlueprintServiceTest {
         });
     }
     
+    @Test
+    void executeAsync_WithValidId_ShouldTrackJobUntilCompletion() throws Exception {
+        // Arrange
+        blueprintEntity.setBlueprintData("{}");
+        when(blueprintRepository.findById("test-id"))
+            .thenReturn(Optional.of(blueprintEntity));
+        when(objectMapper.readValue(anyString(), eq(Blueprint.class)))
+            .thenReturn(validBlueprint);
+        BlueprintService service = new BlueprintService(blueprintRepository, new BlueprintEngine(),
+                                                        objectMapper, Runnable::run);
+        
+        // Act
+        ExecutionJob job = service.executeAsync("test-id");
+        job.toCompletableFuture().get(5, TimeUnit.SECONDS);
+        
+        // Assert
+        assertSame(job, service.getJob(job.getId()));
+        assertEquals("test-id", job.getBlueprintId());
+        assertEquals(ExecutionContext.ExecutionStatus.COMPLETED, job.getStatus());
+        assertEquals("test value", job.getResult().get("result"));
+        assertNull(job.getError());
+    }
+    
+    @Test
+    void executeBlueprint_CalledTwice_ShouldDeserializeOnlyOnce() throws Exception {
+        // Arrange
+        blueprintEntity.setBlueprintData("{}");
+        when(blueprintRepository.findById("test-id"))
+            .thenReturn(Optional.of(blueprintEntity));
+        when(objectMapper.readValue(anyString(), eq(Blueprint.class)))
+            .thenReturn(validBlueprint);
+        BlueprintService service = new BlueprintService(blueprintRepository, new BlueprintEngine(),
+                                                        objectMapper, Runnable::run);
+        
+        // Act
+        service.executeBlueprint("test-id");
+        Map<String, Object> result = service.executeBlueprint("test-id");
+        blueprintEntity.setVersion(blueprintEntity.getVersion() + 1);
+        service.executeBlueprint("test-id");
+        
+        // Assert
+        assertEquals("test value", result.get("result"));
+        verify(objectMapper, times(2)).readValue(anyString(), eq(Blueprint.class));
+    }
+    
+    @Test
+    void createBlueprint_WithBinaryStorage_ShouldStoreAndExecuteCompactFormat() throws Exception {
+        // Arrange
+        when(blueprintRepository.findByNameIgnoreCaseAndIsActiveTrue(anyString()))
+            .thenReturn(Optional.empty());
+        when(blueprintRepository.save(any(BlueprintEntity.class)))
+            .thenAnswer(invocation -> invocation.getArgument(0));
+        BlueprintService service = new BlueprintService(blueprintRepository, new BlueprintEngine(),
+                                                        objectMapper, Runnable::run);
+        service.setStorageFormat(BlueprintDataFormat.BINARY);
+        
+        // Act
+        BlueprintEntity saved = service.createBlueprint(validBlueprint, "test-user");
+        saved.setId("binary-id");
+        when(blueprintRepository.findById("binary-id")).thenReturn(Optional.of(saved));
+        Map<String, Object> result = service.executeBlueprint("binary-id");
+        
+        // Assert
+        assertEquals(BlueprintDataFormat.BINARY, saved.getDataFormat());
+        assertNotNull(saved.getBlueprintBinary());
+        assertNull(saved.getBlueprintData());
+        assertEquals("test value", result.get("result"));
+        verify(objectMapper, never()).writeValueAsString(any());
+    }
+    
+    @Test
+    void getJob_WithUnknownId_ShouldThrowException() {
+        assertThrows(ExecutionJobNotFoundException.class, () -> {
+            blueprintService.getJob("unknown-job");
+        });
+    }
+    
     @Test
     void deleteBlueprint_WithValidId_ShouldSucceed() {
         // Arrange
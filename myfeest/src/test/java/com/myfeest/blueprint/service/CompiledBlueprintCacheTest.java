@@ -0,0 +1,84 @@
+package com.myfeest.blueprint.service;
+
+import com.myfeest.blueprint.core.Blueprint;
+import com.myfeest.blueprint.core.Connection;
+import com.myfeest.blueprint.nodes.InputNode;
+import com.myfeest.blueprint.nodes.OutputNode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para CompiledBlueprintCache
+ */
+class CompiledBlueprintCacheTest {
+    
+    @Test
+    void get_WithSameVersion_ShouldReturnCachedBlueprint() {
+        // Arrange
+        CompiledBlueprintCache cache = new CompiledBlueprintCache(1024 * 1024);
+        Blueprint blueprint = createBlueprint("bp-1");
+        cache.put("bp-1", 1, blueprint);
+        
+        // Act & Assert
+        assertSame(blueprint, cache.get("bp-1", 1));
+        assertNull(cache.get("bp-1", 2));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+    
+    @Test
+    void invalidate_ShouldRemoveEntryAndWeight() {
+        // Arrange
+        CompiledBlueprintCache cache = new CompiledBlueprintCache(1024 * 1024);
+        cache.put("bp-1", 1, createBlueprint("bp-1"));
+        
+        // Act
+        cache.invalidate("bp-1");
+        
+        // Assert
+        assertNull(cache.get("bp-1", 1));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getTotalWeight());
+    }
+    
+    @Test
+    void put_OverMaxWeight_ShouldEvictLeastRecentlyUsed() {
+        // Arrange
+        long weight = CompiledBlueprintCache.estimateWeight(createBlueprint("bp"));
+        CompiledBlueprintCache cache = new CompiledBlueprintCache(weight * 2);
+        cache.put("bp-1", 1, createBlueprint("bp-1"));
+        cache.put("bp-2", 1, createBlueprint("bp-2"));
+        cache.get("bp-1", 1);
+        
+        // Act
+        cache.put("bp-3", 1, createBlueprint("bp-3"));
+        
+        // Assert
+        assertNotNull(cache.get("bp-1", 1));
+        assertNull(cache.get("bp-2", 1));
+        assertNotNull(cache.get("bp-3", 1));
+        assertEquals(1, cache.getEvictionCount());
+        assertTrue(cache.getTotalWeight() <= cache.getMaxWeight());
+    }
+    
+    @Test
+    void put_WithZeroMaxWeight_ShouldNotCache() {
+        // Arrange
+        CompiledBlueprintCache cache = new CompiledBlueprintCache(0);
+        
+        // Act
+        cache.put("bp-1", 1, createBlueprint("bp-1"));
+        
+        // Assert
+        assertEquals(0, cache.size());
+    }
+    
+    private Blueprint createBlueprint(String id) {
+        Blueprint blueprint = new Blueprint(id, "Blueprint " + id);
+        blueprint.addNode(new InputNode("input_1", "Entrada", "valor"));
+        blueprint.addNode(new OutputNode("output_1", "Saída"));
+        blueprint.addConnection(new Connection("c1", "input_1", "output_1"));
+        return blueprint;
+    }
+}
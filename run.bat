@@ -4,6 +4,11 @@ echo    PROJETO JAVA FODA - RUNNER
 echo ========================================
 echo.
 
+rem O cache em dois niveis vem do modulo compartilhado two-level-cache
+echo Instalando o modulo two-level-cache...
+call mvnw.cmd -q -f two-level-cache/pom.xml install -DskipTests
+echo.
+
 :menu
 echo Escolha uma opcao:
 echo 1. Compilar projeto
@@ -5,6 +5,11 @@ echo "   PROJETO JAVA FODA - RUNNER"
 echo "========================================"
 echo
 
+# O cache em dois níveis vem do módulo compartilhado two-level-cache
+echo "Instalando o módulo two-level-cache..."
+./mvnw -q -f two-level-cache/pom.xml install -DskipTests
+echo
+
 while true; do
     echo "Escolha uma opção:"
     echo "1. Compilar projeto"
@@ -0,0 +1,51 @@
+package com.exemplo.config;
+
+import com.exemplo.model.Produto;
+import com.myfeest.cache.CompactRedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Codec de Produto para o {@link CompactRedisSerializer}
+ *
+ * Os campos são gravados na ordem abaixo, sem nomes; ao incluir, remover
+ * ou reordenar campos, incremente {@link #SCHEMA_VERSION} para que os
+ * valores antigos no Redis sejam tratados como ausentes.
+ */
+public class ProdutoCacheCodec implements CompactRedisSerializer.RecordCodec<Produto> {
+    
+    public static final int TYPE_ID = 100;
+    public static final int SCHEMA_VERSION = 1;
+    
+    @Override
+    public void write(Produto produto, CompactRedisSerializer.Output out) {
+        out.writeValue(produto.getId());
+        out.writeString(produto.getNome());
+        out.writeString(produto.getDescricao());
+        out.writeValue(produto.getPreco());
+        out.writeValue(produto.getQuantidadeEstoque());
+        out.writeString(produto.getCategoria() != null ? produto.getCategoria().name() : null);
+        out.writeValue(produto.getTags());
+        out.writeValue(produto.getDataCriacao());
+        out.writeBoolean(produto.isAtivo());
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public Produto read(CompactRedisSerializer.Input in) {
+        Produto produto = new Produto();
+        produto.setId((Long) in.readValue());
+        produto.setNome(in.readString());
+        produto.setDescricao(in.readString());
+        produto.setPreco((BigDecimal) in.readValue());
+        produto.setQuantidadeEstoque((Integer) in.readValue());
+        String categoria = in.readString();
+        produto.setCategoria(categoria != null ? Produto.Categoria.valueOf(categoria) : null);
+        produto.setTags((List<String>) in.readValue());
+        produto.setDataCriacao((LocalDateTime) in.readValue());
+        produto.setAtivo(in.readBoolean());
+        return produto;
+    }
+}
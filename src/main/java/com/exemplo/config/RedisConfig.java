@@ -1,5 +1,11 @@
 package com.exemplo.config;
 
+import com.exemplo.model.Produto;
+import com.exemplo.service.VersaoCacheService;
+import com.myfeest.cache.CompactRedisSerializer;
+import com.myfeest.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,6 +13,9 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -34,15 +43,52 @@ public class RedisConfig {
         return template;
     }
     
+    /**
+     * Cache em dois níveis: L1 local (Caffeine) na frente do Redis, com
+     * invalidação do L1 das outras instâncias via pub/sub
+     */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${cache.local.max-size:10000}") long localMaxSize,
+                                             @Value("${cache.local.ttl:60}") long localTtlSeconds,
+                                             @Value("${cache.redis.compression-threshold:1024}") int compressionThreshold) {
+        Duration ttl = Duration.ofMinutes(30);
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(30)) // TTL de 30 minutos
+                .entryTtl(ttl)
                 .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()));
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer(compressionThreshold)));
         
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.afterPropertiesSet();
+        
+        return new TwoLevelCacheManager(redisCacheManager, name -> ttl, stringRedisTemplate, meterRegistry,
+                localMaxSize, Duration.ofSeconds(localTtlSeconds));
+    }
+    
+    /**
+     * Serializador binário dos valores em cache, com os codecs das
+     * entidades cacheadas; o RedisTemplate continua em JSON por guardar
+     * valores de tipos arbitrários
+     */
+    public static CompactRedisSerializer cacheValueSerializer(int compressionThreshold) {
+        return new CompactRedisSerializer(compressionThreshold)
+                .register(ProdutoCacheCodec.TYPE_ID, ProdutoCacheCodec.SCHEMA_VERSION,
+                        Produto.class, new ProdutoCacheCodec());
+    }
+    
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoLevelCacheManager cacheManager,
+                                                                   VersaoCacheService versaoCacheService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        // Versões das chaves de lista, mantidas em memória como o L1
+        container.addMessageListener(versaoCacheService, new ChannelTopic(VersaoCacheService.CANAL));
+        return container;
     }
 } 
\ No newline at end of file
@@ -12,16 +12,24 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProdutoService {
     
+    // Namespaces de versão das listas em cache, concatenados nas chaves SpEL
+    // dos métodos @Cacheable (veja VersaoCacheService)
+    private static final String VERSAO_LISTAS = "produtos:listas";
+    private static final String VERSAO_CATEGORIA = "produtos:categoria:";
+    
     private final ProdutoRepository produtoRepository;
     private final KafkaTemplate<String, String> kafkaTemplate;
+    private final VersaoCacheService versaoCacheService;
     
     @Cacheable(value = "produtos", key = "#id")
     public Optional<Produto> buscarPorId(Long id) {
@@ -29,19 +37,21 @@ public class ProdutoService {
         return produtoRepository.findById(id);
     }
     
-    @Cacheable(value = "produtos", key = "'todos'")
+    @Cacheable(value = "produtos", key = "'todos:v' + @versaoCacheService.atual('" + VERSAO_LISTAS + "')", sync = true)
     public List<Produto> listarTodos() {
         log.info("Listando todos os produtos");
         return produtoRepository.findAll();
     }
     
-    @Cacheable(value = "produtos", key = "'ativos'")
+    @Cacheable(value = "produtos", key = "'ativos:v' + @versaoCacheService.atual('" + VERSAO_LISTAS + "')", sync = true)
     public List<Produto> listarAtivos() {
         log.info("Listando produtos ativos");
         return produtoRepository.findByAtivoTrue();
     }
     
-    @Cacheable(value = "produtos", key = "#categoria")
+    @Cacheable(value = "produtos",
+            key = "'categoria:' + #categoria + ':v' + @versaoCacheService.atual('" + VERSAO_CATEGORIA + "' + #categoria)",
+            sync = true)
     public List<Produto> buscarPorCategoria(Produto.Categoria categoria) {
         log.info("Buscando produtos da categoria: {}", categoria);
         return produtoRepository.findByCategoria(categoria);
@@ -62,10 +72,10 @@ public class ProdutoService {
         return produtoRepository.findProdutosEmEstoque();
     }
     
-    @CacheEvict(value = "produtos", allEntries = true)
     public Produto criarProduto(Produto produto) {
         log.info("Criando novo produto: {}", produto.getNome());
         Produto produtoSalvo = produtoRepository.save(produto);
+        invalidarListas(produtoSalvo.getCategoria());
         
         // Enviar evento para Kafka
         kafkaTemplate.send("produtos", "PRODUTO_CRIADO", produtoSalvo.getId().toString());
@@ -73,12 +83,13 @@ public class ProdutoService {
         return produtoSalvo;
     }
     
-    @CacheEvict(value = "produtos", allEntries = true)
+    @CacheEvict(value = "produtos", key = "#id")
     public Produto atualizarProduto(Long id, Produto produto) {
         log.info("Atualizando produto com ID: {}", id);
         
         Produto produtoExistente = produtoRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
+        Produto.Categoria categoriaAnterior = produtoExistente.getCategoria();
         
         produtoExistente.setNome(produto.getNome());
         produtoExistente.setDescricao(produto.getDescricao());
@@ -89,6 +100,7 @@ public class ProdutoService {
         produtoExistente.setAtivo(produto.isAtivo());
         
         Produto produtoAtualizado = produtoRepository.save(produtoExistente);
+        invalidarListas(categoriaAnterior, produtoAtualizado.getCategoria());
         
         // Enviar evento para Kafka
         kafkaTemplate.send("produtos", "PRODUTO_ATUALIZADO", produtoAtualizado.getId().toString());
@@ -96,20 +108,34 @@ public class ProdutoService {
         return produtoAtualizado;
     }
     
-    @CacheEvict(value = "produtos", allEntries = true)
+    @CacheEvict(value = "produtos", key = "#id")
     public void deletarProduto(Long id) {
         log.info("Deletando produto com ID: {}", id);
         
-        if (!produtoRepository.existsById(id)) {
-            throw new RuntimeException("Produto não encontrado");
-        }
+        Produto produto = produtoRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
         
         produtoRepository.deleteById(id);
+        invalidarListas(produto.getCategoria());
         
         // Enviar evento para Kafka
         kafkaTemplate.send("produtos", "PRODUTO_DELETADO", id.toString());
     }
     
+    /**
+     * Invalida as listas derivadas (todos, ativos e as categorias afetadas)
+     * incrementando suas versões; os demais produtos em cache são mantidos
+     */
+    private void invalidarListas(Produto.Categoria... categorias) {
+        versaoCacheService.incrementar(VERSAO_LISTAS);
+        Set<Produto.Categoria> afetadas = EnumSet.noneOf(Produto.Categoria.class);
+        for (Produto.Categoria categoria : categorias) {
+            if (categoria != null && afetadas.add(categoria)) {
+                versaoCacheService.incrementar(VERSAO_CATEGORIA + categoria);
+            }
+        }
+    }
+    
     public List<Produto> buscarPorTag(String tag) {
         log.info("Buscando produtos com tag: {}", tag);
         return produtoRepository.findByTag(tag);
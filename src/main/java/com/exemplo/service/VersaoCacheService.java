@@ -0,0 +1,97 @@
+package com.exemplo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Versões de chaves de cache compartilhadas pelo cluster via Redis.
+ *
+ * Caches em formato de lista incluem a versão atual na chave
+ * (ex.: "todos:v3"); uma escrita incrementa a versão e as entradas antigas
+ * deixam de ser lidas, expirando pelo TTL do cache em vez de exigir um
+ * flush do cache inteiro.
+ *
+ * A versão é lida do Redis uma vez e mantida em memória, para que um
+ * acerto no L1 não custe uma ida ao Redis só para montar a chave. Cada
+ * incremento é publicado em {@link #CANAL} e as instâncias atualizam a sua
+ * cópia; se uma mensagem se perder, a cópia expira junto com o L1
+ * (cache.local.ttl) e é relida.
+ */
+@Service
+@Slf4j
+public class VersaoCacheService implements MessageListener {
+    
+    public static final String CANAL = "cache:versao";
+    
+    private static final String PREFIXO = "cache-versao:";
+    
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, Long> versoes;
+    
+    public VersaoCacheService(StringRedisTemplate redisTemplate,
+                              @Value("${cache.local.ttl:60}") long ttlLocalSegundos) {
+        this.redisTemplate = redisTemplate;
+        this.versoes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlLocalSegundos))
+                .build();
+    }
+    
+    public long atual(String namespace) {
+        return versoes.get(namespace, this::lerVersao);
+    }
+    
+    public long incrementar(String namespace) {
+        Long versao = redisTemplate.opsForValue().increment(PREFIXO + namespace);
+        long nova = versao != null ? versao : 0L;
+        atualizarLocal(namespace, nova);
+        try {
+            redisTemplate.convertAndSend(CANAL, namespace + "=" + nova);
+        } catch (RuntimeException e) {
+            // As outras instâncias convergem quando a cópia local expirar
+            log.warn("Falha ao publicar versão de cache {}: {}", namespace, e.getMessage());
+        }
+        log.debug("Versão de cache {} incrementada para {}", namespace, nova);
+        return nova;
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        aplicarMensagem(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Aplica uma versão publicada por outra instância ("namespace=versão")
+     */
+    void aplicarMensagem(String mensagem) {
+        int separador = mensagem.lastIndexOf('=');
+        if (separador <= 0) {
+            return;
+        }
+        try {
+            atualizarLocal(mensagem.substring(0, separador), Long.parseLong(mensagem.substring(separador + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("Mensagem de versão de cache inválida: {}", mensagem);
+        }
+    }
+    
+    /**
+     * Versões só crescem; mensagens fora de ordem não voltam a anterior
+     */
+    private void atualizarLocal(String namespace, long versao) {
+        versoes.asMap().merge(namespace, versao, Math::max);
+    }
+    
+    private long lerVersao(String namespace) {
+        String versao = redisTemplate.opsForValue().get(PREFIXO + namespace);
+        return versao != null ? Long.parseLong(versao) : 0L;
+    }
+}
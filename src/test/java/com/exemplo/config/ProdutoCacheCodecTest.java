@@ -0,0 +1,120 @@
+package com.exemplo.config;
+
+import com.exemplo.model.Produto;
+import com.myfeest.cache.CacheEntry;
+import com.myfeest.cache.CompactRedisSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProdutoCacheCodecTest {
+
+    private CompactRedisSerializer serializer;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        serializer = RedisConfig.cacheValueSerializer(1024);
+
+        produto = new Produto();
+        produto.setId(42L);
+        produto.setNome("Notebook");
+        produto.setDescricao("Tela de 14\", 16 GB");
+        produto.setPreco(new BigDecimal("4599.90"));
+        produto.setQuantidadeEstoque(3);
+        produto.setCategoria(Produto.Categoria.ELETRONICOS);
+        produto.setTags(new ArrayList<>(Arrays.asList("portátil", "promoção")));
+        produto.setDataCriacao(LocalDateTime.of(2024, 3, 15, 9, 30, 0, 500_000_000));
+        produto.setAtivo(false);
+    }
+
+    @Test
+    void serialize_DevePreservarTodosOsCampos() {
+        // When
+        Produto copia = (Produto) serializer.deserialize(serializer.serialize(produto));
+
+        // Then
+        assertEquals(produto, copia);
+        assertEquals(2, copia.getPreco().scale());
+        assertFalse(copia.isAtivo());
+    }
+
+    @Test
+    void serialize_DevePreservarCamposNulos() {
+        // Given
+        Produto vazio = new Produto();
+
+        // When
+        Produto copia = (Produto) serializer.deserialize(serializer.serialize(vazio));
+
+        // Then
+        assertEquals(vazio, copia);
+        assertNull(copia.getCategoria());
+        assertNull(copia.getTags());
+        assertTrue(copia.isAtivo());
+    }
+
+    @Test
+    void serialize_DevePreservarListaDeProdutosEmCacheEntry() {
+        // Given
+        Produto outro = new Produto();
+        outro.setId(43L);
+        outro.setNome("Mouse");
+        outro.setCategoria(Produto.Categoria.ELETRONICOS);
+        CacheEntry entrada = new CacheEntry(List.of(produto, outro), 1_700_000_000_000L, 15);
+
+        // When
+        CacheEntry copia = (CacheEntry) serializer.deserialize(serializer.serialize(entrada));
+
+        // Then
+        assertEquals(List.of(produto, outro), copia.get());
+        assertEquals(1_700_000_000_000L, copia.getLoadedAt());
+        assertEquals(15, copia.getLoadMillis());
+    }
+
+    @Test
+    void serialize_DeveComprimirListasGrandes() {
+        // Given
+        List<Produto> produtos = new ArrayList<>();
+        for (long i = 0; i < 200; i++) {
+            Produto item = new Produto();
+            item.setId(i);
+            item.setNome("Produto " + i);
+            item.setDescricao("Descrição padrão do catálogo");
+            item.setCategoria(Produto.Categoria.CASA);
+            produtos.add(item);
+        }
+        CompactRedisSerializer semCompressao = RedisConfig.cacheValueSerializer(0);
+
+        // When
+        byte[] comprimido = serializer.serialize(produtos);
+        byte[] semComprimir = semCompressao.serialize(produtos);
+
+        // Then
+        assertTrue(comprimido.length < semComprimir.length);
+        assertEquals(produtos, serializer.deserialize(comprimido));
+    }
+
+    @Test
+    void serialize_DeveManterTiposNumericosMenores() {
+        // Given
+        List<Object> valores = Arrays.asList(1.5f, (short) 12, (byte) -3, 7, 8L, 2.25);
+
+        // When
+        List<?> copia = (List<?>) serializer.deserialize(serializer.serialize(valores));
+
+        // Then
+        assertEquals(valores, copia);
+        assertInstanceOf(Float.class, copia.get(0));
+        assertInstanceOf(Short.class, copia.get(1));
+        assertInstanceOf(Byte.class, copia.get(2));
+    }
+}
@@ -0,0 +1,40 @@
+package com.exemplo.config;
+
+import com.myfeest.cache.TwoLevelCache;
+import com.myfeest.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class RedisConfigTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Test
+    void cacheManager_DeveColocarL1NaFrenteDoRedis() {
+        // Given
+        RedisConfig config = new RedisConfig();
+
+        // When
+        TwoLevelCacheManager cacheManager = config.cacheManager(connectionFactory, stringRedisTemplate,
+                new SimpleMeterRegistry(), 100, 60, 1024);
+        Cache cache = cacheManager.getCache("produtos");
+
+        // Then
+        assertInstanceOf(TwoLevelCache.class, cache);
+        assertEquals("produtos", cache.getName());
+        assertTrue(cacheManager.getCacheNames().contains("produtos"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.exemplo.service;
+
+import com.exemplo.model.Produto;
+import com.exemplo.repository.ProdutoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProdutoServiceTest {
+
+    @Mock
+    private ProdutoRepository produtoRepository;
+
+    @Mock
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Mock
+    private VersaoCacheService versaoCacheService;
+
+    @InjectMocks
+    private ProdutoService produtoService;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        produto = new Produto();
+        produto.setId(1L);
+        produto.setNome("Livro");
+        produto.setPreco(new BigDecimal("49.90"));
+        produto.setQuantidadeEstoque(10);
+        produto.setCategoria(Produto.Categoria.LIVROS);
+    }
+
+    @Test
+    void criarProduto_DeveIncrementarSoListasESuaCategoria() {
+        // Given
+        when(produtoRepository.save(produto)).thenReturn(produto);
+
+        // When
+        produtoService.criarProduto(produto);
+
+        // Then
+        verify(versaoCacheService).incrementar("produtos:listas");
+        verify(versaoCacheService).incrementar("produtos:categoria:LIVROS");
+        verifyNoMoreInteractions(versaoCacheService);
+    }
+
+    @Test
+    void atualizarProduto_DeveIncrementarCategoriaAnteriorENova_QuandoCategoriaMuda() {
+        // Given
+        Produto alterado = new Produto();
+        alterado.setNome("Livro de receitas");
+        alterado.setCategoria(Produto.Categoria.CASA);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.save(any(Produto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        var resultado = produtoService.atualizarProduto(1L, alterado);
+
+        // Then
+        assertEquals(Produto.Categoria.CASA, resultado.getCategoria());
+        verify(versaoCacheService).incrementar("produtos:listas");
+        verify(versaoCacheService).incrementar("produtos:categoria:LIVROS");
+        verify(versaoCacheService).incrementar("produtos:categoria:CASA");
+        verifyNoMoreInteractions(versaoCacheService);
+    }
+
+    @Test
+    void atualizarProduto_DeveIncrementarCategoriaUmaVez_QuandoCategoriaNaoMuda() {
+        // Given
+        Produto alterado = new Produto();
+        alterado.setNome("Livro revisado");
+        alterado.setCategoria(Produto.Categoria.LIVROS);
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+        when(produtoRepository.save(any(Produto.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        produtoService.atualizarProduto(1L, alterado);
+
+        // Then
+        verify(versaoCacheService).incrementar("produtos:listas");
+        verify(versaoCacheService).incrementar("produtos:categoria:LIVROS");
+        verifyNoMoreInteractions(versaoCacheService);
+    }
+
+    @Test
+    void deletarProduto_DeveIncrementarListasECategoriaDoProdutoRemovido() {
+        // Given
+        when(produtoRepository.findById(1L)).thenReturn(Optional.of(produto));
+
+        // When
+        produtoService.deletarProduto(1L);
+
+        // Then
+        verify(produtoRepository).deleteById(1L);
+        verify(versaoCacheService).incrementar("produtos:listas");
+        verify(versaoCacheService).incrementar("produtos:categoria:LIVROS");
+        verifyNoMoreInteractions(versaoCacheService);
+    }
+
+    @Test
+    void deletarProduto_DeveLancarExcecaoSemIncrementarVersoes_QuandoProdutoNaoExiste() {
+        // Given
+        when(produtoRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(RuntimeException.class, () -> produtoService.deletarProduto(1L));
+        verifyNoInteractions(versaoCacheService);
+    }
+}
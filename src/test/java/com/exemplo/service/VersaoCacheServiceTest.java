@@ -0,0 +1,93 @@
+package com.exemplo.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VersaoCacheServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private VersaoCacheService versaoCacheService;
+
+    @BeforeEach
+    void setUp() {
+        versaoCacheService = new VersaoCacheService(redisTemplate, 60);
+    }
+
+    @Test
+    void atual_DeveLerRedisUmaVez_QuandoChamadoRepetidamente() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("cache-versao:produtos:listas")).thenReturn("4");
+
+        // When
+        long primeira = versaoCacheService.atual("produtos:listas");
+        long segunda = versaoCacheService.atual("produtos:listas");
+
+        // Then
+        assertEquals(4L, primeira);
+        assertEquals(4L, segunda);
+        verify(valueOperations, times(1)).get("cache-versao:produtos:listas");
+    }
+
+    @Test
+    void incrementar_DeveAtualizarVersaoLocalEPublicar() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment("cache-versao:produtos:listas")).thenReturn(5L);
+
+        // When
+        long nova = versaoCacheService.incrementar("produtos:listas");
+
+        // Then
+        assertEquals(5L, nova);
+        assertEquals(5L, versaoCacheService.atual("produtos:listas"));
+        verify(valueOperations, never()).get(any());
+        verify(redisTemplate).convertAndSend(VersaoCacheService.CANAL, "produtos:listas=5");
+    }
+
+    @Test
+    void aplicarMensagem_DeveAtualizarSoONamespacePublicado() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("cache-versao:produtos:listas")).thenReturn("2");
+        when(valueOperations.get("cache-versao:produtos:categoria:LIVROS")).thenReturn("7");
+        versaoCacheService.atual("produtos:listas");
+        versaoCacheService.atual("produtos:categoria:LIVROS");
+
+        // When
+        versaoCacheService.aplicarMensagem("produtos:categoria:LIVROS=8");
+
+        // Then
+        assertEquals(2L, versaoCacheService.atual("produtos:listas"));
+        assertEquals(8L, versaoCacheService.atual("produtos:categoria:LIVROS"));
+    }
+
+    @Test
+    void aplicarMensagem_DeveManterVersaoAtual_QuandoMensagemChegaForaDeOrdem() {
+        // Given
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.increment("cache-versao:produtos:listas")).thenReturn(9L);
+        versaoCacheService.incrementar("produtos:listas");
+
+        // When
+        versaoCacheService.aplicarMensagem("produtos:listas=8");
+
+        // Then
+        assertEquals(9L, versaoCacheService.atual("produtos:listas"));
+    }
+}
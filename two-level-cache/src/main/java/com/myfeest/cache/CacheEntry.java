@@ -0,0 +1,88 @@
+package com.myfeest.cache;
+
+import org.springframework.cache.Cache;
+
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Valor em cache com os dados de carga usados na renovação antecipada
+ *
+ * Guarda quando o valor foi carregado e quanto a carga demorou. Com o TTL do
+ * cache, {@link #shouldRefreshEarly} decide de forma probabilística
+ * (XFetch) se a leitura atual deve recarregar o valor antes de ele expirar:
+ * a chance cresce conforme a expiração se aproxima e é maior para valores
+ * caros de recalcular, de modo que poucas requisições recarregam e a chave
+ * raramente chega a expirar sob carga.
+ *
+ * Valores gravados sem passar pelo loader (put direto) têm loadedAt = 0 e
+ * nunca são renovados antes da hora.
+ */
+public class CacheEntry implements Cache.ValueWrapper, Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    // Peso da duração da carga na antecipação (1.0 é o valor do XFetch original)
+    private static final double BETA = 1.0;
+    
+    private Object value;
+    private long loadedAt;
+    private long loadMillis;
+    
+    public CacheEntry() {
+    }
+    
+    public CacheEntry(Object value, long loadedAt, long loadMillis) {
+        this.value = value;
+        this.loadedAt = loadedAt;
+        this.loadMillis = loadMillis;
+    }
+    
+    /**
+     * Envolve um valor lido do cache; entradas já envolvidas são mantidas
+     */
+    public static CacheEntry of(Object value) {
+        return value instanceof CacheEntry ? (CacheEntry) value : new CacheEntry(value, 0, 0);
+    }
+    
+    @Override
+    public Object get() {
+        return value;
+    }
+    
+    /**
+     * @param ttlMillis TTL do cache que guarda a entrada; 0 desabilita
+     */
+    public boolean shouldRefreshEarly(long ttlMillis, long now) {
+        if (loadedAt == 0 || ttlMillis <= 0) {
+            return false;
+        }
+        long expiresAt = loadedAt + ttlMillis;
+        double gap = -Math.max(loadMillis, 1) * BETA * Math.log(ThreadLocalRandom.current().nextDouble());
+        return now + gap >= expiresAt;
+    }
+    
+    public Object getValue() {
+        return value;
+    }
+    
+    public void setValue(Object value) {
+        this.value = value;
+    }
+    
+    public long getLoadedAt() {
+        return loadedAt;
+    }
+    
+    public void setLoadedAt(long loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+    
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+    
+    public void setLoadMillis(long loadMillis) {
+        this.loadMillis = loadMillis;
+    }
+}
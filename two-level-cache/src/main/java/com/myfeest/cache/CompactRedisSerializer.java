@@ -0,0 +1,567 @@
+package com.myfeest.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Serializador binário compacto para valores de cache no Redis
+ *
+ * Tipos registrados com {@link #register} são gravados por um
+ * {@link RecordCodec}: os campos vão em ordem fixa, sem nomes nem nome de
+ * classe, precedidos apenas do ID numérico do tipo e da versão do seu
+ * esquema. Strings, números, datas, coleções e Optional têm marcadores
+ * próprios; qualquer outro tipo cai no JSON do Jackson com o nome da
+ * classe, como no GenericJackson2JsonRedisSerializer.
+ *
+ * Layout: versão do formato, flags e o corpo; com a flag de compressão o
+ * corpo é precedido do tamanho original e comprimido com Deflate, o que só
+ * acontece a partir de compressionThreshold bytes e quando reduz o tamanho.
+ *
+ * Um valor gravado com outra versão de esquema (ou tipo não registrado)
+ * é lido como null, o que o cache trata como ausência; a próxima carga
+ * grava a versão atual.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+    
+    /**
+     * Codifica os campos de um tipo em ordem fixa. Ao mudar os campos, a
+     * versão do esquema no registro deve ser incrementada.
+     */
+    public interface RecordCodec<T> {
+        void write(T value, Output out);
+        
+        T read(Input in);
+    }
+    
+    private static final Logger logger = LoggerFactory.getLogger(CompactRedisSerializer.class);
+    
+    public static final int FORMAT_VERSION = 1;
+    
+    private static final int FLAG_DEFLATE = 1;
+    
+    // Marcadores de tipo dos valores
+    private static final int NULL = 0;
+    private static final int NULL_VALUE = 1;
+    private static final int STRING = 2;
+    private static final int INT = 3;
+    private static final int LONG = 4;
+    private static final int DOUBLE = 5;
+    private static final int TRUE = 6;
+    private static final int FALSE = 7;
+    private static final int BIG_DECIMAL = 8;
+    private static final int LOCAL_DATE_TIME = 9;
+    private static final int BYTES = 10;
+    private static final int LIST = 11;
+    private static final int SET = 12;
+    private static final int MAP = 13;
+    private static final int OPTIONAL = 14;
+    private static final int RECORD = 15;
+    private static final int JSON = 16;
+    private static final int FLOAT = 17;
+    private static final int SHORT = 18;
+    private static final int BYTE = 19;
+    
+    private final Map<Class<?>, Registration<?>> registrationsByType;
+    private final Map<Integer, Registration<?>> registrationsById;
+    private final int compressionThreshold;
+    private final ObjectMapper fallbackMapper;
+    
+    /**
+     * @param compressionThreshold tamanho mínimo do corpo, em bytes, para
+     *                             tentar a compressão; 0 desabilita
+     */
+    public CompactRedisSerializer(int compressionThreshold) {
+        this.registrationsByType = new HashMap<>();
+        this.registrationsById = new HashMap<>();
+        this.compressionThreshold = compressionThreshold;
+        this.fallbackMapper = new ObjectMapper();
+        this.fallbackMapper.findAndRegisterModules();
+        register(1, 1, CacheEntry.class, new RecordCodec<>() {
+            @Override
+            public void write(CacheEntry entry, Output out) {
+                out.writeValue(entry.get());
+                out.writeLong(entry.getLoadedAt());
+                out.writeLong(entry.getLoadMillis());
+            }
+            
+            @Override
+            public CacheEntry read(Input in) {
+                return new CacheEntry(in.readValue(), in.readLong(), in.readLong());
+            }
+        });
+    }
+    
+    /**
+     * Registra o codec de um tipo; IDs até 99 são reservados a este
+     * serializador
+     */
+    public <T> CompactRedisSerializer register(int typeId, int schemaVersion, Class<T> type, RecordCodec<T> codec) {
+        if (registrationsById.containsKey(typeId)) {
+            throw new IllegalArgumentException("ID de tipo já registrado: " + typeId);
+        }
+        Registration<T> registration = new Registration<>(typeId, schemaVersion, type, codec);
+        registrationsByType.put(type, registration);
+        registrationsById.put(typeId, registration);
+        return this;
+    }
+    
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        try {
+            Output body = new Output();
+            body.writeValue(value);
+            byte[] bytes = body.toByteArray();
+            
+            if (compressionThreshold > 0 && bytes.length >= compressionThreshold) {
+                byte[] compressed = deflate(bytes);
+                if (compressed.length < bytes.length) {
+                    Output out = new Output();
+                    out.buffer.write(FORMAT_VERSION);
+                    out.buffer.write(FLAG_DEFLATE);
+                    out.writeVarint(bytes.length);
+                    out.buffer.write(compressed, 0, compressed.length);
+                    return out.toByteArray();
+                }
+            }
+            
+            byte[] result = new byte[bytes.length + 2];
+            result[0] = FORMAT_VERSION;
+            result[1] = 0;
+            System.arraycopy(bytes, 0, result, 2, bytes.length);
+            return result;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Erro ao serializar valor de cache: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes.length < 2 || bytes[0] != FORMAT_VERSION) {
+            logger.debug("Valor de cache em formato desconhecido ignorado");
+            return null;
+        }
+        try {
+            Input in;
+            if ((bytes[1] & FLAG_DEFLATE) != 0) {
+                Input header = new Input(bytes, 2, bytes.length);
+                int length = header.readVarint();
+                in = new Input(inflate(bytes, header.position, length), 0, length);
+            } else {
+                in = new Input(bytes, 2, bytes.length);
+            }
+            return in.readValue();
+        } catch (StaleSchemaException e) {
+            logger.debug("Valor de cache com esquema antigo ignorado: {}", e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            throw new SerializationException("Erro ao deserializar valor de cache: " + e.getMessage(), e);
+        }
+    }
+    
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+            byte[] chunk = new byte[4096];
+            while (!deflater.finished()) {
+                int count = deflater.deflate(chunk);
+                out.write(chunk, 0, count);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+    
+    private static byte[] inflate(byte[] bytes, int offset, int length) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            byte[] result = new byte[length];
+            int read = 0;
+            while (read < length && !inflater.finished()) {
+                int count = inflater.inflate(result, read, length - read);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += count;
+            }
+            if (read != length) {
+                throw new IllegalArgumentException("Valor comprimido truncado");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Valor comprimido inválido", e);
+        } finally {
+            inflater.end();
+        }
+    }
+    
+    private static final class Registration<T> {
+        private final int typeId;
+        private final int schemaVersion;
+        private final Class<T> type;
+        private final RecordCodec<T> codec;
+        
+        Registration(int typeId, int schemaVersion, Class<T> type, RecordCodec<T> codec) {
+            this.typeId = typeId;
+            this.schemaVersion = schemaVersion;
+            this.type = type;
+            this.codec = codec;
+        }
+    }
+    
+    /**
+     * Valor gravado com um esquema que não é o atual
+     */
+    private static final class StaleSchemaException extends RuntimeException {
+        StaleSchemaException(String message) {
+            super(message, null, false, false);
+        }
+    }
+    
+    /**
+     * Escrita dos campos de um registro
+     */
+    public final class Output {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        
+        /**
+         * String que pode ser nula, com tamanho em varint
+         */
+        public void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length + 1L);
+            buffer.write(bytes, 0, bytes.length);
+        }
+        
+        public void writeLong(long value) {
+            // zigzag: números negativos pequenos também ocupam poucos bytes
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+        
+        public void writeBoolean(boolean value) {
+            buffer.write(value ? 1 : 0);
+        }
+        
+        /**
+         * Valor de qualquer tipo suportado, precedido do seu marcador
+         */
+        public void writeValue(Object value) {
+            if (value == null) {
+                buffer.write(NULL);
+            } else if (value instanceof String) {
+                buffer.write(STRING);
+                writeString((String) value);
+            } else if (value instanceof Integer) {
+                buffer.write(INT);
+                writeLong((Integer) value);
+            } else if (value instanceof Long) {
+                buffer.write(LONG);
+                writeLong((Long) value);
+            } else if (value instanceof Double) {
+                buffer.write(DOUBLE);
+                writeFixed(Double.doubleToLongBits((Double) value), 8);
+            } else if (value instanceof Float) {
+                buffer.write(FLOAT);
+                writeFixed(Float.floatToIntBits((Float) value), 4);
+            } else if (value instanceof Short) {
+                buffer.write(SHORT);
+                writeLong((Short) value);
+            } else if (value instanceof Byte) {
+                buffer.write(BYTE);
+                buffer.write((Byte) value);
+            } else if (value instanceof Boolean) {
+                buffer.write((Boolean) value ? TRUE : FALSE);
+            } else if (value instanceof BigDecimal) {
+                BigDecimal decimal = (BigDecimal) value;
+                buffer.write(BIG_DECIMAL);
+                writeLong(decimal.scale());
+                writeBytes(decimal.unscaledValue().toByteArray());
+            } else if (value instanceof LocalDateTime) {
+                LocalDateTime dateTime = (LocalDateTime) value;
+                buffer.write(LOCAL_DATE_TIME);
+                writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+                writeVarint(dateTime.getNano());
+            } else if (value instanceof byte[]) {
+                buffer.write(BYTES);
+                writeBytes((byte[]) value);
+            } else if (value instanceof NullValue) {
+                buffer.write(NULL_VALUE);
+            } else if (value instanceof Optional) {
+                buffer.write(OPTIONAL);
+                writeValue(((Optional<?>) value).orElse(null));
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                buffer.write(MAP);
+                writeVarint(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                buffer.write(value instanceof Set ? SET : LIST);
+                writeVarint(collection.size());
+                for (Object item : collection) {
+                    writeValue(item);
+                }
+            } else {
+                Registration<?> registration = registrationsByType.get(value.getClass());
+                if (registration != null) {
+                    writeRecord(registration, value);
+                } else {
+                    writeJson(value);
+                }
+            }
+        }
+        
+        private <T> void writeRecord(Registration<T> registration, Object value) {
+            buffer.write(RECORD);
+            writeVarint(registration.typeId);
+            writeVarint(registration.schemaVersion);
+            registration.codec.write(registration.type.cast(value), this);
+        }
+        
+        private void writeJson(Object value) {
+            try {
+                buffer.write(JSON);
+                writeString(value.getClass().getName());
+                writeBytes(fallbackMapper.writeValueAsBytes(value));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Valor não serializável: " + value.getClass().getName(), e);
+            }
+        }
+        
+        private void writeFixed(long bits, int size) {
+            for (int shift = (size - 1) * 8; shift >= 0; shift -= 8) {
+                buffer.write((int) (bits >>> shift));
+            }
+        }
+        
+        private void writeBytes(byte[] bytes) {
+            writeVarint(bytes.length);
+            buffer.write(bytes, 0, bytes.length);
+        }
+        
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.write((int) value);
+        }
+        
+        private byte[] toByteArray() {
+            return buffer.toByteArray();
+        }
+    }
+    
+    /**
+     * Leitura dos campos de um registro, na mesma ordem da escrita
+     */
+    public final class Input {
+        private final byte[] data;
+        private final int limit;
+        private int position;
+        
+        private Input(byte[] data, int offset, int limit) {
+            this.data = data;
+            this.position = offset;
+            this.limit = limit;
+        }
+        
+        public String readString() {
+            long length = readVarlong();
+            if (length == 0) {
+                return null;
+            }
+            int size = (int) (length - 1);
+            checkAvailable(size);
+            String value = new String(data, position, size, StandardCharsets.UTF_8);
+            position += size;
+            return value;
+        }
+        
+        public long readLong() {
+            long n = readVarlong();
+            return (n >>> 1) ^ -(n & 1);
+        }
+        
+        public boolean readBoolean() {
+            checkAvailable(1);
+            return data[position++] != 0;
+        }
+        
+        public Object readValue() {
+            checkAvailable(1);
+            int tag = data[position++];
+            switch (tag) {
+                case NULL:
+                    return null;
+                case NULL_VALUE:
+                    return NullValue.INSTANCE;
+                case STRING:
+                    return readString();
+                case INT:
+                    return (int) readLong();
+                case LONG:
+                    return readLong();
+                case DOUBLE:
+                    return Double.longBitsToDouble(readFixed(8));
+                case FLOAT:
+                    return Float.intBitsToFloat((int) readFixed(4));
+                case SHORT:
+                    return (short) readLong();
+                case BYTE:
+                    checkAvailable(1);
+                    return data[position++];
+                case TRUE:
+                    return Boolean.TRUE;
+                case FALSE:
+                    return Boolean.FALSE;
+                case BIG_DECIMAL:
+                    int scale = (int) readLong();
+                    return new BigDecimal(new BigInteger(readBytes()), scale);
+                case LOCAL_DATE_TIME:
+                    long seconds = readLong();
+                    return LocalDateTime.ofEpochSecond(seconds, readVarint(), ZoneOffset.UTC);
+                case BYTES:
+                    return readBytes();
+                case OPTIONAL:
+                    return Optional.ofNullable(readValue());
+                case MAP:
+                    int entries = readVarint();
+                    Map<Object, Object> map = new LinkedHashMap<>(Math.max(16, entries * 2));
+                    for (int i = 0; i < entries; i++) {
+                        Object key = readValue();
+                        map.put(key, readValue());
+                    }
+                    return map;
+                case LIST:
+                case SET:
+                    int size = readVarint();
+                    Collection<Object> collection = tag == SET
+                        ? new LinkedHashSet<>(Math.max(16, size * 2))
+                        : new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        collection.add(readValue());
+                    }
+                    return collection;
+                case RECORD:
+                    return readRecord();
+                case JSON:
+                    return readJson();
+                default:
+                    throw new IllegalArgumentException("Marcador de valor desconhecido: " + tag);
+            }
+        }
+        
+        private Object readRecord() {
+            int typeId = readVarint();
+            int schemaVersion = readVarint();
+            Registration<?> registration = registrationsById.get(typeId);
+            if (registration == null) {
+                throw new StaleSchemaException("tipo " + typeId + " não registrado");
+            }
+            if (registration.schemaVersion != schemaVersion) {
+                throw new StaleSchemaException(registration.type.getSimpleName() + " v" + schemaVersion
+                    + ", atual v" + registration.schemaVersion);
+            }
+            return registration.codec.read(this);
+        }
+        
+        private Object readJson() {
+            String className = readString();
+            byte[] json = readBytes();
+            try {
+                Class<?> type = Class.forName(className, false, CompactRedisSerializer.class.getClassLoader());
+                return fallbackMapper.readValue(json, type);
+            } catch (ClassNotFoundException e) {
+                throw new StaleSchemaException("classe " + className + " não encontrada");
+            } catch (IOException e) {
+                throw new IllegalArgumentException("JSON inválido para " + className, e);
+            }
+        }
+        
+        private long readFixed(int size) {
+            checkAvailable(size);
+            long bits = 0;
+            for (int i = 0; i < size; i++) {
+                bits = (bits << 8) | (data[position++] & 0xFF);
+            }
+            return bits;
+        }
+        
+        private byte[] readBytes() {
+            int length = readVarint();
+            checkAvailable(length);
+            byte[] bytes = new byte[length];
+            System.arraycopy(data, position, bytes, 0, length);
+            position += length;
+            return bytes;
+        }
+        
+        private int readVarint() {
+            long value = readVarlong();
+            if (value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Tamanho inválido: " + value);
+            }
+            return (int) value;
+        }
+        
+        private long readVarlong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                checkAvailable(1);
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Varint inválido");
+        }
+        
+        private void checkAvailable(int count) {
+            if (count < 0 || position + count > limit) {
+                throw new IllegalArgumentException("Valor de cache truncado");
+            }
+        }
+    }
+}
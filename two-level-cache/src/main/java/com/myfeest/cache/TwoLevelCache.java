@@ -0,0 +1,323 @@
+package com.myfeest.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache em dois níveis: L1 local (Caffeine) na frente de um L2 compartilhado
+ *
+ * Leituras consultam o L1 e só vão ao L2 (Redis) em caso de falta, copiando
+ * o valor encontrado para o L1. Escritas e remoções passam pelos dois níveis
+ * e são publicadas para que as outras instâncias descartem a chave do seu L1.
+ * O L1 usa a forma String da chave, a mesma usada pelo Redis, para que a
+ * chave recebida na invalidação seja igual à local.
+ *
+ * {@link #get(Object, Callable)} (usado por @Cacheable(sync = true)) carrega
+ * cada chave uma única vez por instância: chamadas concorrentes esperam o
+ * mesmo futuro em vez de irem todas ao banco. Valores carregados por ele
+ * guardam a duração da carga ({@link CacheEntry}) e são renovados
+ * antecipadamente, de forma probabilística, antes do TTL do L2.
+ *
+ * Acertos e faltas de cada nível são contados em "cache.tier.gets" (tags
+ * cache, tier=l1|l2 e result=hit|miss).
+ */
+public class TwoLevelCache implements Cache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCache.class);
+    
+    /**
+     * Publica a invalidação de uma chave do L1 para as demais instâncias
+     */
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        /**
+         * @param key chave no formato do L1, ou null quando o cache inteiro
+         *            foi limpo
+         */
+        void publish(String cacheName, String key);
+    }
+    
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> local;
+    private final Cache remote;
+    private final long remoteTtlMillis;
+    private final InvalidationPublisher publisher;
+    private final ConcurrentMap<String, CompletableFuture<CacheEntry>> loading;
+    private final Counter localHits;
+    private final Counter localMisses;
+    private final Counter remoteHits;
+    private final Counter remoteMisses;
+    private final Counter coalescedLoads;
+    private final Counter earlyRefreshes;
+    
+    /**
+     * @param remoteTtl TTL das entradas no L2, base da renovação antecipada;
+     *                  null ou zero a desabilita
+     */
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> local,
+                         Cache remote,
+                         Duration remoteTtl,
+                         InvalidationPublisher publisher,
+                         MeterRegistry meterRegistry) {
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.remoteTtlMillis = remoteTtl != null ? remoteTtl.toMillis() : 0;
+        this.publisher = publisher;
+        this.loading = new ConcurrentHashMap<>();
+        this.localHits = tierCounter(meterRegistry, "l1", "hit");
+        this.localMisses = tierCounter(meterRegistry, "l1", "miss");
+        this.remoteHits = tierCounter(meterRegistry, "l2", "hit");
+        this.remoteMisses = tierCounter(meterRegistry, "l2", "miss");
+        this.coalescedLoads = Counter.builder("cache.loads.coalesced")
+            .tag("cache", name)
+            .register(meterRegistry);
+        this.earlyRefreshes = Counter.builder("cache.refreshes.early")
+            .tag("cache", name)
+            .register(meterRegistry);
+        Gauge.builder("cache.tier.size", local, c -> c.estimatedSize())
+            .tag("cache", name)
+            .tag("tier", "l1")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        return lookup(key, localKey(key));
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + value);
+        }
+        return (T) value;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        CacheEntry entry = lookup(key, localKey);
+        if (entry == null) {
+            return (T) loadOnce(key, localKey, valueLoader).get();
+        }
+        
+        // Uma só renovação por chave: quem não consegue reservar a chave
+        // continua com o valor atual em vez de esperar a recarga
+        if (entry.shouldRefreshEarly(remoteTtlMillis, System.currentTimeMillis())) {
+            CompletableFuture<CacheEntry> refresh = new CompletableFuture<>();
+            if (loading.putIfAbsent(localKey, refresh) == null) {
+                earlyRefreshes.increment();
+                try {
+                    return (T) load(key, localKey, valueLoader, refresh, false).get();
+                } catch (RuntimeException e) {
+                    // O valor atual ainda não expirou e continua válido
+                    logger.warn("Falha na renovação antecipada de {}::{}: {}", name, localKey, e.getMessage());
+                }
+            }
+        }
+        return (T) entry.get();
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        String localKey = localKey(key);
+        local.put(localKey, CacheEntry.of(value));
+        publisher.publish(name, localKey);
+    }
+    
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        String localKey = localKey(key);
+        if (existing == null) {
+            local.put(localKey, CacheEntry.of(value));
+            publisher.publish(name, localKey);
+            return null;
+        }
+        CacheEntry entry = CacheEntry.of(existing.get());
+        local.put(localKey, entry);
+        return entry;
+    }
+    
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        publisher.publish(name, localKey);
+    }
+    
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = remote.evictIfPresent(key);
+        String localKey = localKey(key);
+        local.invalidate(localKey);
+        publisher.publish(name, localKey);
+        return present;
+    }
+    
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publish(name, null);
+    }
+    
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        local.invalidateAll();
+        publisher.publish(name, null);
+        return invalidated;
+    }
+    
+    /**
+     * Descarta uma chave (ou todas, se null) apenas do L1, a pedido de outra
+     * instância; o L2 já foi atualizado por quem publicou
+     */
+    public void evictLocal(String localKey) {
+        if (localKey == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(localKey);
+        }
+    }
+    
+    public double getLocalHitRate() {
+        return hitRate(localHits, localMisses);
+    }
+    
+    public double getRemoteHitRate() {
+        return hitRate(remoteHits, remoteMisses);
+    }
+    
+    /**
+     * Procura no L1 e depois no L2, copiando para o L1 o que vier do L2
+     */
+    private CacheEntry lookup(Object key, String localKey) {
+        CacheEntry entry = local.getIfPresent(localKey);
+        if (entry != null) {
+            localHits.increment();
+            return entry;
+        }
+        localMisses.increment();
+        
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null) {
+            remoteMisses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        entry = CacheEntry.of(wrapper.get());
+        local.put(localKey, entry);
+        return entry;
+    }
+    
+    /**
+     * Executa o loader uma única vez por chave nesta instância; quem chega
+     * durante a carga espera pelo mesmo resultado
+     */
+    private CacheEntry loadOnce(Object key, String localKey, Callable<?> valueLoader) {
+        CompletableFuture<CacheEntry> future = new CompletableFuture<>();
+        CompletableFuture<CacheEntry> running = loading.putIfAbsent(localKey, future);
+        if (running != null) {
+            coalescedLoads.increment();
+            return await(running);
+        }
+        return load(key, localKey, valueLoader, future, true);
+    }
+    
+    /**
+     * Carrega a chave já reservada em loading por future, completando-o e
+     * liberando a reserva ao final
+     * @param reuseLocal true para aproveitar um valor que outra carga tenha
+     *                   gravado no L1 entre a consulta e a reserva
+     */
+    private CacheEntry load(Object key, String localKey, Callable<?> valueLoader,
+                            CompletableFuture<CacheEntry> future, boolean reuseLocal) {
+        try {
+            CacheEntry entry = reuseLocal ? local.getIfPresent(localKey) : null;
+            if (entry == null) {
+                long start = System.nanoTime();
+                Object value;
+                try {
+                    value = valueLoader.call();
+                } catch (Exception e) {
+                    throw new ValueRetrievalException(key, valueLoader, e);
+                }
+                long loadMillis = (System.nanoTime() - start) / 1_000_000;
+                entry = new CacheEntry(value, System.currentTimeMillis(), loadMillis);
+                remote.put(key, entry);
+                local.put(localKey, entry);
+                publisher.publish(name, localKey);
+            }
+            future.complete(entry);
+            return entry;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(localKey, future);
+        }
+    }
+    
+    private static CacheEntry await(CompletableFuture<CacheEntry> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+    
+    private static double hitRate(Counter hits, Counter misses) {
+        double total = hits.count() + misses.count();
+        return total == 0 ? 0.0 : hits.count() / total;
+    }
+    
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("cache.tier.gets")
+            .tag("cache", name)
+            .tag("tier", tier)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+    
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
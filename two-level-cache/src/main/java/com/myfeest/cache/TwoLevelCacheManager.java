@@ -0,0 +1,126 @@
+package com.myfeest.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * CacheManager em dois níveis: cada cache do gerenciador remoto (Redis)
+ * ganha um L1 Caffeine limitado por tamanho e por tempo desde a escrita
+ *
+ * A coerência entre instâncias usa pub/sub no canal
+ * {@link #INVALIDATION_CHANNEL}: cada escrita ou remoção publica
+ * "instância:cache:operação:chave" e as outras instâncias descartam a chave
+ * do seu L1. Mensagens perdidas (ex.: reconexão com o Redis) só deixam o L1
+ * desatualizado até o TTL local, que deve ser curto em relação ao do Redis.
+ */
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+    
+    public static final String INVALIDATION_CHANNEL = "cache:invalidation";
+    
+    private static final Logger logger = LoggerFactory.getLogger(TwoLevelCacheManager.class);
+    
+    private static final String OP_EVICT = "E";
+    private static final String OP_CLEAR = "C";
+    
+    private final CacheManager remoteCacheManager;
+    private final Function<String, Duration> remoteTtls;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final long localMaxSize;
+    private final Duration localTtl;
+    private final String instanceId;
+    private final ConcurrentMap<String, TwoLevelCache> caches;
+    
+    /**
+     * @param remoteTtls TTL de cada cache no gerenciador remoto, usado na
+     *                   renovação antecipada das entradas
+     */
+    public TwoLevelCacheManager(CacheManager remoteCacheManager,
+                                Function<String, Duration> remoteTtls,
+                                StringRedisTemplate redisTemplate,
+                                MeterRegistry meterRegistry,
+                                long localMaxSize,
+                                Duration localTtl) {
+        this.remoteCacheManager = remoteCacheManager;
+        this.remoteTtls = remoteTtls;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.localMaxSize = localMaxSize;
+        this.localTtl = localTtl;
+        this.instanceId = UUID.randomUUID().toString();
+        this.caches = new ConcurrentHashMap<>();
+    }
+    
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+    
+    @Override
+    public Collection<String> getCacheNames() {
+        Set<String> names = new LinkedHashSet<>(remoteCacheManager.getCacheNames());
+        names.addAll(caches.keySet());
+        return names;
+    }
+    
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        handleInvalidation(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Aplica ao L1 uma invalidação publicada por outra instância
+     */
+    public void handleInvalidation(String message) {
+        String[] parts = message.split(":", 4);
+        if (parts.length < 4 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache == null) {
+            return;
+        }
+        cache.evictLocal(OP_CLEAR.equals(parts[2]) ? null : parts[3]);
+    }
+    
+    private TwoLevelCache createCache(String name) {
+        Cache remote = remoteCacheManager.getCache(name);
+        if (remote == null) {
+            return null;
+        }
+        com.github.benmanes.caffeine.cache.Cache<String, CacheEntry> local = Caffeine.newBuilder()
+            .maximumSize(localMaxSize)
+            .expireAfterWrite(localTtl)
+            .build();
+        return new TwoLevelCache(name, local, remote, remoteTtls.apply(name), this::publish, meterRegistry);
+    }
+    
+    private void publish(String cacheName, String key) {
+        String message = key == null
+            ? instanceId + ":" + cacheName + ":" + OP_CLEAR + ":"
+            : instanceId + ":" + cacheName + ":" + OP_EVICT + ":" + key;
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message);
+        } catch (RuntimeException e) {
+            // O L2 já foi atualizado; as outras instâncias convergem pelo TTL local
+            logger.warn("Falha ao publicar invalidação do cache {}: {}", cacheName, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.myfeest.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para TwoLevelCacheManager
+ *
+ * Duas instâncias compartilham um L2 em memória no lugar do Redis, e o
+ * pub/sub é simulado entregando cada mensagem publicada a todas elas.
+ */
+class TwoLevelCacheManagerTest {
+    
+    private ConcurrentMapCacheManager sharedRemote;
+    private List<TwoLevelCacheManager> instances;
+    private MeterRegistry meterRegistry;
+    
+    @BeforeEach
+    void setUp() {
+        sharedRemote = new ConcurrentMapCacheManager("blueprints");
+        instances = new ArrayList<>();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+    
+    @Test
+    void get_AfterFirstRead_ShouldBeServedFromLocalTier() {
+        // Arrange
+        TwoLevelCacheManager manager = createInstance();
+        TwoLevelCache cache = (TwoLevelCache) manager.getCache("blueprints");
+        sharedRemote.getCache("blueprints").put("bp-1", "v1");
+        
+        // Act
+        cache.get("bp-1");
+        cache.get("bp-1");
+        cache.get("bp-1");
+        
+        // Assert
+        assertEquals(2.0 / 3.0, cache.getLocalHitRate(), 0.0001);
+        assertEquals(1.0, cache.getRemoteHitRate(), 0.0001);
+        assertEquals(2.0, meterRegistry.get("cache.tier.gets")
+            .tags("cache", "blueprints", "tier", "l1", "result", "hit").counter().count());
+    }
+    
+    @Test
+    void evict_OnOneInstance_ShouldInvalidateLocalTierOfOthers() {
+        // Arrange
+        TwoLevelCacheManager first = createInstance();
+        TwoLevelCacheManager second = createInstance();
+        first.getCache("blueprints").put("bp-1", "v1");
+        assertEquals("v1", second.getCache("blueprints").get("bp-1").get());
+        
+        // Act
+        first.getCache("blueprints").evict("bp-1");
+        
+        // Assert
+        assertNull(second.getCache("blueprints").get("bp-1"));
+    }
+    
+    @Test
+    void put_OnOneInstance_ShouldReplaceStaleValueOnOthers() {
+        // Arrange
+        TwoLevelCacheManager first = createInstance();
+        TwoLevelCacheManager second = createInstance();
+        first.getCache("blueprints").put("bp-1", "v1");
+        second.getCache("blueprints").get("bp-1");
+        
+        // Act
+        first.getCache("blueprints").put("bp-1", "v2");
+        
+        // Assert
+        assertEquals("v2", second.getCache("blueprints").get("bp-1").get());
+    }
+    
+    @Test
+    void get_WithValueLoader_ShouldLoadOnceAndStoreInRemoteTier() {
+        // Arrange
+        TwoLevelCacheManager manager = createInstance();
+        Cache cache = manager.getCache("blueprints");
+        int[] calls = new int[1];
+        
+        // Act
+        String first = cache.get("bp-1", () -> "carregado-" + ++calls[0]);
+        String second = cache.get("bp-1", () -> "carregado-" + ++calls[0]);
+        
+        // Assert
+        assertEquals("carregado-1", first);
+        assertEquals("carregado-1", second);
+        assertEquals(1, calls[0]);
+        // O L2 guarda o valor envolvido em CacheEntry, com os dados da carga
+        Object stored = sharedRemote.getCache("blueprints").get("bp-1").get();
+        assertInstanceOf(CacheEntry.class, stored);
+        assertEquals("carregado-1", ((CacheEntry) stored).get());
+    }
+    
+    @Test
+    void get_WithConcurrentMisses_ShouldRunLoaderOnce() throws Exception {
+        // Arrange
+        Cache cache = createInstance().getCache("blueprints");
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<String>> results = new ArrayList<>();
+        
+        // Act
+        for (int i = 0; i < 16; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.get("bp-1", () -> {
+                    calls.incrementAndGet();
+                    Thread.sleep(100);
+                    return "carregado";
+                });
+            }));
+        }
+        start.countDown();
+        
+        // Assert
+        for (Future<String> result : results) {
+            assertEquals("carregado", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+        executor.shutdown();
+    }
+    
+    @Test
+    void get_WithFailingLoader_ShouldWrapExceptionAndNotCache() {
+        // Arrange
+        Cache cache = createInstance().getCache("blueprints");
+        
+        // Act & Assert
+        assertThrows(Cache.ValueRetrievalException.class,
+            () -> cache.get("bp-1", () -> { throw new Exception("banco indisponível"); }));
+        assertNull(cache.get("bp-1"));
+    }
+    
+    @Test
+    void shouldRefreshEarly_NearExpiry_ShouldBeLikelyOnlyForLoadedEntries() {
+        // Arrange
+        long now = System.currentTimeMillis();
+        CacheEntry fresh = new CacheEntry("v", now, 50);
+        CacheEntry expiring = new CacheEntry("v", now - 10_000, 50);
+        CacheEntry stored = CacheEntry.of("v");
+        
+        // Act & Assert
+        assertFalse(fresh.shouldRefreshEarly(60_000, now));
+        assertTrue(expiring.shouldRefreshEarly(10_000, now));
+        assertFalse(stored.shouldRefreshEarly(10_000, now));
+    }
+    
+    @Test
+    void get_WithConcurrentEarlyRefresh_ShouldServeCurrentValueWhileOneCallerReloads() throws Exception {
+        // Arrange
+        Cache cache = createInstance().getCache("blueprints");
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        
+        for (int round = 0; round < 20; round++) {
+            String key = "bp-" + round;
+            // As duas chamadas só decidem renovar depois que ambas chegaram
+            CyclicBarrier together = new CyclicBarrier(2);
+            sharedRemote.getCache("blueprints").put(key, new CacheEntry("atual", 1, 50) {
+                @Override
+                public boolean shouldRefreshEarly(long ttlMillis, long now) {
+                    try {
+                        together.await(5, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return true;
+                }
+            });
+            AtomicInteger calls = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            Callable<String> reader = () -> cache.get(key, () -> {
+                calls.incrementAndGet();
+                release.await();
+                return "novo";
+            });
+            
+            // Act
+            Future<String> first = executor.submit(reader);
+            Future<String> second = executor.submit(reader);
+            String served = awaitFirst(first, second);
+            release.countDown();
+            
+            // Assert
+            assertEquals("atual", served, "rodada " + round);
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+            assertEquals(1, calls.get());
+        }
+        executor.shutdown();
+    }
+    
+    @Test
+    void clear_OnOneInstance_ShouldClearLocalTierOfOthers() {
+        // Arrange
+        TwoLevelCacheManager first = createInstance();
+        TwoLevelCacheManager second = createInstance();
+        first.getCache("blueprints").put("bp-1", "v1");
+        second.getCache("blueprints").get("bp-1");
+        
+        // Act
+        first.getCache("blueprints").clear();
+        
+        // Assert
+        assertNull(second.getCache("blueprints").get("bp-1"));
+    }
+    
+    /**
+     * Resultado da primeira das duas chamadas a terminar, ou null se
+     * nenhuma terminar sem que a recarga seja liberada
+     */
+    private static String awaitFirst(Future<String> first, Future<String> second) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (System.nanoTime() < deadline) {
+            if (first.isDone()) {
+                return first.get();
+            }
+            if (second.isDone()) {
+                return second.get();
+            }
+            Thread.sleep(1);
+        }
+        return null;
+    }
+    
+    private TwoLevelCacheManager createInstance() {
+        StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+        when(redisTemplate.convertAndSend(anyString(), any())).thenAnswer(invocation -> {
+            for (TwoLevelCacheManager instance : instances) {
+                instance.handleInvalidation(invocation.getArgument(1));
+            }
+            return (long) instances.size();
+        });
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(sharedRemote, name -> Duration.ofMinutes(10),
+                                                                redisTemplate, meterRegistry,
+                                                                100, Duration.ofMinutes(1));
+        instances.add(manager);
+        return manager;
+    }
+}